@@ -0,0 +1,842 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.EventQueue;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.*;
+import javax.swing.table.TableModel;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * A {@link RowSorter} for {@link TableModel}s that sorts and filters on a
+ * background {@link Scheduler} instead of the EDT.
+ * <p>
+ * Each (re)sort takes a snapshot of the cells of the sorted columns (of all
+ * columns if there is a row filter) on the EDT, sorts and filters the snapshot
+ * on the scheduler, using {@link Arrays#parallelSort(Object[], Comparator)} for
+ * more than {@link #PARALLEL_THRESHOLD} rows, and swaps in the new view-to-model
+ * mapping on the EDT, firing a single {@link javax.swing.event.RowSorterEvent.Type#SORTED}
+ * event. Changing the sort keys or the row filter, or calling {@link #sort()},
+ * while a sort is still running cancels the running sort. Model changes arriving
+ * while a sort is running don't cancel it: they are coalesced into at most one
+ * follow-up sort started once the running sort has been applied, so a steady
+ * stream of model updates can't starve the sorting.
+ * <p>
+ * Until a sort completes, inserted rows are appended to the end of the view and
+ * deleted rows are removed from it synchronously; the same fixups are replayed
+ * on the outcome of a sort that ran while the rows changed, so the mapping is
+ * always consistent with the model.
+ * <p>
+ * Values are compared via the comparator set for the column, via their natural
+ * order if the column class is {@link Comparable}, or via their
+ * {@code toString()} otherwise; {@code null}s come first in ascending order.
+ * Comparators and row filters run off the EDT, therefore they must be thread-safe
+ * and must only access the values handed to them.
+ * <p>
+ * The sorter has to be accessed from the EDT only.
+ * @param <M> the table model type
+ * @since 3.2.0
+ */
+public class AsyncRowSorter<M extends TableModel> extends RowSorter<M> {
+
+    /** The number of rows above which the sort runs in parallel. */
+    public static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    static final int INSERTED = 0;
+
+    static final int DELETED = 1;
+
+    static final int RESIZED = 2;
+
+    final M model;
+
+    final Scheduler scheduler;
+
+    final HashMap<Integer, Comparator<?>> comparators;
+
+    List<SortKey> sortKeys;
+
+    RowFilter<? super M, ? super Integer> rowFilter;
+
+    int maxSortKeys;
+
+    /** The view to model mapping, null if the view is the model itself. */
+    int[] viewToModel;
+
+    /** The model to view mapping, -1 for filtered out rows, null if the view is the model itself. */
+    int[] modelToView;
+
+    /** The currently running sort, null if none. */
+    SortTask pending;
+
+    /** The row insertions, deletions and resizes since the running sort took its snapshot. */
+    final ArrayList<int[]> missedChanges;
+
+    /** A model change arrived while a sort was running, resort once it completes. */
+    boolean resortPending;
+
+    /**
+     * Constructs an AsyncRowSorter which sorts on the {@link Schedulers#computation()} scheduler.
+     * @param model the model to sort
+     */
+    public AsyncRowSorter(@NonNull M model) {
+        this(model, Schedulers.computation());
+    }
+
+    /**
+     * Constructs an AsyncRowSorter which sorts on the given scheduler.
+     * @param model the model to sort
+     * @param scheduler the scheduler to sort and filter on
+     */
+    public AsyncRowSorter(@NonNull M model, @NonNull Scheduler scheduler) {
+        this.model = Objects.requireNonNull(model, "model is null");
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler is null");
+        this.comparators = new HashMap<>();
+        this.missedChanges = new ArrayList<>();
+        this.sortKeys = Collections.emptyList();
+        this.maxSortKeys = 3;
+    }
+
+    @Override
+    public M getModel() {
+        return model;
+    }
+
+    /**
+     * Sets the comparator of a column, replacing the default ordering.
+     * @param column the model column index
+     * @param comparator the comparator, null to restore the default ordering
+     */
+    public void setComparator(int column, Comparator<?> comparator) {
+        checkColumn(column);
+        if (comparator == null) {
+            comparators.remove(column);
+        } else {
+            comparators.put(column, comparator);
+        }
+    }
+
+    /**
+     * Returns the comparator set for a column.
+     * @param column the model column index
+     * @return the comparator or null if the column uses the default ordering
+     */
+    public Comparator<?> getComparator(int column) {
+        checkColumn(column);
+        return comparators.get(column);
+    }
+
+    /**
+     * Sets the filter deciding which model rows are shown and starts a resort.
+     * @param filter the filter, null to show all rows
+     */
+    public void setRowFilter(RowFilter<? super M, ? super Integer> filter) {
+        rowFilter = filter;
+        sort();
+    }
+
+    /**
+     * Returns the current row filter.
+     * @return the row filter or null if all rows are shown
+     */
+    public RowFilter<? super M, ? super Integer> getRowFilter() {
+        return rowFilter;
+    }
+
+    /**
+     * Sets the maximum number of sort keys {@link #toggleSortOrder(int)} keeps.
+     * @param max the maximum number of sort keys, positive
+     */
+    public void setMaxSortKeys(int max) {
+        if (max < 1) {
+            throw new IllegalArgumentException("max > 0 required but it was " + max);
+        }
+        maxSortKeys = max;
+    }
+
+    /**
+     * Returns the maximum number of sort keys {@link #toggleSortOrder(int)} keeps.
+     * @return the maximum number of sort keys
+     */
+    public int getMaxSortKeys() {
+        return maxSortKeys;
+    }
+
+    /**
+     * Returns true if a sort is running in the background and its outcome
+     * has not been applied yet.
+     * @return true if a sort is running
+     */
+    public boolean isSorting() {
+        return pending != null;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        checkColumn(column);
+        List<SortKey> keys = new ArrayList<>(sortKeys);
+        int i = indexOfKey(keys, column);
+        if (i == 0) {
+            SortOrder order = keys.get(0).getSortOrder() == SortOrder.ASCENDING
+                    ? SortOrder.DESCENDING : SortOrder.ASCENDING;
+            keys.set(0, new SortKey(column, order));
+        } else {
+            if (i > 0) {
+                keys.remove(i);
+            }
+            keys.add(0, new SortKey(column, SortOrder.ASCENDING));
+            while (keys.size() > maxSortKeys) {
+                keys.remove(keys.size() - 1);
+            }
+        }
+        setSortKeys(keys);
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> newKeys;
+        if (keys == null || keys.isEmpty()) {
+            newKeys = Collections.emptyList();
+        } else {
+            ArrayList<SortKey> list = new ArrayList<>(keys.size());
+            for (SortKey k : keys) {
+                Objects.requireNonNull(k, "Sort keys must not be null");
+                checkColumn(k.getColumn());
+                list.add(k);
+            }
+            newKeys = Collections.unmodifiableList(list);
+        }
+        if (!newKeys.equals(sortKeys)) {
+            sortKeys = newKeys;
+            fireSortOrderChanged();
+            sort();
+        }
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        int[] v2m = viewToModel;
+        if (v2m == null) {
+            checkRow(index, model.getRowCount());
+            return index;
+        }
+        checkRow(index, v2m.length);
+        return v2m[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        int[] m2v = modelToView;
+        if (m2v == null) {
+            checkRow(index, model.getRowCount());
+            return index;
+        }
+        checkRow(index, m2v.length);
+        return m2v[index];
+    }
+
+    @Override
+    public int getViewRowCount() {
+        int[] v2m = viewToModel;
+        return v2m != null ? v2m.length : model.getRowCount();
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    /**
+     * Starts sorting and filtering the model rows according to the current
+     * sort keys and row filter, cancelling the running sort, if any.
+     * Without sort keys and filter, the view reverts to the model synchronously.
+     */
+    public void sort() {
+        cancelPending();
+
+        List<SortKey> keys = activeKeys();
+        RowFilter<? super M, ? super Integer> filter = rowFilter;
+
+        if (keys.isEmpty() && filter == null) {
+            if (viewToModel != null) {
+                int[] old = viewToModel;
+                viewToModel = null;
+                modelToView = null;
+                fireRowSorterChanged(old);
+            }
+            return;
+        }
+
+        int n = model.getRowCount();
+        int c = model.getColumnCount();
+        int k = keys.size();
+
+        Object[][] values = new Object[c][];
+        int[] columns = new int[k];
+        boolean[] descending = new boolean[k];
+        List<Comparator<Object>> cmps = new ArrayList<>(k);
+
+        for (int i = 0; i < k; i++) {
+            SortKey key = keys.get(i);
+            int col = key.getColumn();
+            columns[i] = col;
+            descending[i] = key.getSortOrder() == SortOrder.DESCENDING;
+            cmps.add(comparatorFor(col));
+            if (values[col] == null) {
+                values[col] = snapshot(col, n);
+            }
+        }
+        if (filter != null) {
+            for (int i = 0; i < c; i++) {
+                if (values[i] == null) {
+                    values[i] = snapshot(i, n);
+                }
+            }
+        }
+
+        SortTask task = new SortTask(this, n, values, columns, descending, cmps, filter);
+        pending = task;
+        task.setFuture(scheduler.scheduleDirect(task));
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        cancelPending();
+        if (!sortKeys.isEmpty()) {
+            sortKeys = Collections.emptyList();
+            fireSortOrderChanged();
+        }
+        if (viewToModel != null) {
+            int[] old = viewToModel;
+            viewToModel = null;
+            modelToView = null;
+            fireRowSorterChanged(old);
+        }
+        sort();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        int[] v2m = viewToModel;
+        int n = model.getRowCount();
+        if (v2m != null && modelToView.length != n) {
+            setMapping(resized(v2m, modelToView.length, n), n);
+            fireRowSorterChanged(v2m);
+        }
+        missed(RESIZED, n, 0);
+        if (isActive()) {
+            modelChanged();
+        }
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        checkRange(firstRow, endRow);
+        int[] v2m = viewToModel;
+        if (v2m != null) {
+            setMapping(inserted(v2m, firstRow, endRow), modelToView.length + endRow - firstRow + 1);
+            fireRowSorterChanged(v2m);
+        }
+        missed(INSERTED, firstRow, endRow);
+        if (isActive()) {
+            modelChanged();
+        }
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        checkRange(firstRow, endRow);
+        int[] v2m = viewToModel;
+        if (v2m != null) {
+            setMapping(deleted(v2m, firstRow, endRow), modelToView.length - (endRow - firstRow + 1));
+            fireRowSorterChanged(v2m);
+        }
+        // removing rows keeps the order of the rest, a running sort stays valid after the fixup
+        missed(DELETED, firstRow, endRow);
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        checkRange(firstRow, endRow);
+        if (isActive()) {
+            modelChanged();
+        }
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        checkColumn(column);
+        checkRange(firstRow, endRow);
+        if (rowFilter != null || indexOfKey(activeKeys(), column) >= 0) {
+            modelChanged();
+        }
+    }
+
+    /**
+     * Applies the outcome of a sort if it is still the latest one, fixed up
+     * with the row changes it missed, then starts the coalesced follow-up sort, if any.
+     * @param task the completed sort
+     */
+    void complete(SortTask task) {
+        if (pending != task) {
+            return;
+        }
+        pending = null;
+        int[] old = viewToModel;
+        if (old == null) {
+            old = new int[model.getRowCount()];
+            for (int i = 0; i < old.length; i++) {
+                old[i] = i;
+            }
+        }
+        ArrayList<int[]> changes = missedChanges;
+        if (changes.isEmpty()) {
+            viewToModel = task.viewToModel;
+            modelToView = task.modelToView;
+        } else {
+            int[] v2m = task.viewToModel;
+            int n = task.count;
+            for (int[] c : changes) {
+                switch (c[0]) {
+                case INSERTED:
+                    v2m = inserted(v2m, c[1], c[2]);
+                    n += c[2] - c[1] + 1;
+                    break;
+                case DELETED:
+                    v2m = deleted(v2m, c[1], c[2]);
+                    n -= c[2] - c[1] + 1;
+                    break;
+                default:
+                    if (n != c[1]) {
+                        v2m = resized(v2m, n, c[1]);
+                        n = c[1];
+                    }
+                }
+            }
+            changes.clear();
+            setMapping(v2m, n);
+        }
+        fireRowSorterChanged(old);
+        if (resortPending) {
+            sort();
+        }
+    }
+
+    /**
+     * Forgets a failed sort if it is still the latest one, keeping the current
+     * mapping, and reports the failure.
+     * @param task the failed sort
+     * @param ex the failure
+     */
+    void failed(SortTask task, Throwable ex) {
+        if (pending == task) {
+            cancelPending();
+        }
+        RxJavaPlugins.onError(ex);
+    }
+
+    /**
+     * Starts a sort after a model change unless one is running, in which case
+     * a single follow-up sort is scheduled for when the running one completes.
+     */
+    void modelChanged() {
+        if (pending != null) {
+            resortPending = true;
+        } else {
+            sort();
+        }
+    }
+
+    void missed(int type, int first, int second) {
+        if (pending != null) {
+            missedChanges.add(new int[] { type, first, second });
+        }
+    }
+
+    void cancelPending() {
+        SortTask task = pending;
+        if (task != null) {
+            pending = null;
+            task.dispose();
+        }
+        missedChanges.clear();
+        resortPending = false;
+    }
+
+    void setMapping(int[] v2m, int modelCount) {
+        int[] m2v = new int[modelCount];
+        Arrays.fill(m2v, -1);
+        for (int i = 0; i < v2m.length; i++) {
+            m2v[v2m[i]] = i;
+        }
+        viewToModel = v2m;
+        modelToView = m2v;
+    }
+
+    boolean isActive() {
+        return rowFilter != null || !activeKeys().isEmpty();
+    }
+
+    List<SortKey> activeKeys() {
+        List<SortKey> keys = sortKeys;
+        for (SortKey k : keys) {
+            if (k.getSortOrder() == SortOrder.UNSORTED) {
+                ArrayList<SortKey> list = new ArrayList<>(keys.size());
+                for (SortKey j : keys) {
+                    if (j.getSortOrder() != SortOrder.UNSORTED) {
+                        list.add(j);
+                    }
+                }
+                return list;
+            }
+        }
+        return keys;
+    }
+
+    Object[] snapshot(int column, int n) {
+        TableModel m = model;
+        Object[] a = new Object[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = m.getValueAt(i, column);
+        }
+        return a;
+    }
+
+    @SuppressWarnings("unchecked")
+    Comparator<Object> comparatorFor(int column) {
+        Comparator<?> c = comparators.get(column);
+        if (c != null) {
+            return (Comparator<Object>)c;
+        }
+        if (Comparable.class.isAssignableFrom(model.getColumnClass(column))) {
+            return NaturalComparator.INSTANCE;
+        }
+        return StringComparator.INSTANCE;
+    }
+
+    void checkColumn(int column) {
+        if (column < 0 || column >= model.getColumnCount()) {
+            throw new IndexOutOfBoundsException("Column " + column + " out of range [0, " + model.getColumnCount() + ")");
+        }
+    }
+
+    static int[] inserted(int[] v2m, int firstRow, int endRow) {
+        int count = endRow - firstRow + 1;
+        int[] a = new int[v2m.length + count];
+        for (int i = 0; i < v2m.length; i++) {
+            int m = v2m[i];
+            a[i] = m >= firstRow ? m + count : m;
+        }
+        for (int i = 0; i < count; i++) {
+            a[v2m.length + i] = firstRow + i;
+        }
+        return a;
+    }
+
+    static int[] deleted(int[] v2m, int firstRow, int endRow) {
+        int count = endRow - firstRow + 1;
+        int[] a = new int[v2m.length];
+        int j = 0;
+        for (int m : v2m) {
+            if (m < firstRow) {
+                a[j++] = m;
+            } else if (m > endRow) {
+                a[j++] = m - count;
+            }
+        }
+        return Arrays.copyOf(a, j);
+    }
+
+    static int[] resized(int[] v2m, int oldCount, int n) {
+        int[] a = new int[n];
+        int j = 0;
+        for (int m : v2m) {
+            if (m < n) {
+                a[j++] = m;
+            }
+        }
+        for (int m = oldCount; m < n; m++) {
+            a[j++] = m;
+        }
+        return Arrays.copyOf(a, j);
+    }
+
+    static int indexOfKey(List<SortKey> keys, int column) {
+        for (int i = 0; i < keys.size(); i++) {
+            if (keys.get(i).getColumn() == column) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static void checkRow(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Row " + index + " out of range [0, " + count + ")");
+        }
+    }
+
+    static void checkRange(int firstRow, int endRow) {
+        if (firstRow < 0 || endRow < firstRow) {
+            throw new IndexOutOfBoundsException("Invalid range [" + firstRow + ", " + endRow + "]");
+        }
+    }
+
+    enum NaturalComparator implements Comparator<Object> {
+        INSTANCE;
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public int compare(Object o1, Object o2) {
+            return ((Comparable<Object>)o1).compareTo(o2);
+        }
+    }
+
+    enum StringComparator implements Comparator<Object> {
+        INSTANCE;
+
+        @Override
+        public int compare(Object o1, Object o2) {
+            return o1.toString().compareTo(o2.toString());
+        }
+    }
+
+    /**
+     * Sorts and filters a snapshot of the model on the scheduler, then
+     * hands the outcome to the sorter on the EDT.
+     */
+    static final class SortTask extends AtomicReference<Disposable>
+    implements Runnable, Comparator<Integer>, Disposable {
+
+        private static final long serialVersionUID = 5384015402425328453L;
+
+        final AsyncRowSorter<?> parent;
+
+        final int count;
+
+        final Object[][] values;
+
+        final int[] columns;
+
+        final boolean[] descending;
+
+        final List<Comparator<Object>> comparators;
+
+        final RowFilter<Object, Object> filter;
+
+        volatile boolean cancelled;
+
+        /** Set before the outcome is handed to the EDT. */
+        boolean computed;
+
+        /** The failure of the comparators or the filter, set before computed. */
+        Throwable error;
+
+        int[] viewToModel;
+
+        int[] modelToView;
+
+        @SuppressWarnings("unchecked")
+        SortTask(AsyncRowSorter<?> parent, int count, Object[][] values, int[] columns,
+                boolean[] descending, List<Comparator<Object>> comparators, RowFilter<?, ?> filter) {
+            this.parent = parent;
+            this.count = count;
+            this.values = values;
+            this.columns = columns;
+            this.descending = descending;
+            this.comparators = comparators;
+            this.filter = (RowFilter<Object, Object>)filter;
+        }
+
+        @Override
+        public void run() {
+            if (computed) {
+                Throwable ex = error;
+                if (ex != null) {
+                    parent.failed(this, ex);
+                } else {
+                    parent.complete(this);
+                }
+                return;
+            }
+            if (cancelled) {
+                return;
+            }
+            try {
+                compute();
+            } catch (CancellationException ex) {
+                return;
+            } catch (Throwable ex) {
+                // let the sorter forget this sort on the EDT so later changes sort again
+                error = ex;
+                computed = true;
+                EventQueue.invokeLater(this);
+                return;
+            }
+            if (!cancelled) {
+                computed = true;
+                EventQueue.invokeLater(this);
+            }
+        }
+
+        void compute() {
+            int n = count;
+            Integer[] rows = new Integer[n];
+            int j = 0;
+            RowFilter<Object, Object> f = filter;
+            if (f != null) {
+                SnapshotEntry entry = new SnapshotEntry(parent.model, values);
+                for (int i = 0; i < n; i++) {
+                    if ((i & 1023) == 0 && cancelled) {
+                        throw new CancellationException();
+                    }
+                    entry.row = i;
+                    if (f.include(entry)) {
+                        rows[j++] = i;
+                    }
+                }
+                if (j != n) {
+                    rows = Arrays.copyOf(rows, j);
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    rows[i] = i;
+                }
+                j = n;
+            }
+
+            if (columns.length != 0) {
+                if (j > PARALLEL_THRESHOLD) {
+                    Arrays.parallelSort(rows, this);
+                } else {
+                    Arrays.sort(rows, this);
+                }
+            }
+
+            int[] v2m = new int[j];
+            int[] m2v = new int[n];
+            Arrays.fill(m2v, -1);
+            for (int i = 0; i < j; i++) {
+                int m = rows[i];
+                v2m[i] = m;
+                m2v[m] = i;
+            }
+            viewToModel = v2m;
+            modelToView = m2v;
+        }
+
+        @Override
+        public int compare(Integer o1, Integer o2) {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            int a = o1;
+            int b = o2;
+            int[] cs = columns;
+            for (int i = 0; i < cs.length; i++) {
+                Object[] vs = values[cs[i]];
+                Object va = vs[a];
+                Object vb = vs[b];
+                int c;
+                if (va == vb) {
+                    c = 0;
+                } else if (va == null) {
+                    c = -1;
+                } else if (vb == null) {
+                    c = 1;
+                } else {
+                    c = comparators.get(i).compare(va, vb);
+                }
+                if (c != 0) {
+                    return descending[i] ? -c : c;
+                }
+            }
+            return Integer.compare(a, b);
+        }
+
+        @Override
+        public void dispose() {
+            cancelled = true;
+            Disposable d = getAndSet(this);
+            if (d != null && d != this) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+
+        void setFuture(Disposable d) {
+            if (!compareAndSet(null, d)) {
+                d.dispose();
+            }
+        }
+    }
+
+    /**
+     * Exposes a row of the snapshot to the row filter.
+     */
+    static final class SnapshotEntry extends RowFilter.Entry<Object, Object> {
+
+        final Object model;
+
+        final Object[][] values;
+
+        int row;
+
+        SnapshotEntry(Object model, Object[][] values) {
+            this.model = model;
+            this.values = values;
+        }
+
+        @Override
+        public Object getModel() {
+            return model;
+        }
+
+        @Override
+        public int getValueCount() {
+            return values.length;
+        }
+
+        @Override
+        public Object getValue(int index) {
+            return values[index][row];
+        }
+
+        @Override
+        public Object getIdentifier() {
+            return row;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.event.MouseEvent;
+
+/**
+ * The latest mouse moved or dragged event, with the same component, position,
+ * modifiers and buttons, along with the number of motion events it replaces, emitted by {@link SwingObservable#mouse(java.awt.Component, int)}
+ * when the {@link SwingObservable#MOUSE_COALESCE} flag is set.
+ * @since 3.2.0
+ */
+public final class CoalescedMouseEvent extends MouseEvent {
+
+    private static final long serialVersionUID = 4460937451356012717L;
+
+    final int coalescedCount;
+
+    /**
+     * Constructs a CoalescedMouseEvent with the properties of the latest motion event.
+     * @param latest the latest motion event
+     * @param coalescedCount the number of motion events merged into this event, including itself
+     */
+    public CoalescedMouseEvent(MouseEvent latest, int coalescedCount) {
+        // the legacy modifiers are derived from the extended ones; mixing them would turn BUTTON3 into META
+        super(latest.getComponent(), latest.getID(), latest.getWhen(),
+                latest.getModifiersEx(),
+                latest.getX(), latest.getY(), latest.getXOnScreen(), latest.getYOnScreen(),
+                latest.getClickCount(), latest.isPopupTrigger(), latest.getButton());
+        this.coalescedCount = coalescedCount;
+    }
+
+    /**
+     * Returns the number of motion events merged into this event, including itself.
+     * @return the number of motion events merged into this event
+     */
+    public int getCoalescedCount() {
+        return coalescedCount;
+    }
+}
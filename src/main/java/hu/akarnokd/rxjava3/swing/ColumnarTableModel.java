@@ -0,0 +1,557 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.*;
+
+import javax.swing.table.AbstractTableModel;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+/**
+ * A {@link javax.swing.table.TableModel} storing its cells column by column
+ * in primitive arrays, growing by appending {@link Batch}es of rows.
+ * <p>
+ * The {@code int}, {@code long} and {@code double} columns are kept in arrays of
+ * the respective primitive type and the {@code String} columns are dictionary encoded,
+ * storing an {@code int} code per cell. The values are boxed only when
+ * {@link #getValueAt(int, int)} is called for a visible cell; the primitive
+ * accessors, such as {@link #getDouble(int, int)}, avoid boxing altogether.
+ * <p>
+ * Batches can be filled on any thread and are appended on the EDT, see {@link #bind(Flowable)}.
+ * The model itself has to be accessed from the EDT only.
+ * @since 3.2.0
+ */
+public class ColumnarTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 8470417916125457066L;
+
+    /** The supported column types. */
+    public enum ColumnType {
+        /** Primitive {@code int} values, reported as {@code Integer}. */
+        INT,
+        /** Primitive {@code long} values, reported as {@code Long}. */
+        LONG,
+        /** Primitive {@code double} values, reported as {@code Double}. */
+        DOUBLE,
+        /** Dictionary encoded {@code String} values. */
+        STRING
+    }
+
+    final String[] columnNames;
+
+    final ColumnType[] columnTypes;
+
+    final Column[] columns;
+
+    int rowCount;
+
+    /**
+     * Constructs an empty model with the given columns.
+     * @param columnNames the names of the columns
+     * @param columnTypes the types of the columns
+     */
+    public ColumnarTableModel(@NonNull String[] columnNames, @NonNull ColumnType[] columnTypes) {
+        Objects.requireNonNull(columnNames, "columnNames is null");
+        Objects.requireNonNull(columnTypes, "columnTypes is null");
+        if (columnNames.length != columnTypes.length) {
+            throw new IllegalArgumentException("columnNames.length != columnTypes.length: "
+                    + columnNames.length + " != " + columnTypes.length);
+        }
+        this.columnNames = columnNames.clone();
+        this.columnTypes = columnTypes.clone();
+        this.columns = createColumns(this.columnTypes, 16);
+    }
+
+    static Column[] createColumns(ColumnType[] types, int capacity) {
+        Column[] result = new Column[types.length];
+        for (int i = 0; i < types.length; i++) {
+            switch (Objects.requireNonNull(types[i], "columnTypes contains null")) {
+            case INT:
+                result[i] = new IntColumn(capacity);
+                break;
+            case LONG:
+                result[i] = new LongColumn(capacity);
+                break;
+            case DOUBLE:
+                result[i] = new DoubleColumn(capacity);
+                break;
+            default:
+                result[i] = new StringColumn(capacity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a new, empty batch with the columns of this model.
+     * <p>
+     * The batch can be filled on any thread.
+     * @return the new Batch instance
+     */
+    @NonNull
+    public final Batch newBatch() {
+        return new Batch(columnTypes);
+    }
+
+    /**
+     * Appends the batches on the EDT as they arrive.
+     * <p>
+     * Errors of the source are routed to {@link RxJavaPlugins#onError(Throwable)}.
+     * @param batches the flow of batches, created via {@link #newBatch()}
+     * @return the Disposable to stop receiving the batches
+     */
+    @NonNull
+    public final Disposable bind(@NonNull Flowable<Batch> batches) {
+        Objects.requireNonNull(batches, "batches is null");
+        return batches.observeOn(SwingSchedulers.edt())
+                .subscribe(new Consumer<Batch>() {
+                    @Override
+                    public void accept(Batch b) {
+                        append(b);
+                    }
+                }, new Consumer<Throwable>() {
+                    @Override
+                    public void accept(Throwable e) {
+                        RxJavaPlugins.onError(e);
+                    }
+                });
+    }
+
+    /**
+     * Appends the rows of the batch and fires a single insertion event.
+     * Has to be called on the EDT.
+     * @param batch the batch to append, not modified
+     */
+    public final void append(@NonNull Batch batch) {
+        Objects.requireNonNull(batch, "batch is null");
+        if (!Arrays.equals(batch.types, columnTypes)) {
+            throw new IllegalArgumentException("The batch has different columns than the model");
+        }
+        int n = batch.size;
+        if (n != 0) {
+            int first = rowCount;
+            Column[] cs = columns;
+            for (int i = 0; i < cs.length; i++) {
+                cs[i].append(first, batch.columns[i], n);
+            }
+            rowCount = first + n;
+            fireTableRowsInserted(first, first + n - 1);
+        }
+    }
+
+    /**
+     * Removes all rows and fires a data changed event.
+     * Has to be called on the EDT.
+     */
+    public final void clear() {
+        rowCount = 0;
+        for (Column c : columns) {
+            c.clear();
+        }
+        fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        switch (columnTypes[columnIndex]) {
+        case INT:
+            return Integer.class;
+        case LONG:
+            return Long.class;
+        case DOUBLE:
+            return Double.class;
+        default:
+            return String.class;
+        }
+    }
+
+    /**
+     * Returns the type of the column.
+     * @param column the column index
+     * @return the type of the column
+     */
+    public final ColumnType getColumnType(int column) {
+        return columnTypes[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        checkRow(rowIndex);
+        return columns[columnIndex].get(rowIndex);
+    }
+
+    /**
+     * Returns the value of an {@link ColumnType#INT} cell without boxing.
+     * @param row the row index
+     * @param column the column index
+     * @return the cell value
+     */
+    public final int getInt(int row, int column) {
+        checkRow(row);
+        return column(columns, column, IntColumn.class).data[row];
+    }
+
+    /**
+     * Returns the value of a {@link ColumnType#LONG} cell without boxing.
+     * @param row the row index
+     * @param column the column index
+     * @return the cell value
+     */
+    public final long getLong(int row, int column) {
+        checkRow(row);
+        return column(columns, column, LongColumn.class).data[row];
+    }
+
+    /**
+     * Returns the value of a {@link ColumnType#DOUBLE} cell without boxing.
+     * @param row the row index
+     * @param column the column index
+     * @return the cell value
+     */
+    public final double getDouble(int row, int column) {
+        checkRow(row);
+        return column(columns, column, DoubleColumn.class).data[row];
+    }
+
+    /**
+     * Returns the value of a {@link ColumnType#STRING} cell.
+     * @param row the row index
+     * @param column the column index
+     * @return the cell value
+     */
+    public final String getString(int row, int column) {
+        checkRow(row);
+        return column(columns, column, StringColumn.class).get(row);
+    }
+
+    void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("row: " + row + ", rows: " + rowCount);
+        }
+    }
+
+    static <C extends Column> C column(Column[] columns, int index, Class<C> clazz) {
+        Column c = columns[index];
+        if (!clazz.isInstance(c)) {
+            throw new IllegalArgumentException("Column " + index + " is not a " + clazz.getSimpleName());
+        }
+        return clazz.cast(c);
+    }
+
+    /**
+     * Rows to be appended to a {@link ColumnarTableModel}, stored column by column.
+     * <p>
+     * Start each row with {@link #newRow()} then set its cells; unset cells
+     * are zero or null. Instances are not thread-safe but can be filled on any
+     * thread before being handed over to the model.
+     */
+    public static final class Batch {
+
+        final ColumnType[] types;
+
+        final Column[] columns;
+
+        int size;
+
+        Batch(ColumnType[] types) {
+            this.types = types;
+            this.columns = createColumns(types, 16);
+        }
+
+        /**
+         * Returns the number of rows in this batch.
+         * @return the number of rows in this batch
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Starts a new row.
+         * @return this
+         */
+        public Batch newRow() {
+            int n = size + 1;
+            for (Column c : columns) {
+                c.ensureCapacity(n);
+            }
+            size = n;
+            return this;
+        }
+
+        int current() {
+            int r = size - 1;
+            if (r < 0) {
+                throw new IllegalStateException("newRow() has not been called");
+            }
+            return r;
+        }
+
+        /**
+         * Sets a cell of an {@link ColumnType#INT} column in the current row.
+         * @param column the column index
+         * @param value the cell value
+         * @return this
+         */
+        public Batch setInt(int column, int value) {
+            column(columns, column, IntColumn.class).data[current()] = value;
+            return this;
+        }
+
+        /**
+         * Sets a cell of a {@link ColumnType#LONG} column in the current row.
+         * @param column the column index
+         * @param value the cell value
+         * @return this
+         */
+        public Batch setLong(int column, long value) {
+            column(columns, column, LongColumn.class).data[current()] = value;
+            return this;
+        }
+
+        /**
+         * Sets a cell of a {@link ColumnType#DOUBLE} column in the current row.
+         * @param column the column index
+         * @param value the cell value
+         * @return this
+         */
+        public Batch setDouble(int column, double value) {
+            column(columns, column, DoubleColumn.class).data[current()] = value;
+            return this;
+        }
+
+        /**
+         * Sets a cell of a {@link ColumnType#STRING} column in the current row.
+         * @param column the column index
+         * @param value the cell value, null allowed
+         * @return this
+         */
+        public Batch setString(int column, String value) {
+            StringColumn c = column(columns, column, StringColumn.class);
+            c.codes[current()] = c.encode(value);
+            return this;
+        }
+    }
+
+    abstract static class Column {
+
+        abstract void ensureCapacity(int capacity);
+
+        abstract Object get(int row);
+
+        /**
+         * Copies the first count cells of the other column of the same type to the given row.
+         */
+        abstract void append(int row, Column other, int count);
+
+        abstract void clear();
+
+        static int grow(int length, int capacity) {
+            return Math.max(capacity, length + (length >> 1) + 1);
+        }
+    }
+
+    static final class IntColumn extends Column {
+        int[] data;
+
+        IntColumn(int capacity) {
+            data = new int[capacity];
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > data.length) {
+                data = Arrays.copyOf(data, grow(data.length, capacity));
+            }
+        }
+
+        @Override
+        Object get(int row) {
+            return data[row];
+        }
+
+        @Override
+        void append(int row, Column other, int count) {
+            ensureCapacity(row + count);
+            System.arraycopy(((IntColumn)other).data, 0, data, row, count);
+        }
+
+        @Override
+        void clear() {
+            data = new int[16];
+        }
+    }
+
+    static final class LongColumn extends Column {
+        long[] data;
+
+        LongColumn(int capacity) {
+            data = new long[capacity];
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > data.length) {
+                data = Arrays.copyOf(data, grow(data.length, capacity));
+            }
+        }
+
+        @Override
+        Object get(int row) {
+            return data[row];
+        }
+
+        @Override
+        void append(int row, Column other, int count) {
+            ensureCapacity(row + count);
+            System.arraycopy(((LongColumn)other).data, 0, data, row, count);
+        }
+
+        @Override
+        void clear() {
+            data = new long[16];
+        }
+    }
+
+    static final class DoubleColumn extends Column {
+        double[] data;
+
+        DoubleColumn(int capacity) {
+            data = new double[capacity];
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > data.length) {
+                data = Arrays.copyOf(data, grow(data.length, capacity));
+            }
+        }
+
+        @Override
+        Object get(int row) {
+            return data[row];
+        }
+
+        @Override
+        void append(int row, Column other, int count) {
+            ensureCapacity(row + count);
+            System.arraycopy(((DoubleColumn)other).data, 0, data, row, count);
+        }
+
+        @Override
+        void clear() {
+            data = new double[16];
+        }
+    }
+
+    /** Stores the index of each value in a dictionary of the distinct values, -1 for null. */
+    static final class StringColumn extends Column {
+        int[] codes;
+
+        String[] dictionary;
+
+        int dictionarySize;
+
+        final HashMap<String, Integer> lookup;
+
+        StringColumn(int capacity) {
+            codes = new int[capacity];
+            Arrays.fill(codes, -1);
+            dictionary = new String[16];
+            lookup = new HashMap<>();
+        }
+
+        int encode(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer code = lookup.get(value);
+            if (code != null) {
+                return code;
+            }
+            int c = dictionarySize;
+            if (c == dictionary.length) {
+                dictionary = Arrays.copyOf(dictionary, c * 2);
+            }
+            dictionary[c] = value;
+            dictionarySize = c + 1;
+            lookup.put(value, c);
+            return c;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > codes.length) {
+                int n = codes.length;
+                codes = Arrays.copyOf(codes, grow(n, capacity));
+                Arrays.fill(codes, n, codes.length, -1);
+            }
+        }
+
+        @Override
+        String get(int row) {
+            int c = codes[row];
+            return c < 0 ? null : dictionary[c];
+        }
+
+        @Override
+        void append(int row, Column other, int count) {
+            StringColumn o = (StringColumn)other;
+            // translate the codes of the other dictionary once per distinct value
+            int[] translate = new int[o.dictionarySize];
+            for (int i = 0; i < translate.length; i++) {
+                translate[i] = encode(o.dictionary[i]);
+            }
+            ensureCapacity(row + count);
+            int[] src = o.codes;
+            int[] dst = codes;
+            for (int i = 0; i < count; i++) {
+                int c = src[i];
+                dst[row + i] = c < 0 ? -1 : translate[c];
+            }
+        }
+
+        @Override
+        void clear() {
+            codes = new int[16];
+            Arrays.fill(codes, -1);
+            dictionary = new String[16];
+            dictionarySize = 0;
+            lookup.clear();
+        }
+    }
+}
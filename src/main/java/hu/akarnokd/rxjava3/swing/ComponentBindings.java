@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.*;
+
+import javax.swing.JComponent;
+import javax.swing.event.*;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.disposables.*;
+
+/**
+ * Binds the lifecycle of resources, such as subscriptions to {@link SwingObservable}
+ * sources, to a {@link JComponent}: the bound resources are disposed when the
+ * component is removed from a displayable hierarchy.
+ * <p>
+ * The currently live bindings can be listed via {@link #liveBindings()},
+ * helping to find subscriptions that were never disposed.
+ * Merely hiding the component, which keeps it displayable, doesn't dispose the bindings.
+ * @since 3.2.0
+ * @see SwingObservable#takeUntilRemoved(JComponent)
+ */
+public final class ComponentBindings {
+
+    /**
+     * The components with at least one live binding, referenced only weakly. The
+     * bindings themselves are stored on the component as a client property, because
+     * the bound resources usually reference the component: holding them here would
+     * keep unreachable components alive.
+     */
+    static final Set<JComponent> REGISTRY = Collections.newSetFromMap(new WeakHashMap<JComponent, Boolean>());
+
+    /** The client property key of the {@link BindingAncestorListener} of a component. */
+    static final Object BINDINGS_KEY = new Object();
+
+    /** Utility class. */
+    private ComponentBindings() {
+        throw new IllegalStateException("No instances!");
+    }
+
+    /**
+     * Binds the resource to the component so that the resource is disposed
+     * when the component is removed from a displayable hierarchy.
+     * @param component the component to bind to
+     * @param resource the resource to dispose along with the component
+     * @return the Disposable that disposes the resource and removes the binding
+     */
+    @NonNull
+    public static Disposable bind(@NonNull JComponent component, @NonNull Disposable resource) {
+        Objects.requireNonNull(component, "component is null");
+        Objects.requireNonNull(resource, "resource is null");
+        add(component, resource);
+        return new BindingDisposable(component, resource);
+    }
+
+    /**
+     * Removes the binding of the resource without disposing it.
+     * @param component the component the resource was bound to
+     * @param resource the resource to unbind
+     * @return true if the resource was bound to the component
+     */
+    public static boolean unbind(@NonNull JComponent component, @NonNull Disposable resource) {
+        Objects.requireNonNull(component, "component is null");
+        Objects.requireNonNull(resource, "resource is null");
+        return remove(component, resource);
+    }
+
+    /**
+     * Returns the number of live bindings of the component.
+     * @param component the component to check
+     * @return the number of live bindings
+     */
+    public static int bindingCount(@NonNull JComponent component) {
+        Objects.requireNonNull(component, "component is null");
+        synchronized (REGISTRY) {
+            BindingAncestorListener h = listener(component);
+            return h != null ? h.resources.size() : 0;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the components having live bindings along with the
+     * number of their bindings.
+     * @return the snapshot map of components to their number of bindings
+     */
+    @NonNull
+    public static Map<JComponent, Integer> liveBindings() {
+        Map<JComponent, Integer> result = new IdentityHashMap<>();
+        synchronized (REGISTRY) {
+            for (JComponent c : REGISTRY) {
+                BindingAncestorListener h = listener(c);
+                if (h != null) {
+                    result.put(c, h.resources.size());
+                }
+            }
+        }
+        return result;
+    }
+
+    static void add(JComponent component, Disposable resource) {
+        synchronized (REGISTRY) {
+            BindingAncestorListener h = listener(component);
+            if (h == null) {
+                h = new BindingAncestorListener();
+                component.putClientProperty(BINDINGS_KEY, h);
+                REGISTRY.add(component);
+                component.addAncestorListener(h);
+            }
+            h.resources.add(resource);
+        }
+    }
+
+    static boolean remove(JComponent component, Disposable resource) {
+        synchronized (REGISTRY) {
+            BindingAncestorListener h = listener(component);
+            if (h != null && h.resources.delete(resource)) {
+                if (h.resources.size() == 0) {
+                    clear(component);
+                    component.removeAncestorListener(h);
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+
+    static BindingAncestorListener listener(JComponent component) {
+        return (BindingAncestorListener) component.getClientProperty(BINDINGS_KEY);
+    }
+
+    static void clear(JComponent component) {
+        component.putClientProperty(BINDINGS_KEY, null);
+        REGISTRY.remove(component);
+    }
+
+    static final class BindingAncestorListener implements AncestorListener {
+
+        final CompositeDisposable resources = new CompositeDisposable();
+
+        @Override
+        public void ancestorAdded(AncestorEvent event) {
+            // no-op
+        }
+
+        @Override
+        public void ancestorRemoved(AncestorEvent event) {
+            JComponent c = event.getComponent();
+            // hiding the component or an ancestor also lands here
+            if (!c.isDisplayable()) {
+                synchronized (REGISTRY) {
+                    if (listener(c) == this) {
+                        clear(c);
+                    }
+                }
+                c.removeAncestorListener(this);
+                resources.dispose();
+            }
+        }
+
+        @Override
+        public void ancestorMoved(AncestorEvent event) {
+            // no-op
+        }
+    }
+
+    static final class BindingDisposable implements Disposable {
+
+        final JComponent component;
+
+        final Disposable resource;
+
+        BindingDisposable(JComponent component, Disposable resource) {
+            this.component = component;
+            this.resource = resource;
+        }
+
+        @Override
+        public void dispose() {
+            remove(component, resource);
+            resource.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return resource.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.event.*;
+
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.text.*;
+
+import io.reactivex.rxjava3.core.*;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.internal.disposables.*;
+
+/**
+ * Maintains a {@link TextRope} snapshot of a document from its {@link DocumentEvent}s
+ * and emits it once the document hasn't changed for the given delay.
+ * <p>
+ * The initial snapshot is taken and the listener is registered under
+ * {@link Document#render(Runnable)}, so no edit can slip in between.
+ */
+final class DebouncedTextObservable extends Observable<TextRope> {
+
+    final Document widget;
+
+    final int delayMillis;
+
+    DebouncedTextObservable(Document widget, int delayMillis) {
+        this.widget = widget;
+        this.delayMillis = delayMillis;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super TextRope> observer) {
+        Document w = widget;
+        DebouncedTextObserver parent = new DebouncedTextObserver(observer, w, delayMillis);
+        w.render(parent);
+        Throwable ex = parent.snapshotError;
+        if (ex != null) {
+            EmptyDisposable.error(ex, observer);
+            return;
+        }
+        // emitted outside of render() as the consumer may want to modify the document
+        if (!parent.disposed) {
+            observer.onNext(parent.text);
+        }
+    }
+
+    static final class DebouncedTextObserver implements Observer<DocumentEvent>, Disposable, ActionListener, Runnable {
+
+        final Observer<? super TextRope> actual;
+
+        final Document document;
+
+        final Timer timer;
+
+        /** Reused for reading the inserted text without copying it into an intermediate String. */
+        final Segment segment;
+
+        Disposable upstream;
+
+        volatile TextRope text;
+
+        volatile boolean disposed;
+
+        /** Set if the initial snapshot couldn't be read. */
+        Throwable snapshotError;
+
+        DebouncedTextObserver(Observer<? super TextRope> actual, Document document, int delayMillis) {
+            this.actual = actual;
+            this.document = document;
+            this.segment = new Segment();
+            this.segment.setPartialReturn(true);
+            this.timer = new Timer(delayMillis, this);
+            this.timer.setRepeats(false);
+        }
+
+        @Override
+        public void run() {
+            Document w = document;
+            try {
+                text = TextRope.of(w.getText(0, w.getLength()));
+            } catch (BadLocationException ex) {
+                snapshotError = ex;
+                return;
+            }
+            new DocumentEventObservable(w).subscribe(this);
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            if (DisposableHelper.validate(this.upstream, d)) {
+                this.upstream = d;
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(DocumentEvent e) {
+            if (disposed) {
+                return;
+            }
+            DocumentEvent.EventType type = e.getType();
+            if (type == DocumentEvent.EventType.INSERT) {
+                TextRope r = text;
+                int offset = e.getOffset();
+                int remaining = e.getLength();
+                Segment s = segment;
+                try {
+                    // with partial return, the segment points into the document's own buffer
+                    while (remaining > 0) {
+                        document.getText(offset, remaining, s);
+                        r = r.insert(offset, s);
+                        offset += s.count;
+                        remaining -= s.count;
+                    }
+                } catch (BadLocationException | IndexOutOfBoundsException ex) {
+                    fail(ex);
+                    return;
+                } finally {
+                    s.array = null;
+                }
+                text = r;
+            } else if (type == DocumentEvent.EventType.REMOVE) {
+                try {
+                    text = text.delete(e.getOffset(), e.getLength());
+                } catch (IndexOutOfBoundsException ex) {
+                    fail(ex);
+                    return;
+                }
+            } else {
+                return;
+            }
+            timer.restart();
+        }
+
+        /**
+         * Stops on a change not matching the snapshot instead of letting the
+         * exception disrupt the other listeners of the document.
+         */
+        void fail(Exception ex) {
+            dispose();
+            actual.onError(ex);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            timer.stop();
+            actual.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            timer.stop();
+            actual.onComplete();
+        }
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            if (!disposed) {
+                actual.onNext(text);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                upstream.dispose();
+                timer.stop();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
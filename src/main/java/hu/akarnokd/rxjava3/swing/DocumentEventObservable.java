@@ -25,8 +25,15 @@ final class DocumentEventObservable extends Observable<DocumentEvent> {
 
     final Document widget;
 
+    final boolean weak;
+
     DocumentEventObservable(Document widget) {
+        this(widget, false);
+    }
+
+    DocumentEventObservable(Document widget, boolean weak) {
         this.widget = widget;
+        this.weak = weak;
     }
 
     @Override
@@ -36,7 +43,10 @@ final class DocumentEventObservable extends Observable<DocumentEvent> {
         DocumentEventConsumer aec = new DocumentEventConsumer(observer, w);
         observer.onSubscribe(aec);
 
-        w.addDocumentListener(aec);
+        if (weak) {
+            aec.listener = new WeakDocumentListener(aec, w);
+        }
+        w.addDocumentListener(aec.listener);
         if (aec.get() == null) {
             aec.onDispose(w);
         }
@@ -47,13 +57,21 @@ final class DocumentEventObservable extends Observable<DocumentEvent> {
 
         private static final long serialVersionUID = -3605206827474016488L;
 
+        /** The listener registered with the model: this or its weak wrapper. */
+        DocumentListener listener;
+
         DocumentEventConsumer(Observer<? super DocumentEvent> actual, Document widget) {
             super(actual, widget);
+            this.listener = this;
         }
 
         @Override
         protected void onDispose(Document w) {
-            w.removeDocumentListener(this);
+            DocumentListener l = listener;
+            w.removeDocumentListener(l);
+            if (l != this) {
+                ((WeakDocumentListener)l).clear();
+            }
         }
 
         @Override
@@ -72,4 +90,41 @@ final class DocumentEventObservable extends Observable<DocumentEvent> {
         }
 
     }
+
+    static final class WeakDocumentListener extends WeakEventListener<DocumentListener, Document>
+    implements DocumentListener {
+
+        WeakDocumentListener(DocumentListener listener, Document widget) {
+            super(listener, widget);
+        }
+
+        @Override
+        protected void unregister(Document w) {
+            w.removeDocumentListener(this);
+        }
+
+        @Override
+        public void insertUpdate(DocumentEvent e) {
+            DocumentListener l = get();
+            if (l != null) {
+                l.insertUpdate(e);
+            }
+        }
+
+        @Override
+        public void removeUpdate(DocumentEvent e) {
+            DocumentListener l = get();
+            if (l != null) {
+                l.removeUpdate(e);
+            }
+        }
+
+        @Override
+        public void changedUpdate(DocumentEvent e) {
+            DocumentListener l = get();
+            if (l != null) {
+                l.changedUpdate(e);
+            }
+        }
+    }
 }
@@ -36,9 +36,9 @@ final class FocusEventObservable extends Observable<FocusEvent> {
         FocusEventConsumer aec = new FocusEventConsumer(observer, w);
         observer.onSubscribe(aec);
 
-        w.addFocusListener(aec);
+        SharedComponentListeners.addFocusListener(w, aec);
         if (aec.get() == null) {
-            w.removeFocusListener(aec);
+            SharedComponentListeners.removeFocusListener(w, aec);
         }
     }
 
@@ -53,7 +53,7 @@ final class FocusEventObservable extends Observable<FocusEvent> {
 
         @Override
         protected void onDispose(Component w) {
-            w.removeFocusListener(this);
+            SharedComponentListeners.removeFocusListener(w, this);
         }
 
         @Override
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import hu.akarnokd.rxjava3.swing.GlobalEventObservable.GlobalEventConsumer;
+
+/**
+ * Registers a single {@link AWTEventListener} with the {@link Toolkit} for all
+ * {@link GlobalEventObservable} subscribers and dispatches the events
+ * to them based on the event's source component and id.
+ * <p>
+ * The listener is registered with the union of the subscribers' event masks
+ * and removed when the last subscriber disposes.
+ */
+final class GlobalEventDispatcher implements AWTEventListener {
+
+    static final GlobalEventConsumer[] EMPTY = new GlobalEventConsumer[0];
+
+    static final GlobalEventDispatcher INSTANCE = new GlobalEventDispatcher();
+
+    /** Maps the AWT event ids to their {@link AWTEvent} mask bit. */
+    static final long[] ID_MASKS = new long[HierarchyEvent.HIERARCHY_LAST + 1];
+
+    static {
+        mapIds(ComponentEvent.COMPONENT_FIRST, ComponentEvent.COMPONENT_LAST, AWTEvent.COMPONENT_EVENT_MASK);
+        mapIds(ContainerEvent.CONTAINER_FIRST, ContainerEvent.CONTAINER_LAST, AWTEvent.CONTAINER_EVENT_MASK);
+        mapIds(FocusEvent.FOCUS_FIRST, FocusEvent.FOCUS_LAST, AWTEvent.FOCUS_EVENT_MASK);
+        mapIds(KeyEvent.KEY_FIRST, KeyEvent.KEY_LAST, AWTEvent.KEY_EVENT_MASK);
+        mapIds(MouseEvent.MOUSE_FIRST, MouseEvent.MOUSE_LAST, AWTEvent.MOUSE_EVENT_MASK);
+        ID_MASKS[MouseEvent.MOUSE_MOVED] = AWTEvent.MOUSE_MOTION_EVENT_MASK;
+        ID_MASKS[MouseEvent.MOUSE_DRAGGED] = AWTEvent.MOUSE_MOTION_EVENT_MASK;
+        ID_MASKS[MouseEvent.MOUSE_WHEEL] = AWTEvent.MOUSE_WHEEL_EVENT_MASK;
+        mapIds(WindowEvent.WINDOW_FIRST, WindowEvent.WINDOW_LAST, AWTEvent.WINDOW_EVENT_MASK);
+        ID_MASKS[WindowEvent.WINDOW_GAINED_FOCUS] = AWTEvent.WINDOW_FOCUS_EVENT_MASK;
+        ID_MASKS[WindowEvent.WINDOW_LOST_FOCUS] = AWTEvent.WINDOW_FOCUS_EVENT_MASK;
+        ID_MASKS[WindowEvent.WINDOW_STATE_CHANGED] = AWTEvent.WINDOW_STATE_EVENT_MASK;
+        mapIds(ActionEvent.ACTION_FIRST, ActionEvent.ACTION_LAST, AWTEvent.ACTION_EVENT_MASK);
+        mapIds(AdjustmentEvent.ADJUSTMENT_FIRST, AdjustmentEvent.ADJUSTMENT_LAST, AWTEvent.ADJUSTMENT_EVENT_MASK);
+        mapIds(ItemEvent.ITEM_FIRST, ItemEvent.ITEM_LAST, AWTEvent.ITEM_EVENT_MASK);
+        mapIds(TextEvent.TEXT_FIRST, TextEvent.TEXT_LAST, AWTEvent.TEXT_EVENT_MASK);
+        mapIds(InputMethodEvent.INPUT_METHOD_FIRST, InputMethodEvent.INPUT_METHOD_LAST, AWTEvent.INPUT_METHOD_EVENT_MASK);
+        mapIds(PaintEvent.PAINT_FIRST, PaintEvent.PAINT_LAST, AWTEvent.PAINT_EVENT_MASK);
+        mapIds(InvocationEvent.INVOCATION_FIRST, InvocationEvent.INVOCATION_LAST, AWTEvent.INVOCATION_EVENT_MASK);
+        mapIds(HierarchyEvent.HIERARCHY_FIRST, HierarchyEvent.HIERARCHY_LAST, AWTEvent.HIERARCHY_BOUNDS_EVENT_MASK);
+        ID_MASKS[HierarchyEvent.HIERARCHY_CHANGED] = AWTEvent.HIERARCHY_EVENT_MASK;
+    }
+
+    static void mapIds(int first, int last, long mask) {
+        for (int i = first; i <= last; i++) {
+            ID_MASKS[i] = mask;
+        }
+    }
+
+    /**
+     * Returns the {@link AWTEvent} mask bit of the given event id.
+     * @param id the event id
+     * @return the mask bit or zero if the id is unknown
+     */
+    static long maskOf(int id) {
+        return id >= 0 && id < ID_MASKS.length ? ID_MASKS[id] : 0L;
+    }
+
+    /** The subscribers interested in events of any component. */
+    volatile GlobalEventConsumer[] global;
+
+    /**
+     * The subscribers per source component; the arrays are copied on write
+     * under this, so the dispatch reads them without locking.
+     */
+    final ConcurrentHashMap<ComponentKey, GlobalEventConsumer[]> components;
+
+    /** The union of the masks of the per-component subscribers. */
+    volatile long componentMask;
+
+    /** The union of the masks of the global subscribers, guarded by this. */
+    long globalMask;
+
+    /** The number of per-component subscribers per event mask bit, guarded by this. */
+    final int[] componentCounts;
+
+    /** The number of global subscribers per event mask bit, guarded by this. */
+    final int[] globalCounts;
+
+    /** The mask the listener is currently registered with, guarded by this. */
+    long registeredMask;
+
+    GlobalEventDispatcher() {
+        this.global = EMPTY;
+        this.components = new ConcurrentHashMap<>();
+        this.componentCounts = new int[64];
+        this.globalCounts = new int[64];
+    }
+
+    void add(GlobalEventConsumer consumer) {
+        synchronized (this) {
+            Component c = consumer.component;
+            if (c == null) {
+                global = append(global, consumer);
+                globalMask ^= count(globalCounts, consumer.mask, 1);
+            } else {
+                ComponentKey key = new ComponentKey(c);
+                GlobalEventConsumer[] a = components.get(key);
+                components.put(key, append(a != null ? a : EMPTY, consumer));
+                componentMask ^= count(componentCounts, consumer.mask, 1);
+            }
+            updateRegistration();
+        }
+    }
+
+    void remove(GlobalEventConsumer consumer) {
+        synchronized (this) {
+            Component c = consumer.component;
+            if (c == null) {
+                GlobalEventConsumer[] a = global;
+                GlobalEventConsumer[] b = removeFrom(a, consumer);
+                if (a != b) {
+                    global = b;
+                    globalMask ^= count(globalCounts, consumer.mask, -1);
+                }
+            } else {
+                ComponentKey key = new ComponentKey(c);
+                GlobalEventConsumer[] a = components.get(key);
+                if (a != null) {
+                    GlobalEventConsumer[] b = removeFrom(a, consumer);
+                    if (a != b) {
+                        if (b.length == 0) {
+                            components.remove(key);
+                        } else {
+                            components.put(key, b);
+                        }
+                        componentMask ^= count(componentCounts, consumer.mask, -1);
+                    }
+                }
+            }
+            updateRegistration();
+        }
+    }
+
+    /**
+     * Adds the delta to the counters of the bits of the mask.
+     * @param counts the counter per mask bit
+     * @param mask the event mask of the subscriber
+     * @param delta +1 or -1
+     * @return the bits whose counter changed from or to zero, to be toggled in the union mask
+     */
+    static long count(int[] counts, long mask, int delta) {
+        long changed = 0L;
+        long m = mask;
+        while (m != 0L) {
+            int bit = Long.numberOfTrailingZeros(m);
+            m &= m - 1;
+            int c = counts[bit] + delta;
+            counts[bit] = c;
+            if (c == 0 || c == delta) {
+                changed |= 1L << bit;
+            }
+        }
+        return changed;
+    }
+
+    void updateRegistration() {
+        long m = componentMask | globalMask;
+        long r = registeredMask;
+        if (m != r) {
+            Toolkit tk = Toolkit.getDefaultToolkit();
+            if (r != 0L) {
+                tk.removeAWTEventListener(this);
+            }
+            if (m != 0L) {
+                tk.addAWTEventListener(this, m);
+            }
+            registeredMask = m;
+        }
+    }
+
+    @Override
+    public void eventDispatched(AWTEvent event) {
+        long m = maskOf(event.getID());
+
+        for (GlobalEventConsumer gc : global) {
+            if ((gc.mask & m) != 0L) {
+                gc.onEvent(event);
+            }
+        }
+
+        if ((componentMask & m) != 0L) {
+            Object src = event.getSource();
+            if (src instanceof Component) {
+                GlobalEventConsumer[] a = components.get(new ComponentKey((Component)src));
+                if (a != null) {
+                    for (GlobalEventConsumer gc : a) {
+                        if ((gc.mask & m) != 0L) {
+                            gc.onEvent(event);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    static GlobalEventConsumer[] append(GlobalEventConsumer[] a, GlobalEventConsumer consumer) {
+        int n = a.length;
+        GlobalEventConsumer[] b = new GlobalEventConsumer[n + 1];
+        System.arraycopy(a, 0, b, 0, n);
+        b[n] = consumer;
+        return b;
+    }
+
+    static GlobalEventConsumer[] removeFrom(GlobalEventConsumer[] a, GlobalEventConsumer consumer) {
+        int n = a.length;
+        for (int i = 0; i < n; i++) {
+            if (a[i] == consumer) {
+                if (n == 1) {
+                    return EMPTY;
+                }
+                GlobalEventConsumer[] b = new GlobalEventConsumer[n - 1];
+                System.arraycopy(a, 0, b, 0, i);
+                System.arraycopy(a, i + 1, b, i, n - i - 1);
+                return b;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Looks up the components by identity, as {@link Component}s may override equals.
+     */
+    static final class ComponentKey {
+
+        final Component component;
+
+        ComponentKey(Component component) {
+            this.component = component;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(component);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ComponentKey && ((ComponentKey)obj).component == component;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.*;
+
+import io.reactivex.rxjava3.core.*;
+
+final class GlobalEventObservable extends Observable<AWTEvent> {
+
+    final Component widget;
+
+    final long eventMask;
+
+    GlobalEventObservable(Component widget, long eventMask) {
+        this.widget = widget;
+        this.eventMask = eventMask;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super AWTEvent> observer) {
+        GlobalEventDispatcher d = GlobalEventDispatcher.INSTANCE;
+
+        GlobalEventConsumer aec = new GlobalEventConsumer(observer, d, widget, eventMask);
+        observer.onSubscribe(aec);
+
+        if (eventMask != 0L) {
+            d.add(aec);
+            if (aec.get() == null) {
+                aec.onDispose(d);
+            }
+        }
+    }
+
+    static final class GlobalEventConsumer extends AbstractEventConsumer<AWTEvent, GlobalEventDispatcher> {
+
+        private static final long serialVersionUID = -3605206827474016488L;
+
+        final Component component;
+
+        final long mask;
+
+        GlobalEventConsumer(Observer<? super AWTEvent> actual, GlobalEventDispatcher dispatcher,
+                Component component, long mask) {
+            super(actual, dispatcher);
+            this.component = component;
+            this.mask = mask;
+        }
+
+        @Override
+        protected void onDispose(GlobalEventDispatcher dispatcher) {
+            dispatcher.remove(this);
+        }
+
+        void onEvent(AWTEvent e) {
+            actual.onNext(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+/**
+ * An immutable, inclusive range of row or item indexes.
+ * @since 3.2.0
+ */
+public final class IndexRange {
+
+    /** The range containing no indexes. */
+    public static final IndexRange EMPTY = new IndexRange(-1, -1);
+
+    final int first;
+
+    final int last;
+
+    IndexRange(int first, int last) {
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * Returns the range of the given indexes or {@link #EMPTY} if {@code first} is negative.
+     * @param first the first index
+     * @param last the last index, inclusive
+     * @return the range
+     */
+    public static IndexRange of(int first, int last) {
+        if (first < 0) {
+            return EMPTY;
+        }
+        if (last < first) {
+            throw new IllegalArgumentException("last >= first required but it was " + last + " < " + first);
+        }
+        return new IndexRange(first, last);
+    }
+
+    /**
+     * Returns the first index of the range.
+     * @return the first index, -1 if the range is empty
+     */
+    public int getFirst() {
+        return first;
+    }
+
+    /**
+     * Returns the last index of the range, inclusive.
+     * @return the last index, -1 if the range is empty
+     */
+    public int getLast() {
+        return last;
+    }
+
+    /**
+     * Returns the number of indexes in the range.
+     * @return the number of indexes
+     */
+    public int size() {
+        return first < 0 ? 0 : last - first + 1;
+    }
+
+    /**
+     * Returns true if the range contains no indexes.
+     * @return true if the range is empty
+     */
+    public boolean isEmpty() {
+        return first < 0;
+    }
+
+    /**
+     * Returns true if the range contains the given index.
+     * @param index the index to check
+     * @return true if the index is within the range
+     */
+    public boolean contains(int index) {
+        return first >= 0 && index >= first && index <= last;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof IndexRange) {
+            IndexRange other = (IndexRange) obj;
+            return first == other.first && last == other.last;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return first * 31 + last;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexRange[" + first + ", " + last + "]";
+    }
+}
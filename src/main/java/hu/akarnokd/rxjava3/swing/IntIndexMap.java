@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from primitive {@code int} keys to non-negative
+ * {@code int} values, using linear probing. Not thread-safe.
+ */
+final class IntIndexMap {
+
+    static final float LOAD_FACTOR = 0.5f;
+
+    int[] keys;
+
+    /** The values, -1 marks a free slot. */
+    int[] values;
+
+    int mask;
+
+    int size;
+
+    int maxSize;
+
+    IntIndexMap() {
+        allocate(16);
+    }
+
+    void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, -1);
+        mask = capacity - 1;
+        maxSize = (int)(capacity * LOAD_FACTOR);
+        size = 0;
+    }
+
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the value of the key or -1 if not present.
+     * @param key the key
+     * @return the value or -1
+     */
+    int get(int key) {
+        int[] k = keys;
+        int[] v = values;
+        int m = mask;
+        int i = mix(key) & m;
+        for (;;) {
+            int value = v[i];
+            if (value < 0) {
+                return -1;
+            }
+            if (k[i] == key) {
+                return value;
+            }
+            i = (i + 1) & m;
+        }
+    }
+
+    void put(int key, int value) {
+        int[] k = keys;
+        int[] v = values;
+        int m = mask;
+        int i = mix(key) & m;
+        for (;;) {
+            if (v[i] < 0) {
+                k[i] = key;
+                v[i] = value;
+                if (++size > maxSize) {
+                    rehash();
+                }
+                return;
+            }
+            if (k[i] == key) {
+                v[i] = value;
+                return;
+            }
+            i = (i + 1) & m;
+        }
+    }
+
+    void remove(int key) {
+        int[] k = keys;
+        int[] v = values;
+        int m = mask;
+        int i = mix(key) & m;
+        for (;;) {
+            if (v[i] < 0) {
+                return;
+            }
+            if (k[i] == key) {
+                break;
+            }
+            i = (i + 1) & m;
+        }
+        size--;
+        // shift back the following entries of the probe sequence
+        for (;;) {
+            v[i] = -1;
+            int j = i;
+            for (;;) {
+                j = (j + 1) & m;
+                if (v[j] < 0) {
+                    return;
+                }
+                int home = mix(k[j]) & m;
+                // move the entry if its home slot isn't cyclically within (i, j]
+                if (i <= j ? (home <= i || home > j) : (home <= i && home > j)) {
+                    k[i] = k[j];
+                    v[i] = v[j];
+                    i = j;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the delta to every value greater than or equal to the given value,
+     * keeping the values in step with a list whose elements moved.
+     * @param from the smallest value to change
+     * @param delta the amount to add, the results must stay non-negative
+     */
+    void shift(int from, int delta) {
+        int[] v = values;
+        for (int i = 0; i < v.length; i++) {
+            if (v[i] >= from) {
+                v[i] += delta;
+            }
+        }
+    }
+
+    void clear() {
+        if (size != 0) {
+            Arrays.fill(values, -1);
+            size = 0;
+        }
+    }
+
+    void rehash() {
+        int[] k = keys;
+        int[] v = values;
+        allocate(k.length * 2);
+        for (int i = 0; i < k.length; i++) {
+            if (v[i] >= 0) {
+                put(k[i], v[i]);
+            }
+        }
+    }
+}
@@ -36,9 +36,9 @@ final class KeyEventObservable extends Observable<KeyEvent> {
         KeyEventConsumer aec = new KeyEventConsumer(observer, w);
         observer.onSubscribe(aec);
 
-        w.addKeyListener(aec);
+        SharedComponentListeners.addKeyListener(w, aec);
         if (aec.get() == null) {
-            w.removeKeyListener(aec);
+            SharedComponentListeners.removeKeyListener(w, aec);
         }
     }
 
@@ -53,7 +53,7 @@ final class KeyEventObservable extends Observable<KeyEvent> {
 
         @Override
         protected void onDispose(Component w) {
-            w.removeKeyListener(this);
+            SharedComponentListeners.removeKeyListener(w, this);
         }
 
         @Override
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+import javax.swing.JTree;
+import javax.swing.event.*;
+import javax.swing.tree.*;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.*;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Supplier;
+import io.reactivex.rxjava3.observers.DisposableSingleObserver;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+/**
+ * Loads the children of the nodes of a {@link DefaultTreeModel} lazily, when
+ * the nodes are about to be expanded, on a background {@link Scheduler}.
+ * <p>
+ * Nodes created via {@link #createNode(Object)} which may have children get a
+ * single placeholder child, so the tree shows them as expandable and displays the
+ * placeholder while loading. When such a node is expanded, its children are loaded
+ * via the {@link ChildLoader} on the scheduler, at most {@code maxConcurrency} nodes
+ * at a time, the rest waiting in expansion order. Once loaded, the placeholder is
+ * removed and the child nodes are added with a single {@code treeNodesInserted} event;
+ * the children are inserted before the placeholder is removed so an expanded node stays expanded.
+ * Collapsing a node cancels the loading of it and of its descendants, leaving the
+ * placeholder in place so the next expansion loads them again.
+ * <p>
+ * Errors of the loader are routed to {@link RxJavaPlugins#onError(Throwable)} and
+ * leave the placeholder in place.
+ * <p>
+ * The loader has to be accessed from the EDT only.
+ * @param <T> the type of the user objects of the nodes
+ * @since 3.2.0
+ */
+public class LazyTreeLoader<T> {
+
+    /**
+     * Loads the children of a node.
+     * @param <T> the type of the user objects of the nodes
+     */
+    @FunctionalInterface
+    public interface ChildLoader<T> {
+        /**
+         * Returns the user objects of the children of the given parent; called on the scheduler.
+         * @param parent the user object of the parent node
+         * @return the user objects of the children
+         * @throws Throwable on failure
+         */
+        @NonNull
+        List<T> load(T parent) throws Throwable;
+    }
+
+    final DefaultTreeModel model;
+
+    final ChildLoader<T> loader;
+
+    final Predicate<? super T> mayHaveChildren;
+
+    final Scheduler scheduler;
+
+    final int maxConcurrency;
+
+    final Object placeholder;
+
+    final ArrayDeque<LoadObserver> queue;
+
+    final HashMap<TreeNode, LoadObserver> loads;
+
+    int active;
+
+    /**
+     * Constructs a LazyTreeLoader.
+     * @param model the model to add the loaded nodes to
+     * @param loader the function loading the children of a node
+     * @param mayHaveChildren the predicate telling if a user object may have children,
+     *                        called on the scheduler for loaded children
+     * @param scheduler the scheduler to load on
+     * @param maxConcurrency the maximum number of nodes loaded at once, positive
+     * @param placeholder the user object of the placeholder nodes, for example {@code "Loading..."}
+     */
+    public LazyTreeLoader(@NonNull DefaultTreeModel model, @NonNull ChildLoader<T> loader,
+            @NonNull Predicate<? super T> mayHaveChildren, @NonNull Scheduler scheduler,
+            int maxConcurrency, @NonNull Object placeholder) {
+        this.model = Objects.requireNonNull(model, "model is null");
+        this.loader = Objects.requireNonNull(loader, "loader is null");
+        this.mayHaveChildren = Objects.requireNonNull(mayHaveChildren, "mayHaveChildren is null");
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler is null");
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.placeholder = Objects.requireNonNull(placeholder, "placeholder is null");
+        this.queue = new ArrayDeque<>();
+        this.loads = new HashMap<>();
+    }
+
+    /**
+     * Creates a node for the user object, with a placeholder child if it may have children.
+     * @param value the user object
+     * @return the new node
+     */
+    @NonNull
+    public final DefaultMutableTreeNode createNode(T value) {
+        DefaultMutableTreeNode node = new DefaultMutableTreeNode(value);
+        if (mayHaveChildren.test(value)) {
+            node.add(new PlaceholderNode(placeholder));
+        }
+        return node;
+    }
+
+    /**
+     * Loads the children of the nodes of the tree as they are about to be expanded
+     * and cancels the loading when they are about to be collapsed.
+     * @param tree the tree showing the model
+     * @return the Disposable to stop following the expansions of the tree
+     */
+    @NonNull
+    public final Disposable install(@NonNull final JTree tree) {
+        Objects.requireNonNull(tree, "tree is null");
+        final TreeWillExpandListener listener = new TreeWillExpandListener() {
+            @Override
+            public void treeWillExpand(TreeExpansionEvent event) {
+                Object node = event.getPath().getLastPathComponent();
+                if (node instanceof DefaultMutableTreeNode) {
+                    expand((DefaultMutableTreeNode) node);
+                }
+            }
+
+            @Override
+            public void treeWillCollapse(TreeExpansionEvent event) {
+                Object node = event.getPath().getLastPathComponent();
+                if (node instanceof DefaultMutableTreeNode) {
+                    collapse((DefaultMutableTreeNode) node);
+                }
+            }
+        };
+        tree.addTreeWillExpandListener(listener);
+        return Disposable.fromRunnable(new Runnable() {
+            @Override
+            public void run() {
+                tree.removeTreeWillExpandListener(listener);
+            }
+        });
+    }
+
+    /**
+     * Starts loading the children of the node if it has only a placeholder
+     * child and is not being loaded already.
+     * @param node the node about to be expanded
+     */
+    public final void expand(@NonNull DefaultMutableTreeNode node) {
+        if (!isPlaceholder(node) || loads.containsKey(node)) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        LoadObserver lo = new LoadObserver(node, (T) node.getUserObject());
+        loads.put(node, lo);
+        queue.offer(lo);
+        drain();
+    }
+
+    /**
+     * Cancels loading the children of the node and of its descendants.
+     * @param node the node about to be collapsed
+     */
+    public final void collapse(@NonNull DefaultMutableTreeNode node) {
+        if (loads.isEmpty()) {
+            return;
+        }
+        Iterator<LoadObserver> it = loads.values().iterator();
+        while (it.hasNext()) {
+            LoadObserver lo = it.next();
+            if (lo.node == node || lo.node.isNodeAncestor(node)) {
+                it.remove();
+                cancel(lo);
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Returns true if the children of the node are being loaded or wait to be loaded.
+     * @param node the node to check
+     * @return true if the node is loading
+     */
+    public final boolean isLoading(TreeNode node) {
+        return loads.containsKey(node);
+    }
+
+    /**
+     * Returns the number of nodes whose children are being loaded right now.
+     * @return the number of running loads
+     */
+    public final int activeCount() {
+        return active;
+    }
+
+    /**
+     * Returns the number of nodes waiting for a free slot to load their children.
+     * @return the number of queued loads
+     */
+    public final int queuedCount() {
+        return queue.size();
+    }
+
+    static boolean isPlaceholder(TreeNode node) {
+        return node.getChildCount() == 1 && node.getChildAt(0) instanceof PlaceholderNode;
+    }
+
+    void cancel(LoadObserver lo) {
+        if (lo.started) {
+            lo.dispose();
+            active--;
+        } else {
+            queue.remove(lo);
+        }
+    }
+
+    void drain() {
+        while (active < maxConcurrency) {
+            final LoadObserver lo = queue.poll();
+            if (lo == null) {
+                break;
+            }
+            active++;
+            lo.started = true;
+            Single.fromSupplier(new Supplier<List<DefaultMutableTreeNode>>() {
+                @Override
+                public List<DefaultMutableTreeNode> get() throws Throwable {
+                    List<T> values = loader.load(lo.value);
+                    List<DefaultMutableTreeNode> nodes = new ArrayList<>(values.size());
+                    for (T v : values) {
+                        nodes.add(createNode(v));
+                    }
+                    return nodes;
+                }
+            })
+            .subscribeOn(scheduler)
+            .compose(SwingObservable.<List<DefaultMutableTreeNode>>observeOnEdtSingle())
+            .subscribe(lo);
+        }
+    }
+
+    void onLoaded(LoadObserver lo, List<DefaultMutableTreeNode> children) {
+        if (loads.get(lo.node) != lo) {
+            return;
+        }
+        loads.remove(lo.node);
+        active--;
+
+        DefaultMutableTreeNode node = lo.node;
+        if (isPlaceholder(node)) {
+            // insert after the placeholder and remove it last: a node without children
+            // is a leaf, which the JTree would collapse
+            if (!children.isEmpty()) {
+                int[] indices = new int[children.size()];
+                for (int i = 0; i < indices.length; i++) {
+                    node.add(children.get(i));
+                    indices[i] = i + 1;
+                }
+                model.nodesWereInserted(node, indices);
+            }
+            model.removeNodeFromParent((MutableTreeNode) node.getChildAt(0));
+        }
+        drain();
+    }
+
+    void onFailed(LoadObserver lo, Throwable error) {
+        if (loads.get(lo.node) == lo) {
+            loads.remove(lo.node);
+            active--;
+            drain();
+        }
+        RxJavaPlugins.onError(error);
+    }
+
+    final class LoadObserver extends DisposableSingleObserver<List<DefaultMutableTreeNode>> {
+
+        final DefaultMutableTreeNode node;
+
+        final T value;
+
+        /** Set when the load leaves the queue; accessed from the EDT only. */
+        boolean started;
+
+        LoadObserver(DefaultMutableTreeNode node, T value) {
+            this.node = node;
+            this.value = value;
+        }
+
+        @Override
+        public void onSuccess(List<DefaultMutableTreeNode> children) {
+            onLoaded(this, children);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            onFailed(this, e);
+        }
+    }
+
+    /**
+     * The child shown while the children of a node are not loaded yet.
+     */
+    static final class PlaceholderNode extends DefaultMutableTreeNode {
+
+        private static final long serialVersionUID = -5727164911838373282L;
+
+        PlaceholderNode(Object userObject) {
+            super(userObject, false);
+        }
+    }
+}
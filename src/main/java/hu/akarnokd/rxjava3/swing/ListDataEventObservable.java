@@ -25,8 +25,15 @@ final class ListDataEventObservable extends Observable<ListDataEvent> {
 
     final ListModel<?> widget;
 
+    final boolean weak;
+
     ListDataEventObservable(ListModel<?> widget) {
+        this(widget, false);
+    }
+
+    ListDataEventObservable(ListModel<?> widget, boolean weak) {
         this.widget = widget;
+        this.weak = weak;
     }
 
     @Override
@@ -36,7 +43,10 @@ final class ListDataEventObservable extends Observable<ListDataEvent> {
         ListDataEventConsumer aec = new ListDataEventConsumer(observer, w);
         observer.onSubscribe(aec);
 
-        w.addListDataListener(aec);
+        if (weak) {
+            aec.listener = new WeakListDataListener(aec, w);
+        }
+        w.addListDataListener(aec.listener);
         if (aec.get() == null) {
             aec.onDispose(w);
         }
@@ -47,13 +57,21 @@ final class ListDataEventObservable extends Observable<ListDataEvent> {
 
         private static final long serialVersionUID = -3605206827474016488L;
 
+        /** The listener registered with the model: this or its weak wrapper. */
+        ListDataListener listener;
+
         ListDataEventConsumer(Observer<? super ListDataEvent> actual, ListModel<?> widget) {
             super(actual, widget);
+            this.listener = this;
         }
 
         @Override
         protected void onDispose(ListModel<?> w) {
-            w.removeListDataListener(this);
+            ListDataListener l = listener;
+            w.removeListDataListener(l);
+            if (l != this) {
+                ((WeakListDataListener)l).clear();
+            }
         }
 
         @Override
@@ -72,4 +90,41 @@ final class ListDataEventObservable extends Observable<ListDataEvent> {
         }
 
     }
+
+    static final class WeakListDataListener extends WeakEventListener<ListDataListener, ListModel<?>>
+    implements ListDataListener {
+
+        WeakListDataListener(ListDataListener listener, ListModel<?> widget) {
+            super(listener, widget);
+        }
+
+        @Override
+        protected void unregister(ListModel<?> w) {
+            w.removeListDataListener(this);
+        }
+
+        @Override
+        public void intervalAdded(ListDataEvent e) {
+            ListDataListener l = get();
+            if (l != null) {
+                l.intervalAdded(e);
+            }
+        }
+
+        @Override
+        public void intervalRemoved(ListDataEvent e) {
+            ListDataListener l = get();
+            if (l != null) {
+                l.intervalRemoved(e);
+            }
+        }
+
+        @Override
+        public void contentsChanged(ListDataEvent e) {
+            ListDataListener l = get();
+            if (l != null) {
+                l.contentsChanged(e);
+            }
+        }
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.*;
+
+/**
+ * Computes the differences between two lists as a sequence of hunks with
+ * the Myers algorithm, after trimming the common prefix and suffix.
+ * <p>
+ * The hunks are returned in a flat array of quadruples
+ * {@code (oldStart, oldCount, newStart, newCount)} in ascending order, each
+ * replacing {@code oldCount} items of the old list at {@code oldStart} with
+ * {@code newCount} items of the new list at {@code newStart}.
+ */
+final class ListDiff {
+
+    /**
+     * The maximum number of single item edits searched for; lists differing
+     * more are replaced between their common prefix and suffix in one hunk.
+     */
+    static final int MAX_EDITS = 1024;
+
+    static final int[] NO_HUNKS = new int[0];
+
+    private ListDiff() {
+        throw new IllegalStateException("No instances!");
+    }
+
+    static int[] diff(List<?> a, List<?> b) {
+        int aEnd = a.size();
+        int bEnd = b.size();
+        int start = 0;
+        int limit = Math.min(aEnd, bEnd);
+        while (start < limit && Objects.equals(a.get(start), b.get(start))) {
+            start++;
+        }
+        while (aEnd > start && bEnd > start && Objects.equals(a.get(aEnd - 1), b.get(bEnd - 1))) {
+            aEnd--;
+            bEnd--;
+        }
+        int n = aEnd - start;
+        int m = bEnd - start;
+        if (n == 0 && m == 0) {
+            return NO_HUNKS;
+        }
+        if (n == 0 || m == 0) {
+            return new int[] { start, n, start, m };
+        }
+        int[] hunks = myers(a.subList(start, aEnd), b.subList(start, bEnd));
+        if (hunks == null) {
+            return new int[] { start, n, start, m };
+        }
+        for (int i = 0; i < hunks.length; i += 2) {
+            hunks[i] += start;
+        }
+        return hunks;
+    }
+
+    static int[] myers(List<?> a, List<?> b) {
+        int n = a.size();
+        int m = b.size();
+        int max = Math.min(n + m, MAX_EDITS);
+        int offset = max + 1;
+        int[] v = new int[2 * max + 3];
+        ArrayList<int[]> trace = new ArrayList<>();
+
+        for (int d = 0; d <= max; d++) {
+            // keep v[-d-1 .. d+1] as it was before this step for the backtracking
+            trace.add(Arrays.copyOfRange(v, offset - d - 1, offset + d + 2));
+            for (int k = -d; k <= d; k += 2) {
+                int x;
+                if (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])) {
+                    x = v[offset + k + 1];
+                } else {
+                    x = v[offset + k - 1] + 1;
+                }
+                int y = x - k;
+                while (x < n && y < m && Objects.equals(a.get(x), b.get(y))) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    return backtrack(trace, n, m);
+                }
+            }
+        }
+        return null;
+    }
+
+    static int[] backtrack(List<int[]> trace, int n, int m) {
+        // the edits in reverse order: x, y and 1 for insert, 0 for delete
+        int[] edits = new int[3 * trace.size()];
+        int e = 0;
+        int x = n;
+        int y = m;
+        for (int d = trace.size() - 1; d > 0; d--) {
+            int[] v = trace.get(d);
+            int k = x - y;
+            int base = d + 1;
+            int prevK;
+            if (k == -d || (k != d && v[base + k - 1] < v[base + k + 1])) {
+                prevK = k + 1;
+            } else {
+                prevK = k - 1;
+            }
+            int prevX = v[base + prevK];
+            int prevY = prevX - prevK;
+            while (x > prevX && y > prevY) {
+                x--;
+                y--;
+            }
+            edits[e++] = prevX;
+            edits[e++] = prevY;
+            edits[e++] = x == prevX ? 1 : 0;
+            x = prevX;
+            y = prevY;
+        }
+
+        int[] hunks = new int[4 * (e / 3)];
+        int h = 0;
+        int i = e - 3;
+        while (i >= 0) {
+            int hx = edits[i];
+            int hy = edits[i + 1];
+            int cx = hx;
+            int cy = hy;
+            while (i >= 0 && edits[i] == cx && edits[i + 1] == cy) {
+                if (edits[i + 2] == 1) {
+                    cy++;
+                } else {
+                    cx++;
+                }
+                i -= 3;
+            }
+            hunks[h++] = hx;
+            hunks[h++] = cx - hx;
+            hunks[h++] = hy;
+            hunks[h++] = cy - hy;
+        }
+        return Arrays.copyOf(hunks, h);
+    }
+}
@@ -16,7 +16,7 @@
 
 package hu.akarnokd.rxjava3.swing;
 
-import java.awt.Component;
+import java.awt.*;
 import java.awt.event.*;
 
 import io.reactivex.rxjava3.core.*;
@@ -40,13 +40,13 @@ final class MouseEventObservable extends Observable<MouseEvent> {
         MouseEventConsumer aec = new MouseEventConsumer(observer, w, f);
         observer.onSubscribe(aec);
         if ((f & 1) != 0) {
-            w.addMouseListener(aec);
+            SharedComponentListeners.addMouseListener(w, aec);
         }
         if ((f & 2) != 0) {
-            w.addMouseMotionListener(aec);
+            SharedComponentListeners.addMouseMotionListener(w, aec);
         }
         if ((f & 4) != 0) {
-            w.addMouseWheelListener(aec);
+            SharedComponentListeners.addMouseWheelListener(w, aec);
         }
         if (aec.get() == null) {
             aec.onDispose(w);
@@ -54,12 +54,21 @@ final class MouseEventObservable extends Observable<MouseEvent> {
     }
 
     static final class MouseEventConsumer extends AbstractEventConsumer<MouseEvent, Component>
-    implements MouseListener, MouseMotionListener, MouseWheelListener {
+    implements MouseListener, MouseMotionListener, MouseWheelListener, Runnable {
 
         private static final long serialVersionUID = -3605206827474016488L;
 
         final int flags;
 
+        /** The latest motion event not yet emitted in coalescing mode; accessed only from the EDT. */
+        MouseEvent motion;
+
+        /** The number of motion events merged into {@link #motion}; accessed only from the EDT. */
+        int motionCount;
+
+        /** Indicates a flush task has been posted to the EventQueue; accessed only from the EDT. */
+        boolean flushPending;
+
         MouseEventConsumer(Observer<? super MouseEvent> actual, Component widget, int flags) {
             super(actual, widget);
             this.flags = flags;
@@ -69,54 +78,92 @@ final class MouseEventObservable extends Observable<MouseEvent> {
         protected void onDispose(Component w) {
             int f = flags;
             if ((f & 1) != 0) {
-                w.removeMouseListener(this);
+                SharedComponentListeners.removeMouseListener(w, this);
             }
             if ((f & 2) != 0) {
-                w.removeMouseMotionListener(this);
+                SharedComponentListeners.removeMouseMotionListener(w, this);
             }
             if ((f & 4) != 0) {
-                w.removeMouseWheelListener(this);
+                SharedComponentListeners.removeMouseWheelListener(w, this);
+            }
+        }
+
+        void motion(MouseEvent e) {
+            if ((flags & 8) != 0) {
+                motion = e;
+                motionCount++;
+                if (!flushPending) {
+                    flushPending = true;
+                    EventQueue.invokeLater(this);
+                }
+            } else {
+                actual.onNext(e);
+            }
+        }
+
+        void other(MouseEvent e) {
+            if ((flags & 8) != 0) {
+                flush();
+            }
+            actual.onNext(e);
+        }
+
+        void flush() {
+            MouseEvent m = motion;
+            if (m != null) {
+                int c = motionCount;
+                motion = null;
+                motionCount = 0;
+                if (!isDisposed()) {
+                    actual.onNext(new CoalescedMouseEvent(m, c));
+                }
             }
         }
 
+        @Override
+        public void run() {
+            flushPending = false;
+            flush();
+        }
+
         @Override
         public void mouseWheelMoved(MouseWheelEvent e) {
-            actual.onNext(e);
+            other(e);
         }
 
         @Override
         public void mouseDragged(MouseEvent e) {
-            actual.onNext(e);
+            motion(e);
         }
 
         @Override
         public void mouseMoved(MouseEvent e) {
-            actual.onNext(e);
+            motion(e);
         }
 
         @Override
         public void mouseClicked(MouseEvent e) {
-            actual.onNext(e);
+            other(e);
         }
 
         @Override
         public void mousePressed(MouseEvent e) {
-            actual.onNext(e);
+            other(e);
         }
 
         @Override
         public void mouseReleased(MouseEvent e) {
-            actual.onNext(e);
+            other(e);
         }
 
         @Override
         public void mouseEntered(MouseEvent e) {
-            actual.onNext(e);
+            other(e);
         }
 
         @Override
         public void mouseExited(MouseEvent e) {
-            actual.onNext(e);
+            other(e);
         }
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+/**
+ * Receives the primitive data of mouse motion events without
+ * allocating any intermediate objects.
+ *
+ * @see SwingObservable#mouseMove(java.awt.Component, MouseMoveConsumer)
+ * @since 3.2.0
+ */
+@FunctionalInterface
+public interface MouseMoveConsumer {
+
+    /**
+     * Called for each mouse moved or dragged event.
+     * @param x the x coordinate relative to the source component
+     * @param y the y coordinate relative to the source component
+     * @param modifiers the extended modifiers, see {@link java.awt.event.InputEvent#getModifiersEx()}
+     * @param when the event's timestamp in milliseconds
+     */
+    void accept(int x, int y, int modifiers, long when);
+
+    /**
+     * Packs the coordinates into a single long value.
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return the packed coordinates
+     * @see SwingObservable#mouseMovePacked(java.awt.Component)
+     */
+    static long pack(int x, int y) {
+        return ((long)x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the x coordinate of a packed coordinate pair.
+     * @param packed the packed coordinates
+     * @return the x coordinate
+     */
+    static int unpackX(long packed) {
+        return (int)(packed >> 32);
+    }
+
+    /**
+     * Returns the y coordinate of a packed coordinate pair.
+     * @param packed the packed coordinates
+     * @return the y coordinate
+     */
+    static int unpackY(long packed) {
+        return (int)packed;
+    }
+}
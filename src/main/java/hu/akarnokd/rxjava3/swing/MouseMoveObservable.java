@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.Component;
+import java.awt.event.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.rxjava3.core.*;
+import io.reactivex.rxjava3.disposables.Disposable;
+
+final class MouseMoveObservable extends Observable<Long> {
+
+    final Component widget;
+
+    MouseMoveObservable(Component widget) {
+        this.widget = widget;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super Long> observer) {
+        Component w = widget;
+
+        MouseMovePackedConsumer aec = new MouseMovePackedConsumer(observer, w);
+        observer.onSubscribe(aec);
+
+        SharedComponentListeners.addMouseMotionListener(w, aec);
+        if (aec.get() == null) {
+            aec.onDispose(w);
+        }
+    }
+
+    static Disposable subscribe(Component w, MouseMoveConsumer consumer) {
+        MouseMoveCallback mc = new MouseMoveCallback(w, consumer);
+        SharedComponentListeners.addMouseMotionListener(w, mc);
+        return mc;
+    }
+
+    static final class MouseMovePackedConsumer extends AbstractEventConsumer<Long, Component>
+    implements MouseMotionListener {
+
+        private static final long serialVersionUID = -3605206827474016488L;
+
+        MouseMovePackedConsumer(Observer<? super Long> actual, Component widget) {
+            super(actual, widget);
+        }
+
+        @Override
+        protected void onDispose(Component w) {
+            SharedComponentListeners.removeMouseMotionListener(w, this);
+        }
+
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            actual.onNext(MouseMoveConsumer.pack(e.getX(), e.getY()));
+        }
+
+        @Override
+        public void mouseMoved(MouseEvent e) {
+            actual.onNext(MouseMoveConsumer.pack(e.getX(), e.getY()));
+        }
+    }
+
+    static final class MouseMoveCallback extends AtomicReference<Component>
+    implements MouseMotionListener, Disposable {
+
+        private static final long serialVersionUID = -2395404370224510936L;
+
+        final MouseMoveConsumer consumer;
+
+        MouseMoveCallback(Component widget, MouseMoveConsumer consumer) {
+            this.consumer = consumer;
+            lazySet(widget);
+        }
+
+        @Override
+        public void dispose() {
+            Component w = getAndSet(null);
+            if (w != null) {
+                SharedComponentListeners.removeMouseMotionListener(w, this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get() == null;
+        }
+
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            consumer.accept(e.getX(), e.getY(), e.getModifiersEx(), e.getWhen());
+        }
+
+        @Override
+        public void mouseMoved(MouseEvent e) {
+            consumer.accept(e.getX(), e.getY(), e.getModifiersEx(), e.getWhen());
+        }
+    }
+}
@@ -35,9 +35,9 @@ final class MouseWheelEventObservable extends Observable<MouseWheelEvent> {
 
         MouseWheelEventConsumer aec = new MouseWheelEventConsumer(observer, w);
         observer.onSubscribe(aec);
-        w.addMouseWheelListener(aec);
+        SharedComponentListeners.addMouseWheelListener(w, aec);
         if (aec.get() == null) {
-            w.removeMouseWheelListener(aec);
+            SharedComponentListeners.removeMouseWheelListener(w, aec);
         }
     }
 
@@ -52,7 +52,7 @@ final class MouseWheelEventObservable extends Observable<MouseWheelEvent> {
 
         @Override
         protected void onDispose(Component component) {
-            component.removeMouseWheelListener(this);
+            SharedComponentListeners.removeMouseWheelListener(component, this);
         }
 
         @Override
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.*;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.observers.DisposableSingleObserver;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+/**
+ * Loads the rows of a large, remote data set page by page as they become visible,
+ * keeping only the most recently used pages in memory.
+ * <p>
+ * The visible range, typically from {@link SwingObservable#visibleRows(javax.swing.JTable)},
+ * drives the loading via {@link #bind(Observable)}: the pages covering the range are
+ * requested, along with {@code prefetch} further pages in the direction the range moved,
+ * and the loads of pages which are neither visible nor prefetched anymore are cancelled.
+ * The pages are fetched by the {@link PageSource}, which decides the thread of
+ * the fetch, and are put into the cache on the EDT, after which the range of the
+ * loaded rows is signalled via {@link #pagesLoaded()} so the model can fire an update.
+ * <p>
+ * The loader has to be accessed from the EDT only.
+ * @param <T> the row type
+ * @since 3.2.0
+ */
+public class PagingLoader<T> {
+
+    /**
+     * Fetches a page of rows.
+     * @param <T> the row type
+     */
+    @FunctionalInterface
+    public interface PageSource<T> {
+        /**
+         * Returns a Single fetching the rows of the given range.
+         * @param offset the index of the first row
+         * @param count the number of rows, may extend beyond the end of the data set
+         * @return the Single signalling the rows, fewer than {@code count} at the end of the data set
+         */
+        @NonNull
+        Single<List<T>> fetch(int offset, int count);
+    }
+
+    final PageSource<T> source;
+
+    final int pageSize;
+
+    final int prefetch;
+
+    final LinkedHashMap<Integer, List<T>> cache;
+
+    final HashMap<Integer, Disposable> loading;
+
+    final PublishSubject<IndexRange> loaded;
+
+    /** The last range received via {@link #bind(Observable)}. */
+    IndexRange visible;
+
+    /**
+     * Constructs a PagingLoader.
+     * @param source the source of the pages
+     * @param pageSize the number of rows per page, positive
+     * @param maxPages the maximum number of pages kept in the cache, positive
+     * @param prefetch the number of pages to load ahead of the scroll direction, non-negative
+     */
+    public PagingLoader(@NonNull PageSource<T> source, int pageSize, final int maxPages, int prefetch) {
+        this.source = Objects.requireNonNull(source, "source is null");
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize > 0 required but it was " + pageSize);
+        }
+        if (maxPages < 1) {
+            throw new IllegalArgumentException("maxPages > 0 required but it was " + maxPages);
+        }
+        if (prefetch < 0) {
+            throw new IllegalArgumentException("prefetch >= 0 required but it was " + prefetch);
+        }
+        this.pageSize = pageSize;
+        this.prefetch = prefetch;
+        this.cache = new LinkedHashMap<Integer, List<T>>(16, 0.75f, true) {
+            private static final long serialVersionUID = -4327563526946138455L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > maxPages;
+            }
+        };
+        this.loading = new HashMap<>();
+        this.loaded = PublishSubject.create();
+        this.visible = IndexRange.EMPTY;
+    }
+
+    /**
+     * Loads the pages of the visible ranges signalled by the source.
+     * @param visibleRanges the visible ranges, signalled on the EDT
+     * @return the Disposable to stop following the visible ranges
+     */
+    @NonNull
+    public final Disposable bind(@NonNull Observable<IndexRange> visibleRanges) {
+        Objects.requireNonNull(visibleRanges, "visibleRanges is null");
+        return visibleRanges.subscribe(new Consumer<IndexRange>() {
+            @Override
+            public void accept(IndexRange r) {
+                setVisible(r);
+            }
+        }, new Consumer<Throwable>() {
+            @Override
+            public void accept(Throwable e) {
+                RxJavaPlugins.onError(e);
+            }
+        });
+    }
+
+    /**
+     * Returns an Observable signalling the range of rows of each page after
+     * it has been loaded, on the EDT.
+     * @return the Observable of loaded row ranges
+     */
+    @NonNull
+    public final Observable<IndexRange> pagesLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Returns the row at the given index if its page is cached, otherwise
+     * starts loading its page and returns null.
+     * @param index the row index
+     * @return the row or null if not loaded yet
+     */
+    public final T get(int index) {
+        int page = index / pageSize;
+        List<T> list = cache.get(page);
+        if (list == null) {
+            load(page);
+            return null;
+        }
+        int offset = index - page * pageSize;
+        return offset < list.size() ? list.get(offset) : null;
+    }
+
+    /**
+     * Returns true if the page of the given row is cached.
+     * @param index the row index
+     * @return true if the row is loaded
+     */
+    public final boolean isLoaded(int index) {
+        return cache.containsKey(index / pageSize);
+    }
+
+    /**
+     * Returns the number of pages being loaded.
+     * @return the number of pages being loaded
+     */
+    public final int loadingCount() {
+        return loading.size();
+    }
+
+    /**
+     * Returns the number of cached pages.
+     * @return the number of cached pages
+     */
+    public final int cachedCount() {
+        return cache.size();
+    }
+
+    /**
+     * Drops all cached pages and cancels the running loads, for example after the
+     * underlying data set changed; the visible pages are loaded again.
+     */
+    public final void invalidate() {
+        for (Disposable d : loading.values()) {
+            d.dispose();
+        }
+        loading.clear();
+        cache.clear();
+        IndexRange r = visible;
+        visible = IndexRange.EMPTY;
+        setVisible(r);
+    }
+
+    /**
+     * Updates the visible range: loads its pages and the prefetched pages in the
+     * direction of the move and cancels the loads of the pages outside of them.
+     * @param range the new visible range
+     */
+    public final void setVisible(@NonNull IndexRange range) {
+        Objects.requireNonNull(range, "range is null");
+        IndexRange previous = visible;
+        visible = range;
+        if (range.isEmpty()) {
+            return;
+        }
+
+        int firstPage = range.getFirst() / pageSize;
+        int lastPage = range.getLast() / pageSize;
+
+        int wantFirst = firstPage;
+        int wantLast = lastPage;
+        if (previous.isEmpty() || range.getFirst() >= previous.getFirst()) {
+            wantLast += prefetch;
+        } else {
+            wantFirst = Math.max(0, wantFirst - prefetch);
+        }
+
+        Iterator<Map.Entry<Integer, Disposable>> it = loading.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, Disposable> e = it.next();
+            int p = e.getKey();
+            if (p < wantFirst || p > wantLast) {
+                e.getValue().dispose();
+                it.remove();
+            }
+        }
+
+        for (int p = firstPage; p <= lastPage; p++) {
+            if (cache.get(p) == null) {
+                load(p);
+            }
+        }
+        if (wantFirst < firstPage) {
+            for (int p = firstPage - 1; p >= wantFirst; p--) {
+                if (!cache.containsKey(p)) {
+                    load(p);
+                }
+            }
+        } else {
+            for (int p = lastPage + 1; p <= wantLast; p++) {
+                if (!cache.containsKey(p)) {
+                    load(p);
+                }
+            }
+        }
+    }
+
+    void load(final int page) {
+        if (loading.containsKey(page)) {
+            return;
+        }
+        PageObserver observer = new PageObserver(page);
+        loading.put(page, observer);
+        source.fetch(page * pageSize, pageSize)
+                .compose(SwingObservable.<List<T>>observeOnEdtSingle())
+                .subscribe(observer);
+    }
+
+    void onPage(int page, List<T> rows, PageObserver observer) {
+        if (loading.get(page) != observer) {
+            return;
+        }
+        loading.remove(page);
+        cache.put(page, rows);
+        if (!rows.isEmpty()) {
+            int first = page * pageSize;
+            loaded.onNext(IndexRange.of(first, first + rows.size() - 1));
+        }
+    }
+
+    void onPageError(int page, Throwable error, PageObserver observer) {
+        if (loading.get(page) == observer) {
+            loading.remove(page);
+        }
+        RxJavaPlugins.onError(error);
+    }
+
+    final class PageObserver extends DisposableSingleObserver<List<T>> {
+
+        final int page;
+
+        PageObserver(int page) {
+            this.page = page;
+        }
+
+        @Override
+        public void onSuccess(List<T> rows) {
+            onPage(page, rows, this);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            onPageError(page, e, this);
+        }
+    }
+}
@@ -27,9 +27,17 @@ final class PropertyChangeEventObservable extends Observable<PropertyChangeEvent
 
     final String propertyName;
 
+    /** The names of the properties to observe via a single listener, null if not filtered. */
+    final PropertyNameSet propertyNames;
+
     PropertyChangeEventObservable(Component widget, String propertyName) {
+        this(widget, propertyName, null);
+    }
+
+    PropertyChangeEventObservable(Component widget, String propertyName, PropertyNameSet propertyNames) {
         this.widget = widget;
         this.propertyName = propertyName;
+        this.propertyNames = propertyNames;
     }
 
     @Override
@@ -37,7 +45,7 @@ final class PropertyChangeEventObservable extends Observable<PropertyChangeEvent
         Component w = widget;
         String pn = propertyName;
 
-        PropertyChangeEventConsumer aec = new PropertyChangeEventConsumer(observer, w, pn);
+        PropertyChangeEventConsumer aec = new PropertyChangeEventConsumer(observer, w, pn, propertyNames);
         observer.onSubscribe(aec);
 
         if (pn == null) {
@@ -57,9 +65,13 @@ final class PropertyChangeEventObservable extends Observable<PropertyChangeEvent
 
         final String propertyName;
 
-        PropertyChangeEventConsumer(Observer<? super PropertyChangeEvent> actual, Component widget, String propertyName) {
+        final PropertyNameSet propertyNames;
+
+        PropertyChangeEventConsumer(Observer<? super PropertyChangeEvent> actual, Component widget,
+                String propertyName, PropertyNameSet propertyNames) {
             super(actual, widget);
             this.propertyName = propertyName;
+            this.propertyNames = propertyNames;
         }
 
         @Override
@@ -75,6 +87,14 @@ final class PropertyChangeEventObservable extends Observable<PropertyChangeEvent
 
         @Override
         public void propertyChange(PropertyChangeEvent evt) {
+            PropertyNameSet names = propertyNames;
+            if (names != null) {
+                String pn = evt.getPropertyName();
+                // a null name indicates that any of the properties may have changed
+                if (pn != null && !names.contains(pn)) {
+                    return;
+                }
+            }
             actual.onNext(evt);
         }
 
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.*;
+
+/**
+ * An immutable set of property names with a lookup table whose multiplicative
+ * hash is chosen at construction to place every name into its own slot, so a
+ * lookup usually costs a single identity or equals check; the table falls back
+ * to linear probing if no collision-free multiplier is found.
+ */
+final class PropertyNameSet {
+
+    /** The number of multipliers tried per table size before doubling the size. */
+    static final int ATTEMPTS = 64;
+
+    /** The maximum table size relative to the next power of two of the name count. */
+    static final int MAX_SPREAD = 8;
+
+    final String[] table;
+
+    final int multiplier;
+
+    final int shift;
+
+    PropertyNameSet(String[] table, int multiplier, int shift) {
+        this.table = table;
+        this.multiplier = multiplier;
+        this.shift = shift;
+    }
+
+    static PropertyNameSet of(String... names) {
+        LinkedHashSet<String> set = new LinkedHashSet<>();
+        for (String name : names) {
+            set.add(Objects.requireNonNull(name, "names contains a null"));
+        }
+        String[] distinct = set.toArray(new String[0]);
+
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(1, distinct.length * 2 - 1));
+        int maxBits = bits + Integer.numberOfTrailingZeros(MAX_SPREAD);
+        int seed = 0x9E3779B9;
+        for (;;) {
+            for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+                int m = seed | 1;
+                String[] table = build(distinct, m, bits, bits == maxBits && attempt == ATTEMPTS - 1);
+                if (table != null) {
+                    return new PropertyNameSet(table, m, 32 - bits);
+                }
+                seed = seed * 0x5DEECE6D + 0xB;
+            }
+            bits++;
+        }
+    }
+
+    /**
+     * Places the names into a table of 2^bits slots, returning null on a
+     * collision unless probing is allowed.
+     */
+    static String[] build(String[] names, int multiplier, int bits, boolean probe) {
+        String[] table = new String[1 << bits];
+        int mask = table.length - 1;
+        for (String name : names) {
+            int i = (name.hashCode() * multiplier) >>> (32 - bits);
+            while (table[i] != null) {
+                if (!probe) {
+                    return null;
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = name;
+        }
+        return table;
+    }
+
+    boolean contains(String name) {
+        if (name == null) {
+            return false;
+        }
+        String[] t = table;
+        int mask = t.length - 1;
+        int i = (name.hashCode() * multiplier) >>> shift;
+        for (;;) {
+            String s = t[i];
+            if (s == null) {
+                return false;
+            }
+            if (s == name || s.equals(name)) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+}
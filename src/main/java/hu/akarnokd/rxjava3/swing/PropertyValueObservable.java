@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.Component;
+import java.beans.*;
+
+import io.reactivex.rxjava3.core.*;
+
+/**
+ * Emits the new values of a property, cast to the given type, skipping a value
+ * if it is the same or equal to the previously emitted one.
+ * A primitive type stands for its wrapper class, so {@code boolean.class}
+ * matches the {@link Boolean} values of the property.
+ * @param <T> the value type
+ */
+final class PropertyValueObservable<T> extends Observable<T> {
+
+    final Component widget;
+
+    final String propertyName;
+
+    final Class<T> type;
+
+    PropertyValueObservable(Component widget, String propertyName, Class<T> type) {
+        this.widget = widget;
+        this.propertyName = propertyName;
+        this.type = wrap(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Class<T> wrap(Class<T> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        Class<?> c;
+        if (type == Boolean.TYPE) {
+            c = Boolean.class;
+        } else if (type == Integer.TYPE) {
+            c = Integer.class;
+        } else if (type == Long.TYPE) {
+            c = Long.class;
+        } else if (type == Double.TYPE) {
+            c = Double.class;
+        } else if (type == Float.TYPE) {
+            c = Float.class;
+        } else if (type == Character.TYPE) {
+            c = Character.class;
+        } else if (type == Short.TYPE) {
+            c = Short.class;
+        } else if (type == Byte.TYPE) {
+            c = Byte.class;
+        } else {
+            c = Void.class;
+        }
+        return (Class<T>)c;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super T> observer) {
+        Component w = widget;
+        String pn = propertyName;
+
+        PropertyValueConsumer<T> aec = new PropertyValueConsumer<>(observer, w, pn, type);
+        observer.onSubscribe(aec);
+
+        w.addPropertyChangeListener(pn, aec);
+        if (aec.get() == null) {
+            aec.onDispose(w);
+        }
+    }
+
+    static final class PropertyValueConsumer<T> extends AbstractEventConsumer<T, Component>
+    implements PropertyChangeListener {
+
+        private static final long serialVersionUID = -3605206827474016488L;
+
+        final String propertyName;
+
+        final Class<T> type;
+
+        /** The last emitted value, null if none or if the property became null since. */
+        Object last;
+
+        PropertyValueConsumer(Observer<? super T> actual, Component widget, String propertyName, Class<T> type) {
+            super(actual, widget);
+            this.propertyName = propertyName;
+            this.type = type;
+        }
+
+        @Override
+        protected void onDispose(Component w) {
+            w.removePropertyChangeListener(propertyName, this);
+        }
+
+        @Override
+        public void propertyChange(PropertyChangeEvent evt) {
+            Object v = evt.getNewValue();
+            if (v == null) {
+                last = null;
+                return;
+            }
+            Object prev = last;
+            if (v == prev || v.equals(prev)) {
+                return;
+            }
+            if (!type.isInstance(v)) {
+                dispose();
+                actual.onError(new ClassCastException("The value of property " + propertyName + " is a "
+                        + v.getClass().getName() + " and not a " + type.getName()));
+                return;
+            }
+            last = v;
+            actual.onNext(type.cast(v));
+        }
+    }
+}
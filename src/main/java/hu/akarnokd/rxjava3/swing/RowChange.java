@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.Objects;
+
+/**
+ * An immutable change of a row of an {@link RxTableModel}, addressing the row
+ * either by its index or by its primitive {@code int} key.
+ * @param <T> the row type
+ * @since 3.2.0
+ */
+public final class RowChange<T> {
+
+    static final int INSERT = 0;
+    static final int UPDATE = 1;
+    static final int DELETE = 2;
+    static final int UPSERT = 3;
+    static final int DELETE_KEY = 4;
+    static final int CLEAR = 5;
+
+    final int kind;
+
+    /** The row index or the key, depending on the kind. */
+    final int index;
+
+    final T row;
+
+    RowChange(int kind, int index, T row) {
+        this.kind = kind;
+        this.index = index;
+        this.row = row;
+    }
+
+    /**
+     * Inserts the row at the given index.
+     * @param <T> the row type
+     * @param index the index, 0 to the current number of rows
+     * @param row the row to insert
+     * @return the new RowChange instance
+     */
+    public static <T> RowChange<T> insert(int index, T row) {
+        return new RowChange<>(INSERT, index, Objects.requireNonNull(row, "row is null"));
+    }
+
+    /**
+     * Replaces the row at the given index.
+     * @param <T> the row type
+     * @param index the index of the row to replace
+     * @param row the new row
+     * @return the new RowChange instance
+     */
+    public static <T> RowChange<T> update(int index, T row) {
+        return new RowChange<>(UPDATE, index, Objects.requireNonNull(row, "row is null"));
+    }
+
+    /**
+     * Deletes the row at the given index.
+     * @param <T> the row type
+     * @param index the index of the row to delete
+     * @return the new RowChange instance
+     */
+    public static <T> RowChange<T> delete(int index) {
+        return new RowChange<>(DELETE, index, null);
+    }
+
+    /**
+     * Replaces the row with the same key or appends it if there is no such row.
+     * @param <T> the row type
+     * @param row the new row
+     * @return the new RowChange instance
+     */
+    public static <T> RowChange<T> upsert(T row) {
+        return new RowChange<>(UPSERT, 0, Objects.requireNonNull(row, "row is null"));
+    }
+
+    /**
+     * Deletes the row with the given key, if present.
+     * @param <T> the row type
+     * @param key the key of the row to delete
+     * @return the new RowChange instance
+     */
+    public static <T> RowChange<T> deleteKey(int key) {
+        return new RowChange<>(DELETE_KEY, key, null);
+    }
+
+    /**
+     * Deletes all rows.
+     * @param <T> the row type
+     * @return the new RowChange instance
+     */
+    public static <T> RowChange<T> clear() {
+        return new RowChange<>(CLEAR, 0, null);
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+        case INSERT:
+            return "RowChange.insert(" + index + ", " + row + ")";
+        case UPDATE:
+            return "RowChange.update(" + index + ", " + row + ")";
+        case DELETE:
+            return "RowChange.delete(" + index + ")";
+        case UPSERT:
+            return "RowChange.upsert(" + row + ")";
+        case DELETE_KEY:
+            return "RowChange.deleteKey(" + index + ")";
+        default:
+            return "RowChange.clear()";
+        }
+    }
+}
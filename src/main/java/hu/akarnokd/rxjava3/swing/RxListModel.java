@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.*;
+
+import javax.swing.AbstractListModel;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.*;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.*;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * A {@link javax.swing.ListModel} fed by a {@link Flowable} of list snapshots.
+ * <p>
+ * Each snapshot is compared with the previous one on a background {@link Scheduler}
+ * (the common prefix and suffix are trimmed and the rest is diffed with the
+ * Myers algorithm, so appends cost a single pass) and only the differing intervals
+ * are applied and fired on the EDT, as {@code contentsChanged} for replaced items
+ * and {@code intervalAdded}/{@code intervalRemoved} for the surplus, instead of one
+ * {@code contentsChanged} over the whole list. Items are compared via {@link Object#equals(Object)}.
+ * <p>
+ * Snapshots arriving faster than they can be diffed and applied are skipped in
+ * favor of the latest one. The model has to be accessed from the EDT only and
+ * should be fed by a single binding at a time.
+ * @param <T> the item type
+ * @since 3.2.0
+ */
+public class RxListModel<T> extends AbstractListModel<T> {
+
+    private static final long serialVersionUID = 2381496235425633218L;
+
+    final ArrayList<T> items;
+
+    /**
+     * Constructs an empty RxListModel.
+     */
+    public RxListModel() {
+        this.items = new ArrayList<>();
+    }
+
+    /**
+     * Diffs the snapshots on the {@link Schedulers#computation()} scheduler
+     * and applies them on the EDT; has to be called on the EDT.
+     * @param snapshots the flow of list snapshots, not modified after being signalled
+     * @return the Disposable to stop receiving the snapshots
+     */
+    @NonNull
+    public final Disposable bind(@NonNull Flowable<? extends List<? extends T>> snapshots) {
+        return bind(snapshots, Schedulers.computation());
+    }
+
+    /**
+     * Diffs the snapshots on the given scheduler and applies them on the EDT;
+     * has to be called on the EDT.
+     * <p>
+     * Errors of the source are routed to {@link RxJavaPlugins#onError(Throwable)}.
+     * @param snapshots the flow of list snapshots, not modified after being signalled
+     * @param scheduler the scheduler to diff on
+     * @return the Disposable to stop receiving the snapshots
+     */
+    @NonNull
+    public final Disposable bind(@NonNull Flowable<? extends List<? extends T>> snapshots, @NonNull Scheduler scheduler) {
+        Objects.requireNonNull(snapshots, "snapshots is null");
+        Objects.requireNonNull(scheduler, "scheduler is null");
+        final List<T> base = new ArrayList<>(items);
+        return snapshots
+                .onBackpressureLatest()
+                .observeOn(scheduler, false, 1)
+                .map(new Function<List<? extends T>, ListPatch<T>>() {
+                    List<T> previous = base;
+
+                    @Override
+                    public ListPatch<T> apply(List<? extends T> list) {
+                        List<T> next = new ArrayList<>(list);
+                        int[] hunks = ListDiff.diff(previous, next);
+                        previous = next;
+                        return new ListPatch<>(next, hunks);
+                    }
+                })
+                .observeOn(SwingSchedulers.edt(), false, 1)
+                .subscribe(new Consumer<ListPatch<T>>() {
+                    @Override
+                    public void accept(ListPatch<T> patch) {
+                        apply(patch);
+                    }
+                }, new Consumer<Throwable>() {
+                    @Override
+                    public void accept(Throwable e) {
+                        RxJavaPlugins.onError(e);
+                    }
+                });
+    }
+
+    @Override
+    public int getSize() {
+        return items.size();
+    }
+
+    @Override
+    public T getElementAt(int index) {
+        return items.get(index);
+    }
+
+    /**
+     * Applies the hunks of the patch in ascending order; as the preceding hunks
+     * are already applied, the new list's indexes address the model.
+     * @param patch the patch to apply
+     */
+    final void apply(ListPatch<T> patch) {
+        List<T> next = patch.list;
+        int[] hunks = patch.hunks;
+        ArrayList<T> list = items;
+        for (int i = 0; i < hunks.length; i += 4) {
+            int oldCount = hunks[i + 1];
+            int newStart = hunks[i + 2];
+            int newCount = hunks[i + 3];
+
+            int common = Math.min(oldCount, newCount);
+            if (common != 0) {
+                for (int j = 0; j < common; j++) {
+                    list.set(newStart + j, next.get(newStart + j));
+                }
+                fireContentsChanged(this, newStart, newStart + common - 1);
+            }
+            int at = newStart + common;
+            if (oldCount > common) {
+                list.subList(at, at + oldCount - common).clear();
+                fireIntervalRemoved(this, at, at + oldCount - common - 1);
+            } else if (newCount > common) {
+                list.addAll(at, next.subList(at, at + newCount - common));
+                fireIntervalAdded(this, at, at + newCount - common - 1);
+            }
+        }
+    }
+
+    /**
+     * The snapshot and its hunks relative to the preceding snapshot.
+     * @param <T> the item type
+     */
+    static final class ListPatch<T> {
+        final List<T> list;
+
+        final int[] hunks;
+
+        ListPatch(List<T> list, int[] hunks) {
+            this.list = list;
+            this.hunks = hunks;
+        }
+    }
+}
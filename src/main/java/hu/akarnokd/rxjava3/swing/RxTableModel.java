@@ -0,0 +1,428 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.EventQueue;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.ToIntFunction;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.AbstractTableModel;
+
+import org.reactivestreams.Subscription;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.*;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.*;
+import io.reactivex.rxjava3.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.rxjava3.operators.SpscArrayQueue;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+/**
+ * A {@link javax.swing.table.TableModel} fed by {@link Flowable}s of {@link RowChange}s.
+ * <p>
+ * The changes can be produced on any thread; they are applied on the EDT in
+ * batches of up to {@link Flowable#bufferSize()} changes per EDT task, and each
+ * batch fires the minimum set of coalesced {@link TableModelEvent}s instead of
+ * one event per change, see {@link TableChangeSet}.
+ * <p>
+ * When a key selector is given, rows can be addressed by their primitive
+ * {@code int} key via {@link RowChange#upsert(Object)} and {@link RowChange#deleteKey(int)}.
+ * The keys are indexed in a primitive hash map, making lookups by key O(1). Appending
+ * or removing the last row and updating a row keep the index in O(1); inserting or
+ * deleting a row before the last one shifts the indexes of the rows after it, costing
+ * O(n) like the shift of the rows themselves. The keys have to be unique.
+ * <p>
+ * The model has to be accessed from the EDT only.
+ * @param <T> the row type
+ * @since 3.2.0
+ */
+public class RxTableModel<T> extends AbstractTableModel {
+
+    private static final long serialVersionUID = -3126539626542432236L;
+
+    /**
+     * Returns the value of a cell of a row.
+     * @param <T> the row type
+     */
+    @FunctionalInterface
+    public interface CellValueSelector<T> {
+        /**
+         * Returns the value of the cell in the given column.
+         * @param row the row
+         * @param column the column index
+         * @return the value of the cell
+         */
+        Object apply(T row, int column);
+    }
+
+    final String[] columnNames;
+
+    final CellValueSelector<? super T> cellValues;
+
+    final ToIntFunction<? super T> keySelector;
+
+    final ArrayList<T> rows;
+
+    final IntIndexMap keyIndex;
+
+    /**
+     * Constructs an RxTableModel whose rows are addressed only by their index.
+     * @param cellValues the function returning the cell values of a row
+     * @param columnNames the names of the columns
+     */
+    public RxTableModel(@NonNull CellValueSelector<? super T> cellValues, @NonNull String... columnNames) {
+        this(null, cellValues, columnNames);
+    }
+
+    /**
+     * Constructs an RxTableModel whose rows are also addressable by a unique int key.
+     * @param keySelector the function returning the key of a row, null if rows have no keys
+     * @param cellValues the function returning the cell values of a row
+     * @param columnNames the names of the columns
+     */
+    public RxTableModel(ToIntFunction<? super T> keySelector,
+            @NonNull CellValueSelector<? super T> cellValues, @NonNull String... columnNames) {
+        this.keySelector = keySelector;
+        this.cellValues = Objects.requireNonNull(cellValues, "cellValues is null");
+        this.columnNames = Objects.requireNonNull(columnNames, "columnNames is null").clone();
+        this.rows = new ArrayList<>();
+        this.keyIndex = new IntIndexMap();
+    }
+
+    /**
+     * Subscribes to the changes and applies them in batches on the EDT.
+     * <p>
+     * Errors of the source, or failures to apply a change, are routed to
+     * {@link RxJavaPlugins#onError(Throwable)} after the already applied changes are fired.
+     * @param changes the flow of changes, can be produced on any thread
+     * @return the Disposable to stop receiving the changes
+     */
+    @NonNull
+    public final Disposable bind(@NonNull Flowable<RowChange<T>> changes) {
+        Objects.requireNonNull(changes, "changes is null");
+        RowChangeSubscriber<T> parent = new RowChangeSubscriber<>(this, Flowable.bufferSize());
+        changes.subscribe(parent);
+        return parent;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return cellValues.apply(rows.get(rowIndex), columnIndex);
+    }
+
+    /**
+     * Returns the row at the given index.
+     * @param index the row index
+     * @return the row
+     */
+    public final T getRow(int index) {
+        return rows.get(index);
+    }
+
+    /**
+     * Returns the index of the row with the given key.
+     * @param key the key of the row
+     * @return the index of the row or -1 if there is no row with that key
+     * @throws IllegalStateException if the model has no key selector
+     */
+    public final int indexOfKey(int key) {
+        keySelector();
+        return keyIndex.get(key);
+    }
+
+    ToIntFunction<? super T> keySelector() {
+        ToIntFunction<? super T> ks = keySelector;
+        if (ks == null) {
+            throw new IllegalStateException("The model has no key selector");
+        }
+        return ks;
+    }
+
+    void apply(RowChange<T> change, TableChangeSet.Builder events) {
+        switch (change.kind) {
+        case RowChange.INSERT:
+            insertRow(change.index, change.row, events);
+            break;
+        case RowChange.UPDATE:
+            updateRow(change.index, change.row, events);
+            break;
+        case RowChange.DELETE:
+            deleteRow(change.index, events);
+            break;
+        case RowChange.UPSERT: {
+            int index = indexOfKey(keySelector().applyAsInt(change.row));
+            if (index >= 0) {
+                updateRow(index, change.row, events);
+            } else {
+                insertRow(rows.size(), change.row, events);
+            }
+            break;
+        }
+        case RowChange.DELETE_KEY: {
+            int index = indexOfKey(change.index);
+            if (index >= 0) {
+                deleteRow(index, events);
+            }
+            break;
+        }
+        default:
+            rows.clear();
+            keyIndex.clear();
+            events.add(TableModelEvent.UPDATE, TableModelEvent.ALL_COLUMNS, 0, Integer.MAX_VALUE);
+        }
+    }
+
+    void insertRow(int index, T row, TableChangeSet.Builder events) {
+        if (index < 0 || index > rows.size()) {
+            throw new IndexOutOfBoundsException("index: " + index + ", rows: " + rows.size());
+        }
+        beforeStructuralChange(TableModelEvent.INSERT, index, events);
+        rows.add(index, row);
+        ToIntFunction<? super T> ks = keySelector;
+        if (ks != null) {
+            if (index != rows.size() - 1) {
+                keyIndex.shift(index, 1);
+            }
+            keyIndex.put(ks.applyAsInt(row), index);
+        }
+        events.add(TableModelEvent.INSERT, TableModelEvent.ALL_COLUMNS, index, index);
+    }
+
+    void updateRow(int index, T row, TableChangeSet.Builder events) {
+        T old = rows.set(index, row);
+        ToIntFunction<? super T> ks = keySelector;
+        if (ks != null) {
+            int oldKey = ks.applyAsInt(old);
+            int newKey = ks.applyAsInt(row);
+            if (oldKey != newKey) {
+                keyIndex.remove(oldKey);
+                keyIndex.put(newKey, index);
+            }
+        }
+        events.add(TableModelEvent.UPDATE, TableModelEvent.ALL_COLUMNS, index, index);
+    }
+
+    void deleteRow(int index, TableChangeSet.Builder events) {
+        if (index < 0 || index >= rows.size()) {
+            throw new IndexOutOfBoundsException("index: " + index + ", rows: " + rows.size());
+        }
+        beforeStructuralChange(TableModelEvent.DELETE, index, events);
+        T old = rows.remove(index);
+        ToIntFunction<? super T> ks = keySelector;
+        if (ks != null) {
+            keyIndex.remove(ks.applyAsInt(old));
+            if (index != rows.size()) {
+                keyIndex.shift(index + 1, -1);
+            }
+        }
+        events.add(TableModelEvent.DELETE, TableModelEvent.ALL_COLUMNS, index, index);
+    }
+
+    /**
+     * Fires the pending events unless the insertion or deletion merges into the last one,
+     * so that the listeners always see row indexes consistent with the model.
+     */
+    void beforeStructuralChange(int type, int index, TableChangeSet.Builder events) {
+        if (!events.isEmpty() && !events.mergesWithLast(type, TableModelEvent.ALL_COLUMNS, index, index)) {
+            fire(events);
+        }
+    }
+
+    void fire(TableChangeSet.Builder events) {
+        if (!events.isEmpty()) {
+            TableChangeSet set = events.build();
+            for (int i = 0; i < set.size(); i++) {
+                fireTableChanged(new TableModelEvent(this, set.firstRow(i), set.lastRow(i), set.column(i), set.type(i)));
+            }
+        }
+    }
+
+    static final class RowChangeSubscriber<T> extends AtomicInteger
+    implements FlowableSubscriber<RowChange<T>>, Disposable, Runnable {
+
+        private static final long serialVersionUID = -4473427425066604423L;
+
+        final RxTableModel<T> parent;
+
+        final AtomicReference<Subscription> upstream;
+
+        final SpscArrayQueue<RowChange<T>> queue;
+
+        final int prefetch;
+
+        final int limit;
+
+        /** The coalesced events of the current batch; accessed only from the EDT. */
+        final TableChangeSet.Builder events;
+
+        /** The number of changes consumed since the last replenishment; accessed only from the EDT. */
+        int consumed;
+
+        Throwable error;
+        volatile boolean done;
+
+        volatile boolean disposed;
+
+        RowChangeSubscriber(RxTableModel<T> parent, int prefetch) {
+            this.parent = parent;
+            this.upstream = new AtomicReference<>();
+            this.queue = new SpscArrayQueue<>(prefetch);
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.events = new TableChangeSet.Builder();
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            SubscriptionHelper.setOnce(upstream, s, prefetch);
+        }
+
+        @Override
+        public void onNext(RowChange<T> t) {
+            if (!queue.offer(t)) {
+                SubscriptionHelper.cancel(upstream);
+                onError(new MissingBackpressureException("Queue is full?!"));
+                return;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            schedule();
+        }
+
+        void schedule() {
+            if (getAndIncrement() == 0) {
+                EventQueue.invokeLater(this);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                SubscriptionHelper.cancel(upstream);
+                if (getAndIncrement() == 0) {
+                    queue.clear();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            int emitted = 0;
+            SpscArrayQueue<RowChange<T>> q = queue;
+            RxTableModel<T> model = parent;
+            TableChangeSet.Builder b = events;
+
+            for (;;) {
+                for (;;) {
+                    if (disposed) {
+                        q.clear();
+                        model.fire(b);
+                        return;
+                    }
+
+                    boolean d = done;
+                    RowChange<T> c = q.poll();
+                    boolean empty = c == null;
+
+                    if (d && empty) {
+                        disposed = true;
+                        model.fire(b);
+                        Throwable ex = error;
+                        if (ex != null) {
+                            RxJavaPlugins.onError(ex);
+                        }
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    try {
+                        model.apply(c, b);
+                    } catch (Throwable ex) {
+                        Exceptions.throwIfFatal(ex);
+                        disposed = true;
+                        SubscriptionHelper.cancel(upstream);
+                        q.clear();
+                        model.fire(b);
+                        RxJavaPlugins.onError(ex);
+                        return;
+                    }
+
+                    int r = consumed + 1;
+                    if (r == limit) {
+                        consumed = 0;
+                        upstream.get().request(r);
+                    } else {
+                        consumed = r;
+                    }
+
+                    if (++emitted == SwingObserveOn.DRAIN_LIMIT) {
+                        // let other EDT tasks, such as painting, run between the batches
+                        model.fire(b);
+                        EventQueue.invokeLater(this);
+                        return;
+                    }
+                }
+
+                model.fire(b);
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
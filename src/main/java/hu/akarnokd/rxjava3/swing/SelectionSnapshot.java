@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.BitSet;
+
+/**
+ * An immutable snapshot of the selected indexes of a {@link javax.swing.ListSelectionModel},
+ * stored as a bit set, one bit per index up to the maximum selected index.
+ *
+ * @see SwingObservable#selectionSnapshots(javax.swing.ListSelectionModel)
+ * @since 3.2.0
+ */
+public final class SelectionSnapshot {
+
+    /** The empty selection. */
+    public static final SelectionSnapshot EMPTY = new SelectionSnapshot(new BitSet(), 0);
+
+    /** The selected indexes, never modified after the construction. */
+    final BitSet bits;
+
+    final int count;
+
+    SelectionSnapshot(BitSet bits, int count) {
+        this.bits = bits;
+        this.count = count;
+    }
+
+    /**
+     * Returns true if the index is selected.
+     * @param index the index to check
+     * @return true if the index is selected
+     */
+    public boolean isSelected(int index) {
+        return index >= 0 && bits.get(index);
+    }
+
+    /**
+     * Returns true if no index is selected.
+     * @return true if no index is selected
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the number of selected indexes.
+     * @return the number of selected indexes
+     */
+    public int getSelectedCount() {
+        return count;
+    }
+
+    /**
+     * Returns the smallest selected index.
+     * @return the smallest selected index, -1 if the selection is empty
+     */
+    public int getMinSelectionIndex() {
+        return bits.nextSetBit(0);
+    }
+
+    /**
+     * Returns the largest selected index.
+     * @return the largest selected index, -1 if the selection is empty
+     */
+    public int getMaxSelectionIndex() {
+        return bits.length() - 1;
+    }
+
+    /**
+     * Returns the first selected index at or after the given index, to iterate
+     * over the selection without allocating an array of all selected indexes.
+     * @param fromIndex the index to start from, non-negative
+     * @return the next selected index or -1 if there is none
+     */
+    public int nextSelectedIndex(int fromIndex) {
+        return bits.nextSetBit(fromIndex);
+    }
+
+    /**
+     * Returns the selected indexes in ascending order, as with
+     * {@code ListSelectionModel.getSelectedIndices()}.
+     * @return the new array of the selected indexes
+     */
+    public int[] toArray() {
+        return bits.stream().toArray();
+    }
+
+    /**
+     * Returns a mutable copy of the selection.
+     * @return the new BitSet with the selected indexes set
+     */
+    public BitSet toBitSet() {
+        return (BitSet) bits.clone();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof SelectionSnapshot) {
+            return bits.equals(((SelectionSnapshot) obj).bits);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return bits.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "SelectionSnapshot" + bits;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.BitSet;
+
+import javax.swing.ListSelectionModel;
+import javax.swing.event.*;
+
+import io.reactivex.rxjava3.core.*;
+
+/**
+ * Emits a {@link SelectionSnapshot} of the model upon subscription and whenever
+ * the selection changes, maintaining the selected bits incrementally: only the
+ * index ranges reported by the events are re-read from the model, and the bits
+ * are copied only when modified after a snapshot has been emitted.
+ */
+final class SelectionSnapshotObservable extends Observable<SelectionSnapshot> {
+
+    final ListSelectionModel widget;
+
+    final boolean includeAdjusting;
+
+    SelectionSnapshotObservable(ListSelectionModel widget, boolean includeAdjusting) {
+        this.widget = widget;
+        this.includeAdjusting = includeAdjusting;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super SelectionSnapshot> observer) {
+        ListSelectionModel w = widget;
+
+        SelectionSnapshotConsumer aec = new SelectionSnapshotConsumer(observer, w, includeAdjusting);
+        observer.onSubscribe(aec);
+
+        w.addListSelectionListener(aec);
+        if (aec.get() == null) {
+            aec.onDispose(w);
+        } else {
+            aec.dirty(w.getMinSelectionIndex(), w.getMaxSelectionIndex());
+            aec.emit(w, true);
+        }
+    }
+
+    static final class SelectionSnapshotConsumer extends AbstractEventConsumer<SelectionSnapshot, ListSelectionModel>
+    implements ListSelectionListener {
+
+        private static final long serialVersionUID = -3605206827474016488L;
+
+        final boolean includeAdjusting;
+
+        /** The selected bits, shared with the last emitted snapshot if {@link #shared} is set. */
+        BitSet bits;
+
+        boolean shared;
+
+        int count;
+
+        /** The inclusive range of indexes not yet re-read from the model, -1 if none. */
+        int dirtyFirst;
+
+        int dirtyLast;
+
+        SelectionSnapshotConsumer(Observer<? super SelectionSnapshot> actual, ListSelectionModel widget,
+                boolean includeAdjusting) {
+            super(actual, widget);
+            this.includeAdjusting = includeAdjusting;
+            this.bits = new BitSet();
+            this.dirtyFirst = -1;
+            this.dirtyLast = -1;
+        }
+
+        @Override
+        protected void onDispose(ListSelectionModel w) {
+            w.removeListSelectionListener(this);
+        }
+
+        @Override
+        public void valueChanged(ListSelectionEvent e) {
+            dirty(e.getFirstIndex(), e.getLastIndex());
+            if (includeAdjusting || !e.getValueIsAdjusting()) {
+                ListSelectionModel w = get();
+                if (w != null) {
+                    emit(w, false);
+                }
+            }
+        }
+
+        void dirty(int first, int last) {
+            if (first < 0 || last < first) {
+                return;
+            }
+            if (dirtyFirst < 0) {
+                dirtyFirst = first;
+                dirtyLast = last;
+            } else {
+                dirtyFirst = Math.min(dirtyFirst, first);
+                dirtyLast = Math.max(dirtyLast, last);
+            }
+        }
+
+        void emit(ListSelectionModel w, boolean always) {
+            boolean changed = false;
+            int first = dirtyFirst;
+            if (first >= 0) {
+                dirtyFirst = -1;
+                // no index beyond the largest of the old and new selection can change
+                int last = Math.min(dirtyLast, Math.max(bits.length() - 1, w.getMaxSelectionIndex()));
+                BitSet b = bits;
+                int c = count;
+                for (int i = first; i <= last; i++) {
+                    boolean s = w.isSelectedIndex(i);
+                    if (s != b.get(i)) {
+                        if (shared) {
+                            b = (BitSet) b.clone();
+                            bits = b;
+                            shared = false;
+                        }
+                        b.set(i, s);
+                        c += s ? 1 : -1;
+                        changed = true;
+                    }
+                }
+                count = c;
+            }
+            if (changed || always) {
+                shared = true;
+                actual.onNext(count == 0 ? SelectionSnapshot.EMPTY : new SelectionSnapshot(bits, count));
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.Component;
+import java.awt.event.*;
+
+/**
+ * Registers at most one listener per {@link Component} and listener type and
+ * fans out the events to all subscribers of that component and type.
+ * <p>
+ * The shared listener is looked up among the listeners of the component
+ * itself, thus no global map holds onto the components. The shared
+ * listener is registered with the first subscriber and removed with
+ * the last one.
+ */
+final class SharedComponentListeners {
+
+    /** Guards the registration of the shared listeners. */
+    static final Object LOCK = new Object();
+
+    /** Utility class. */
+    private SharedComponentListeners() {
+        throw new IllegalStateException("No instances!");
+    }
+
+    static void addMouseListener(Component w, MouseListener l) {
+        synchronized (LOCK) {
+            SharedMouseListener h = find(w.getMouseListeners(), SharedMouseListener.class);
+            if (h == null) {
+                h = new SharedMouseListener();
+                h.add(l);
+                w.addMouseListener(h);
+            } else {
+                h.add(l);
+            }
+        }
+    }
+
+    static void removeMouseListener(Component w, MouseListener l) {
+        synchronized (LOCK) {
+            SharedMouseListener h = find(w.getMouseListeners(), SharedMouseListener.class);
+            if (h != null && h.remove(l)) {
+                w.removeMouseListener(h);
+            }
+        }
+    }
+
+    static void addMouseMotionListener(Component w, MouseMotionListener l) {
+        synchronized (LOCK) {
+            SharedMouseMotionListener h = find(w.getMouseMotionListeners(), SharedMouseMotionListener.class);
+            if (h == null) {
+                h = new SharedMouseMotionListener();
+                h.add(l);
+                w.addMouseMotionListener(h);
+            } else {
+                h.add(l);
+            }
+        }
+    }
+
+    static void removeMouseMotionListener(Component w, MouseMotionListener l) {
+        synchronized (LOCK) {
+            SharedMouseMotionListener h = find(w.getMouseMotionListeners(), SharedMouseMotionListener.class);
+            if (h != null && h.remove(l)) {
+                w.removeMouseMotionListener(h);
+            }
+        }
+    }
+
+    static void addMouseWheelListener(Component w, MouseWheelListener l) {
+        synchronized (LOCK) {
+            SharedMouseWheelListener h = find(w.getMouseWheelListeners(), SharedMouseWheelListener.class);
+            if (h == null) {
+                h = new SharedMouseWheelListener();
+                h.add(l);
+                w.addMouseWheelListener(h);
+            } else {
+                h.add(l);
+            }
+        }
+    }
+
+    static void removeMouseWheelListener(Component w, MouseWheelListener l) {
+        synchronized (LOCK) {
+            SharedMouseWheelListener h = find(w.getMouseWheelListeners(), SharedMouseWheelListener.class);
+            if (h != null && h.remove(l)) {
+                w.removeMouseWheelListener(h);
+            }
+        }
+    }
+
+    static void addKeyListener(Component w, KeyListener l) {
+        synchronized (LOCK) {
+            SharedKeyListener h = find(w.getKeyListeners(), SharedKeyListener.class);
+            if (h == null) {
+                h = new SharedKeyListener();
+                h.add(l);
+                w.addKeyListener(h);
+            } else {
+                h.add(l);
+            }
+        }
+    }
+
+    static void removeKeyListener(Component w, KeyListener l) {
+        synchronized (LOCK) {
+            SharedKeyListener h = find(w.getKeyListeners(), SharedKeyListener.class);
+            if (h != null && h.remove(l)) {
+                w.removeKeyListener(h);
+            }
+        }
+    }
+
+    static void addFocusListener(Component w, FocusListener l) {
+        synchronized (LOCK) {
+            SharedFocusListener h = find(w.getFocusListeners(), SharedFocusListener.class);
+            if (h == null) {
+                h = new SharedFocusListener();
+                h.add(l);
+                w.addFocusListener(h);
+            } else {
+                h.add(l);
+            }
+        }
+    }
+
+    static void removeFocusListener(Component w, FocusListener l) {
+        synchronized (LOCK) {
+            SharedFocusListener h = find(w.getFocusListeners(), SharedFocusListener.class);
+            if (h != null && h.remove(l)) {
+                w.removeFocusListener(h);
+            }
+        }
+    }
+
+    static <H> H find(Object[] registered, Class<H> type) {
+        for (Object o : registered) {
+            if (type.isInstance(o)) {
+                return type.cast(o);
+            }
+        }
+        return null;
+    }
+
+    static final class SharedMouseListener extends SharedEventListener<MouseListener>
+    implements MouseListener {
+
+        @Override
+        public void mouseClicked(MouseEvent e) {
+            for (Object o : listeners) {
+                ((MouseListener)o).mouseClicked(e);
+            }
+        }
+
+        @Override
+        public void mousePressed(MouseEvent e) {
+            for (Object o : listeners) {
+                ((MouseListener)o).mousePressed(e);
+            }
+        }
+
+        @Override
+        public void mouseReleased(MouseEvent e) {
+            for (Object o : listeners) {
+                ((MouseListener)o).mouseReleased(e);
+            }
+        }
+
+        @Override
+        public void mouseEntered(MouseEvent e) {
+            for (Object o : listeners) {
+                ((MouseListener)o).mouseEntered(e);
+            }
+        }
+
+        @Override
+        public void mouseExited(MouseEvent e) {
+            for (Object o : listeners) {
+                ((MouseListener)o).mouseExited(e);
+            }
+        }
+    }
+
+    static final class SharedMouseMotionListener extends SharedEventListener<MouseMotionListener>
+    implements MouseMotionListener {
+
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            for (Object o : listeners) {
+                ((MouseMotionListener)o).mouseDragged(e);
+            }
+        }
+
+        @Override
+        public void mouseMoved(MouseEvent e) {
+            for (Object o : listeners) {
+                ((MouseMotionListener)o).mouseMoved(e);
+            }
+        }
+    }
+
+    static final class SharedMouseWheelListener extends SharedEventListener<MouseWheelListener>
+    implements MouseWheelListener {
+
+        @Override
+        public void mouseWheelMoved(MouseWheelEvent e) {
+            for (Object o : listeners) {
+                ((MouseWheelListener)o).mouseWheelMoved(e);
+            }
+        }
+    }
+
+    static final class SharedKeyListener extends SharedEventListener<KeyListener>
+    implements KeyListener {
+
+        @Override
+        public void keyTyped(KeyEvent e) {
+            for (Object o : listeners) {
+                ((KeyListener)o).keyTyped(e);
+            }
+        }
+
+        @Override
+        public void keyPressed(KeyEvent e) {
+            for (Object o : listeners) {
+                ((KeyListener)o).keyPressed(e);
+            }
+        }
+
+        @Override
+        public void keyReleased(KeyEvent e) {
+            for (Object o : listeners) {
+                ((KeyListener)o).keyReleased(e);
+            }
+        }
+    }
+
+    static final class SharedFocusListener extends SharedEventListener<FocusListener>
+    implements FocusListener {
+
+        @Override
+        public void focusGained(FocusEvent e) {
+            for (Object o : listeners) {
+                ((FocusListener)o).focusGained(e);
+            }
+        }
+
+        @Override
+        public void focusLost(FocusEvent e) {
+            for (Object o : listeners) {
+                ((FocusListener)o).focusLost(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+/**
+ * Base class for a listener registered only once on an event source that
+ * relays the events to a copy-on-write array of subscriber listeners.
+ * <p>
+ * The {@link #add(Object)} and {@link #remove(Object)} methods have to be called
+ * while holding the lock that guards the registration of the shared listener
+ * with the event source.
+ *
+ * @param <L> the listener type
+ */
+abstract class SharedEventListener<L> {
+
+    static final Object[] EMPTY = new Object[0];
+
+    /** The current subscriber listeners, read without locking when dispatching. */
+    volatile Object[] listeners = EMPTY;
+
+    /**
+     * Adds a subscriber listener.
+     * @param listener the listener to add
+     * @return true if this was the first listener
+     */
+    final boolean add(L listener) {
+        Object[] a = listeners;
+        int n = a.length;
+        Object[] b = new Object[n + 1];
+        System.arraycopy(a, 0, b, 0, n);
+        b[n] = listener;
+        listeners = b;
+        return n == 0;
+    }
+
+    /**
+     * Removes a subscriber listener.
+     * @param listener the listener to remove
+     * @return true if there are no listeners left
+     */
+    final boolean remove(L listener) {
+        Object[] a = listeners;
+        int n = a.length;
+        int j = -1;
+        for (int i = 0; i < n; i++) {
+            if (a[i] == listener) {
+                j = i;
+                break;
+            }
+        }
+        if (j < 0) {
+            return n == 0;
+        }
+        if (n == 1) {
+            listeners = EMPTY;
+            return true;
+        }
+        Object[] b = new Object[n - 1];
+        System.arraycopy(a, 0, b, 0, j);
+        System.arraycopy(a, j + 1, b, j, n - j - 1);
+        listeners = b;
+        return false;
+    }
+
+    /**
+     * Returns the number of subscriber listeners.
+     * @return the number of subscriber listeners
+     */
+    final int size() {
+        return listeners.length;
+    }
+}
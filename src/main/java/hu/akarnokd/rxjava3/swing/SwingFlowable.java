@@ -0,0 +1,727 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.beans.PropertyChangeEvent;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+import javax.swing.colorchooser.ColorSelectionModel;
+import javax.swing.event.*;
+import javax.swing.table.*;
+import javax.swing.text.*;
+import javax.swing.tree.*;
+
+import io.reactivex.rxjava3.annotations.*;
+import io.reactivex.rxjava3.core.*;
+
+/**
+ * Methods to wrap various Swing event sources as {@link Flowable}s.
+ * <p>
+ * Each method mirrors the same-named method of {@link SwingObservable} and applies
+ * the given {@link BackpressureStrategy} directly in the listener of the source:
+ * <ul>
+ * <li>{@link BackpressureStrategy#MISSING}: the events are emitted regardless of the requests,</li>
+ * <li>{@link BackpressureStrategy#ERROR}: signals a {@link io.reactivex.rxjava3.exceptions.MissingBackpressureException}
+ * when an event arrives without outstanding requests,</li>
+ * <li>{@link BackpressureStrategy#BUFFER}: buffers up to {@link Flowable#bufferSize()} events (128 unless
+ * the {@code rx3.buffer-size} system property says otherwise) and signals a
+ * {@link io.reactivex.rxjava3.exceptions.MissingBackpressureException} when the buffer is full; use
+ * {@link #buffer(Observable, int, BackpressureOverflowStrategy)} for a different capacity or overflow action,</li>
+ * <li>{@link BackpressureStrategy#DROP}: drops the events arriving without outstanding requests,</li>
+ * <li>{@link BackpressureStrategy#LATEST}: keeps only the latest event until the next request.</li>
+ * </ul>
+ * <p>
+ * The events are emitted on the EDT, except the buffered or latest events
+ * which may be emitted on the thread calling {@code request()}.
+ * @since 3.2.0
+ */
+public final class SwingFlowable {
+
+    private SwingFlowable() {
+        throw new IllegalStateException("No instances!");
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ActionEvent> actions(@NonNull AbstractButton button, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.actions(button), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ActionEvent> actions(@NonNull JComboBox<?> button, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.actions(button), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<MouseEvent> mouse(@NonNull Component component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.mouse(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<MouseEvent> mouse(@NonNull Component component, int flags, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.mouse(component, flags), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<AWTEvent> global(long eventMask, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.global(eventMask), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<AWTEvent> global(@NonNull Component component, long eventMask, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.global(component, eventMask), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<Long> mouseMovePacked(@NonNull Component component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.mouseMovePacked(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<MouseWheelEvent> mouseWheel(@NonNull Component component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.mouseWheel(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<KeyEvent> keyboard(@NonNull Component component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.keyboard(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ComponentEvent> component(@NonNull Component component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.component(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<FocusEvent> focus(@NonNull Component component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.focus(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<HierarchyEvent> hierarchyBounds(@NonNull Component component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.hierarchyBounds(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<HierarchyEvent> hierarchy(@NonNull Component component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.hierarchy(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<InputMethodEvent> inputMethod(@NonNull Component component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.inputMethod(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<PropertyChangeEvent> propertyChange(@NonNull Component component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.propertyChange(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<PropertyChangeEvent> propertyChange(@NonNull Component component, String propertyName, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.propertyChange(component, propertyName), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<PropertyChangeEvent> propertyChange(@NonNull Component component, @NonNull String[] propertyNames, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.propertyChange(component, propertyNames), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static <T> Flowable<T> propertyValues(@NonNull Component component, @NonNull String propertyName, @NonNull Class<T> type, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.propertyValues(component, propertyName, type), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<DocumentEvent> document(@NonNull Document component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.document(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<DocumentEvent> documentWeak(@NonNull Document component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.documentWeak(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<DocumentEvent> document(@NonNull JTextComponent component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.document(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TextChange> textChanges(@NonNull Document component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.textChanges(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TextRope> textSnapshots(@NonNull Document component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.textSnapshots(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TextRope> textSnapshots(@NonNull Document component, long delay, @NonNull TimeUnit unit, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.textSnapshots(component, delay, unit), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<UndoableEditEvent> undoableEdit(@NonNull Document component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.undoableEdit(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<UndoableEditEvent> undoableEdit(@NonNull JTextComponent component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.undoableEdit(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<CaretEvent> caret(@NonNull JTextComponent component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.caret(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<AncestorEvent> ancestor(@NonNull JComponent component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.ancestor(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<VetoablePropertyChangeEvent> vetoableChange(@NonNull JComponent component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.vetoableChange(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ContainerEvent> container(@NonNull Container component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.container(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ListSelectionEvent> listSelection(@NonNull JList<?> component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.listSelection(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ListSelectionEvent> listSelection(@NonNull ListSelectionModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.listSelection(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<SelectionSnapshot> selectionSnapshots(@NonNull ListSelectionModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.selectionSnapshots(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<SelectionSnapshot> selectionSnapshots(@NonNull ListSelectionModel component, boolean includeAdjusting, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.selectionSnapshots(component, includeAdjusting), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<HyperlinkEvent> hyperlink(@NonNull JEditorPane component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.hyperlink(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<InternalFrameEvent> internalFrame(@NonNull JInternalFrame component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.internalFrame(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ListDataEvent> listChange(@NonNull ListModel<?> component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.listChange(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ListDataEvent> listChangeWeak(@NonNull ListModel<?> component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.listChangeWeak(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ListDataEvent> listChange(@NonNull JList<?> component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.listChange(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<MenuDragMouseEvent> menuDrag(@NonNull JMenuItem component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.menuDrag(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<MenuEvent> menu(@NonNull JMenu component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.menu(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<MenuKeyEvent> menuKey(@NonNull JMenuItem component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.menuKey(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<MenuKeyEvent> menuKey(@NonNull JPopupMenu component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.menuKey(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<PopupMenuEvent> popupMenu(@NonNull JComboBox<?> component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.popupMenu(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<PopupMenuEvent> popupMenu(@NonNull JPopupMenu component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.popupMenu(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<RowSorterEvent> rowSorter(@NonNull RowSorter<?> component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.rowSorter(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<RowSorterEvent> rowSorter(@NonNull JTable component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.rowSorter(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TableModelEvent> tableModel(@NonNull TableModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.tableModel(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TableModelEvent> tableModelWeak(@NonNull TableModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.tableModelWeak(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TableChangeSet> tableChanges(@NonNull TableModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.tableChanges(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TableModelEvent> tableModel(@NonNull JTable component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.tableModel(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TableColumnModelEvent> tableColumnModel(@NonNull TableColumnModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.tableColumnModel(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ChangeEvent> tableColumnMarginChange(@NonNull TableColumnModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.tableColumnMarginChange(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ListSelectionEvent> tableColumnSelectionChange(@NonNull TableColumnModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.tableColumnSelectionChange(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TableColumnModelEvent> tableColumnModel(@NonNull JTable component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.tableColumnModel(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TreeExpansionEvent> treeExpansion(@NonNull JTree component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.treeExpansion(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TreeModelEvent> treeModel(@NonNull TreeModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.treeModel(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TreeModelEvent> treeModelWeak(@NonNull TreeModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.treeModelWeak(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TreeChangeSet> treeChanges(@NonNull TreeModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.treeChanges(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TreeChangeSet> treeChanges(@NonNull TreeModel component, int structureThreshold, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.treeChanges(component, structureThreshold), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TreeModelEvent> treeModel(@NonNull JTree component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.treeModel(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TreeSelectionEvent> treeSelection(@NonNull TreeSelectionModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.treeSelection(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TreeSelectionEvent> treeSelection(@NonNull JTree component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.treeSelection(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<TreeExpansionEvent> treeWillExpand(@NonNull JTree component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.treeWillExpand(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ItemEvent> itemSelection(@NonNull ItemSelectable component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.itemSelection(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ChangeEvent> change(@NonNull JTabbedPane component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.change(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ChangeEvent> change(@NonNull JSlider component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.change(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ChangeEvent> change(@NonNull JSpinner component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.change(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ChangeEvent> change(@NonNull SpinnerModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.change(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ChangeEvent> change(@NonNull AbstractButton component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.change(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ChangeEvent> change(@NonNull ButtonModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.change(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ChangeEvent> change(@NonNull JViewport component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.change(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<IndexRange> visibleRows(@NonNull JTable component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.visibleRows(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<IndexRange> visibleRange(@NonNull JList<?> component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.visibleRange(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ChangeEvent> change(@NonNull ColorSelectionModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.change(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ChangeEvent> change(@NonNull JProgressBar component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.change(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<ChangeEvent> change(@NonNull BoundedRangeModel component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.change(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<WindowEvent> window(@NonNull Window component, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.window(component), mode);
+    }
+
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Flowable<WindowEvent> window(@NonNull Window component, int flags, @NonNull BackpressureStrategy mode) {
+        return create(SwingObservable.window(component, flags), mode);
+    }
+
+    /**
+     * Buffers the events of a source, typically one of the {@link SwingObservable} methods,
+     * up to the given capacity and applies the overflow strategy when an event arrives
+     * with a full buffer.
+     * <ul>
+     * <li>{@link BackpressureOverflowStrategy#ERROR}: signals a
+     * {@link io.reactivex.rxjava3.exceptions.MissingBackpressureException} after the buffered events,</li>
+     * <li>{@link BackpressureOverflowStrategy#DROP_OLDEST}: drops the oldest buffered event,</li>
+     * <li>{@link BackpressureOverflowStrategy#DROP_LATEST}: drops the latest buffered event.</li>
+     * </ul>
+     * @param <T> the event type
+     * @param source the event source
+     * @param capacity the maximum number of buffered events, positive
+     * @param overflow the action when the buffer is full
+     * @return the new Flowable instance
+     */
+    @CheckReturnValue
+    @NonNull
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static <T> Flowable<T> buffer(@NonNull Observable<T> source, int capacity, @NonNull BackpressureOverflowStrategy overflow) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(overflow, "overflow is null");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+        }
+        return new SwingFlowableSource<>(source, BackpressureStrategy.BUFFER, capacity, overflow);
+    }
+
+    static <T> Flowable<T> create(Observable<T> source, BackpressureStrategy mode) {
+        Objects.requireNonNull(mode, "mode is null");
+        return new SwingFlowableSource<>(source, mode, Flowable.bufferSize(), BackpressureOverflowStrategy.ERROR);
+    }
+}
@@ -0,0 +1,660 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.*;
+
+import org.reactivestreams.*;
+
+import io.reactivex.rxjava3.core.*;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.MissingBackpressureException;
+import io.reactivex.rxjava3.internal.disposables.DisposableHelper;
+import io.reactivex.rxjava3.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.rxjava3.internal.util.BackpressureHelper;
+import io.reactivex.rxjava3.operators.SpscArrayQueue;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+/**
+ * Turns an event source into a Flowable by applying the backpressure strategy
+ * right in the Observer registered with the source, without an intermediate
+ * {@code toFlowable} stage.
+ * @param <T> the event type
+ */
+final class SwingFlowableSource<T> extends Flowable<T> {
+
+    final Observable<T> source;
+
+    final BackpressureStrategy mode;
+
+    final int capacity;
+
+    final BackpressureOverflowStrategy overflow;
+
+    SwingFlowableSource(Observable<T> source, BackpressureStrategy mode,
+            int capacity, BackpressureOverflowStrategy overflow) {
+        this.source = source;
+        this.mode = mode;
+        this.capacity = capacity;
+        this.overflow = overflow;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> s) {
+        BaseEventObserver<T> parent;
+        switch (mode) {
+        case MISSING:
+            parent = new MissingEventObserver<>(s);
+            break;
+        case ERROR:
+            parent = new ErrorEventObserver<>(s);
+            break;
+        case DROP:
+            parent = new DropEventObserver<>(s);
+            break;
+        case LATEST:
+            parent = new LatestEventObserver<>(s);
+            break;
+        default:
+            if (overflow == BackpressureOverflowStrategy.ERROR) {
+                parent = new BufferEventObserver<>(s, capacity);
+            } else {
+                parent = new BoundedBufferEventObserver<>(s, capacity, overflow);
+            }
+        }
+        source.subscribe(parent);
+    }
+
+    abstract static class BaseEventObserver<T> extends AtomicLong
+    implements Observer<T>, Subscription {
+
+        private static final long serialVersionUID = 2256455196390564418L;
+
+        final Subscriber<? super T> actual;
+
+        Disposable upstream;
+
+        volatile boolean cancelled;
+
+        BaseEventObserver(Subscriber<? super T> actual) {
+            this.actual = actual;
+        }
+
+        @Override
+        public final void onSubscribe(Disposable d) {
+            if (DisposableHelper.validate(this.upstream, d)) {
+                this.upstream = d;
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public final void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(this, n);
+                onRequested();
+            }
+        }
+
+        @Override
+        public final void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                upstream.dispose();
+                onCancelled();
+            }
+        }
+
+        void onRequested() {
+            // default is no-op
+        }
+
+        void onCancelled() {
+            // default is no-op
+        }
+    }
+
+    static final class MissingEventObserver<T> extends BaseEventObserver<T> {
+
+        private static final long serialVersionUID = -1887284006546651442L;
+
+        MissingEventObserver(Subscriber<? super T> actual) {
+            super(actual);
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (!cancelled) {
+                actual.onNext(t);
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (!cancelled) {
+                actual.onError(e);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!cancelled) {
+                actual.onComplete();
+            }
+        }
+    }
+
+    abstract static class NoOverflowEventObserver<T> extends BaseEventObserver<T> {
+
+        private static final long serialVersionUID = 6165146396766540233L;
+
+        boolean done;
+
+        NoOverflowEventObserver(Subscriber<? super T> actual) {
+            super(actual);
+        }
+
+        @Override
+        public final void onNext(T t) {
+            if (done || cancelled) {
+                return;
+            }
+            if (get() != 0L) {
+                actual.onNext(t);
+                BackpressureHelper.produced(this, 1);
+            } else {
+                onOverflow();
+            }
+        }
+
+        @Override
+        public final void onError(Throwable e) {
+            if (done) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            done = true;
+            if (!cancelled) {
+                actual.onError(e);
+            }
+        }
+
+        @Override
+        public final void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            if (!cancelled) {
+                actual.onComplete();
+            }
+        }
+
+        abstract void onOverflow();
+    }
+
+    static final class DropEventObserver<T> extends NoOverflowEventObserver<T> {
+
+        private static final long serialVersionUID = -1495686240283009005L;
+
+        DropEventObserver(Subscriber<? super T> actual) {
+            super(actual);
+        }
+
+        @Override
+        void onOverflow() {
+            // the event is dropped
+        }
+    }
+
+    static final class ErrorEventObserver<T> extends NoOverflowEventObserver<T> {
+
+        private static final long serialVersionUID = 4049384391306826218L;
+
+        ErrorEventObserver(Subscriber<? super T> actual) {
+            super(actual);
+        }
+
+        @Override
+        void onOverflow() {
+            done = true;
+            cancelled = true;
+            upstream.dispose();
+            actual.onError(new MissingBackpressureException("Could not emit the event due to lack of requests"));
+        }
+    }
+
+    static final class BufferEventObserver<T> extends BaseEventObserver<T> {
+
+        private static final long serialVersionUID = -7340553981006521549L;
+
+        final SpscArrayQueue<T> queue;
+
+        final AtomicInteger wip;
+
+        Throwable error;
+        volatile boolean done;
+
+        BufferEventObserver(Subscriber<? super T> actual, int capacity) {
+            super(actual);
+            this.queue = new SpscArrayQueue<>(capacity);
+            this.wip = new AtomicInteger();
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done || cancelled) {
+                return;
+            }
+            if (!queue.offer(t)) {
+                upstream.dispose();
+                error = new MissingBackpressureException("The event buffer is full");
+                done = true;
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (done) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            error = e;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        void onRequested() {
+            drain();
+        }
+
+        @Override
+        void onCancelled() {
+            if (wip.getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            Subscriber<? super T> a = actual;
+            SpscArrayQueue<T> q = queue;
+
+            for (;;) {
+                long r = get();
+                long e = 0L;
+
+                while (e != r) {
+                    if (cancelled) {
+                        q.clear();
+                        return;
+                    }
+
+                    boolean d = done;
+                    T v = q.poll();
+                    boolean empty = v == null;
+
+                    if (d && empty) {
+                        terminate(a);
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    a.onNext(v);
+                    e++;
+                }
+
+                if (e == r) {
+                    if (cancelled) {
+                        q.clear();
+                        return;
+                    }
+
+                    if (done && q.isEmpty()) {
+                        terminate(a);
+                        return;
+                    }
+                }
+
+                if (e != 0L) {
+                    BackpressureHelper.produced(this, e);
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        void terminate(Subscriber<? super T> a) {
+            Throwable ex = error;
+            if (ex != null) {
+                a.onError(ex);
+            } else {
+                a.onComplete();
+            }
+        }
+    }
+
+    /**
+     * Buffers up to a capacity and drops the oldest or the latest buffered
+     * event to make room for a new one; the producer and the consumer
+     * both modify the buffer, hence the locking.
+     */
+    static final class BoundedBufferEventObserver<T> extends BaseEventObserver<T> {
+
+        private static final long serialVersionUID = -3585335591963014946L;
+
+        final ArrayDeque<T> queue;
+
+        final int capacity;
+
+        final boolean dropOldest;
+
+        final AtomicInteger wip;
+
+        Throwable error;
+        volatile boolean done;
+
+        BoundedBufferEventObserver(Subscriber<? super T> actual, int capacity, BackpressureOverflowStrategy overflow) {
+            super(actual);
+            this.queue = new ArrayDeque<>();
+            this.capacity = capacity;
+            this.dropOldest = overflow == BackpressureOverflowStrategy.DROP_OLDEST;
+            this.wip = new AtomicInteger();
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done || cancelled) {
+                return;
+            }
+            ArrayDeque<T> q = queue;
+            synchronized (q) {
+                if (q.size() == capacity) {
+                    if (dropOldest) {
+                        q.pollFirst();
+                    } else {
+                        q.pollLast();
+                    }
+                }
+                q.offer(t);
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (done) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            error = e;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        void onRequested() {
+            drain();
+        }
+
+        @Override
+        void onCancelled() {
+            if (wip.getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        void clear() {
+            synchronized (queue) {
+                queue.clear();
+            }
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            Subscriber<? super T> a = actual;
+            ArrayDeque<T> q = queue;
+
+            for (;;) {
+                long r = get();
+                long e = 0L;
+
+                while (e != r) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+
+                    boolean d = done;
+                    T v;
+                    synchronized (q) {
+                        v = q.poll();
+                    }
+                    boolean empty = v == null;
+
+                    if (d && empty) {
+                        terminate(a);
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    a.onNext(v);
+                    e++;
+                }
+
+                if (e == r) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+
+                    boolean empty;
+                    synchronized (q) {
+                        empty = q.isEmpty();
+                    }
+                    if (done && empty) {
+                        terminate(a);
+                        return;
+                    }
+                }
+
+                if (e != 0L) {
+                    BackpressureHelper.produced(this, e);
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        void terminate(Subscriber<? super T> a) {
+            Throwable ex = error;
+            if (ex != null) {
+                a.onError(ex);
+            } else {
+                a.onComplete();
+            }
+        }
+    }
+
+    static final class LatestEventObserver<T> extends BaseEventObserver<T> {
+
+        private static final long serialVersionUID = 3395922015396127372L;
+
+        final AtomicReference<T> latest;
+
+        final AtomicInteger wip;
+
+        Throwable error;
+        volatile boolean done;
+
+        LatestEventObserver(Subscriber<? super T> actual) {
+            super(actual);
+            this.latest = new AtomicReference<>();
+            this.wip = new AtomicInteger();
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done || cancelled) {
+                return;
+            }
+            latest.set(t);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (done) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            error = e;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        void onRequested() {
+            drain();
+        }
+
+        @Override
+        void onCancelled() {
+            if (wip.getAndIncrement() == 0) {
+                latest.lazySet(null);
+            }
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            Subscriber<? super T> a = actual;
+            AtomicReference<T> q = latest;
+
+            for (;;) {
+                long r = get();
+                long e = 0L;
+
+                while (e != r) {
+                    if (cancelled) {
+                        q.lazySet(null);
+                        return;
+                    }
+
+                    boolean d = done;
+                    T v = q.getAndSet(null);
+                    boolean empty = v == null;
+
+                    if (d && empty) {
+                        terminate(a);
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    a.onNext(v);
+                    e++;
+                }
+
+                if (e == r) {
+                    if (cancelled) {
+                        q.lazySet(null);
+                        return;
+                    }
+
+                    if (done && q.get() == null) {
+                        terminate(a);
+                        return;
+                    }
+                }
+
+                if (e != 0L) {
+                    BackpressureHelper.produced(this, e);
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        void terminate(Subscriber<? super T> a) {
+            Throwable ex = error;
+            if (ex != null) {
+                a.onError(ex);
+            } else {
+                a.onComplete();
+            }
+        }
+    }
+}
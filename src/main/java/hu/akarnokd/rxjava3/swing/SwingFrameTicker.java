@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.event.*;
+
+import javax.swing.Timer;
+
+/**
+ * A single, shared Swing {@link Timer} ticking once per frame on the EDT
+ * and calling the currently registered frame tasks.
+ * <p>
+ * The timer runs only while there is at least one task registered.
+ */
+final class SwingFrameTicker implements ActionListener {
+
+    /** The frame period, about 60 frames per second. */
+    static final int FRAME_MILLIS = 16;
+
+    static final Runnable[] EMPTY = new Runnable[0];
+
+    static final SwingFrameTicker INSTANCE = new SwingFrameTicker();
+
+    final Timer timer;
+
+    volatile Runnable[] tasks;
+
+    SwingFrameTicker() {
+        this.tasks = EMPTY;
+        this.timer = new Timer(FRAME_MILLIS, this);
+        this.timer.setCoalesce(true);
+    }
+
+    void add(Runnable task) {
+        synchronized (this) {
+            Runnable[] a = tasks;
+            int n = a.length;
+            Runnable[] b = new Runnable[n + 1];
+            System.arraycopy(a, 0, b, 0, n);
+            b[n] = task;
+            tasks = b;
+            if (n == 0) {
+                timer.start();
+            }
+        }
+    }
+
+    void remove(Runnable task) {
+        synchronized (this) {
+            Runnable[] a = tasks;
+            int n = a.length;
+            int j = -1;
+            for (int i = 0; i < n; i++) {
+                if (a[i] == task) {
+                    j = i;
+                    break;
+                }
+            }
+            if (j < 0) {
+                return;
+            }
+            if (n == 1) {
+                tasks = EMPTY;
+                timer.stop();
+                return;
+            }
+            Runnable[] b = new Runnable[n - 1];
+            System.arraycopy(a, 0, b, 0, j);
+            System.arraycopy(a, j + 1, b, j, n - j - 1);
+            tasks = b;
+        }
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        for (Runnable r : tasks) {
+            r.run();
+        }
+    }
+}
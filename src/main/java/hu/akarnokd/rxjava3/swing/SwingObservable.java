@@ -20,6 +20,7 @@ import java.awt.*;
 import java.awt.event.*;
 import java.beans.PropertyChangeEvent;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.*;
 import javax.swing.colorchooser.ColorSelectionModel;
@@ -30,6 +31,8 @@ import javax.swing.tree.*;
 
 import io.reactivex.rxjava3.annotations.*;
 import io.reactivex.rxjava3.core.*;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.parallel.*;
 
 /**
  * Methods to wrap various Swing event sources.
@@ -64,6 +67,19 @@ public final class SwingObservable {
      */
     public static final int MOUSE_ALL = MOUSE_CLICK | MOUSE_MOVE | MOUSE_WHEEL;
 
+    /**
+     * Flag constant for {@link #mouse(Component, int)} indicating the
+     * {@link MouseMotionListener} events should be coalesced: only the latest
+     * motion event is kept until the EDT gets to emit it, or until a
+     * non-motion event has to be emitted, preserving their relative order.
+     * <p>
+     * The coalesced motion events are emitted as {@link CoalescedMouseEvent}s,
+     * reporting the number of events they replace.
+     * Combine it with {@link #MOUSE_MOVE}, for example {@code MOUSE_ALL | MOUSE_COALESCE}.
+     * @since 3.2.0
+     */
+    public static final int MOUSE_COALESCE = 8;
+
     /**
      * Flag constant for the {@link #window(Window, int)} indicating only
      * the {@link WindowListener} events should be forwarded.
@@ -124,6 +140,91 @@ public final class SwingObservable {
         return RxSwingPlugins.onAssembly(new MouseEventObservable(component, flags));
     }
 
+    /**
+     * Observes the AWT events of all components via a single
+     * {@link Toolkit#addAWTEventListener(AWTEventListener, long)} registration
+     * shared by all {@code global} subscribers.
+     * <p>
+     * The listener is registered with the union of the event masks of the current
+     * subscribers and is removed when the last subscriber disposes.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The events are emitted on the EDT.</dd>
+     * </dl>
+     * @param eventMask the combination of {@link AWTEvent} mask constants,
+     * such as {@link AWTEvent#MOUSE_EVENT_MASK}
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<AWTEvent> global(long eventMask) {
+        return RxSwingPlugins.onAssembly(new GlobalEventObservable(null, eventMask));
+    }
+
+    /**
+     * Observes the AWT events whose source is the given component via the
+     * single, shared {@link AWTEventListener} of {@link #global(long)}, without
+     * registering any listener on the component itself.
+     * <p>
+     * This is useful when many components are observed at once, each
+     * subscription costs only an entry in the dispatch index of the shared listener.
+     * The subscription has to be disposed in order to release the component.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The events are emitted on the EDT.</dd>
+     * </dl>
+     * @param component the source component of the events to observe
+     * @param eventMask the combination of {@link AWTEvent} mask constants,
+     * such as {@link AWTEvent#MOUSE_EVENT_MASK}
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<AWTEvent> global(@NonNull Component component, long eventMask) {
+        Objects.requireNonNull(component, "component is null");
+        return RxSwingPlugins.onAssembly(new GlobalEventObservable(component, eventMask));
+    }
+
+    /**
+     * Calls the given consumer with the primitive coordinates, modifiers and timestamp
+     * of each mouse moved or dragged event of the component.
+     * <p>
+     * Unlike {@code mouse(component, MOUSE_MOVE).map(e -> e.getPoint())},
+     * this doesn't allocate any object per event.
+     * @param component the component to observe
+     * @param consumer the consumer called on the EDT for each motion event
+     * @return the Disposable to stop observing the component
+     * @since 3.2.0
+     */
+    @NonNull
+    public static Disposable mouseMove(@NonNull Component component, @NonNull MouseMoveConsumer consumer) {
+        Objects.requireNonNull(component, "component is null");
+        Objects.requireNonNull(consumer, "consumer is null");
+        return MouseMoveObservable.subscribe(component, consumer);
+    }
+
+    /**
+     * Emits the coordinates of each mouse moved or dragged event of the component
+     * packed into a single long value.
+     * <p>
+     * Use {@link MouseMoveConsumer#unpackX(long)} and {@link MouseMoveConsumer#unpackY(long)}
+     * to extract the coordinates.
+     * @param component the component to observe
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<Long> mouseMovePacked(@NonNull Component component) {
+        Objects.requireNonNull(component, "component is null");
+        return RxSwingPlugins.onAssembly(new MouseMoveObservable(component));
+    }
+
     @CheckReturnValue
     @NonNull
     @SchedulerSupport(SchedulerSupport.NONE)
@@ -197,6 +298,59 @@ public final class SwingObservable {
         return RxSwingPlugins.onAssembly(new PropertyChangeEventObservable(component, propertyName));
     }
 
+    /**
+     * Emits the property change events of any of the given properties via a single
+     * listener registered with the component.
+     * <p>
+     * The names are looked up in a table hashed specifically for them, usually with
+     * a single comparison per event. Events with a {@code null} property name, which
+     * indicate that an arbitrary set of properties may have changed, are also emitted.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The events are emitted on the thread changing the properties, typically the EDT.</dd>
+     * </dl>
+     * @param component the component to observe
+     * @param propertyNames the names of the properties to observe
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<PropertyChangeEvent> propertyChange(@NonNull Component component, @NonNull String... propertyNames) {
+        Objects.requireNonNull(component, "component is null");
+        Objects.requireNonNull(propertyNames, "propertyNames is null");
+        return RxSwingPlugins.onAssembly(new PropertyChangeEventObservable(component, null, PropertyNameSet.of(propertyNames)));
+    }
+
+    /**
+     * Emits the new values of the property, skipping a value if it is the same
+     * as or equal to the previously emitted one.
+     * <p>
+     * {@code null} values are not emitted, but the first value after a {@code null}
+     * is emitted even if it equals the value before the {@code null}. A value which
+     * is not an instance of the type is signalled as a {@link ClassCastException}.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The values are emitted on the thread changing the property, typically the EDT.</dd>
+     * </dl>
+     * @param <T> the value type
+     * @param component the component to observe
+     * @param propertyName the name of the property
+     * @param type the class of the values, a primitive class stands for its wrapper
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static <T> Observable<T> propertyValues(@NonNull Component component, @NonNull String propertyName, @NonNull Class<T> type) {
+        Objects.requireNonNull(component, "component is null");
+        Objects.requireNonNull(propertyName, "propertyName is null");
+        Objects.requireNonNull(type, "type is null");
+        return RxSwingPlugins.onAssembly(new PropertyValueObservable<>(component, propertyName, type));
+    }
+
     @CheckReturnValue
     @NonNull
     @SchedulerSupport(SchedulerSupport.NONE)
@@ -205,6 +359,21 @@ public final class SwingObservable {
         return RxSwingPlugins.onAssembly(new DocumentEventObservable(component));
     }
 
+    /**
+     * Observes the events of the model while referencing the subscription only weakly
+     * from the model; see {@link #tableModelWeak(TableModel)} for details.
+     * @param component the model to observe
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<DocumentEvent> documentWeak(@NonNull Document component) {
+        Objects.requireNonNull(component, "component is null");
+        return RxSwingPlugins.onAssembly(new DocumentEventObservable(component, true));
+    }
+
     @CheckReturnValue
     @NonNull
     @SchedulerSupport(SchedulerSupport.NONE)
@@ -213,6 +382,85 @@ public final class SwingObservable {
         return document(component.getDocument());
     }
 
+    /**
+     * Emits a compact {@link TextChange} record for each insertion and removal
+     * of the document.
+     * <p>
+     * Only the inserted text is read from the document, inside the listener,
+     * thus consumers don't have to copy the whole document on each edit.
+     * Attribute changes are not reported.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The events are emitted on the thread modifying the document, usually the EDT.</dd>
+     * </dl>
+     * @param component the document to observe
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<TextChange> textChanges(@NonNull Document component) {
+        Objects.requireNonNull(component, "component is null");
+        return RxSwingPlugins.onAssembly(new TextChangeObservable(component));
+    }
+
+    /**
+     * Emits the current text of the document as an immutable {@link TextRope}
+     * upon subscription, followed by the updated text after each insertion and removal.
+     * <p>
+     * The snapshots are maintained incrementally from the {@link #textChanges(Document)}
+     * records: each edit costs O(log n) plus the size of the inserted text and
+     * the consecutive snapshots share their unchanged parts. The snapshots are
+     * immutable and can be processed on any thread.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The events are emitted on the thread modifying the document, usually the EDT.</dd>
+     * </dl>
+     * @param component the document to observe
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<TextRope> textSnapshots(@NonNull Document component) {
+        Objects.requireNonNull(component, "component is null");
+        return RxSwingPlugins.onAssembly(TextChangeObservable.snapshots(component));
+    }
+
+    /**
+     * Emits the current text of the document as an immutable {@link TextRope}
+     * upon subscription, then the updated text whenever the document hasn't been
+     * edited for the given amount of time.
+     * <p>
+     * The snapshot is updated on each edit by reading only the inserted segments
+     * via {@link Document#getText(int, int, Segment)} with partial return enabled,
+     * pointing into the document's own buffer, and the consecutive snapshots share
+     * their unchanged parts. The debouncing uses a single Swing {@code Timer}, thus
+     * no background scheduler is involved. The snapshots are immutable and are
+     * safe to be searched on background threads.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The initial snapshot is emitted on the subscribing thread, the debounced
+     *  snapshots on the EDT.</dd>
+     * </dl>
+     * @param component the document to observe
+     * @param delay the time the document has to stay unchanged before emitting its text
+     * @param unit the time unit of the delay
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<TextRope> textSnapshots(@NonNull Document component, long delay, @NonNull TimeUnit unit) {
+        Objects.requireNonNull(component, "component is null");
+        Objects.requireNonNull(unit, "unit is null");
+        long millis = Math.max(0L, Math.min(unit.toMillis(delay), Integer.MAX_VALUE));
+        return RxSwingPlugins.onAssembly(new DebouncedTextObservable(component, (int)millis));
+    }
+
     @CheckReturnValue
     @NonNull
     @SchedulerSupport(SchedulerSupport.NONE)
@@ -276,6 +524,54 @@ public final class SwingObservable {
         return RxSwingPlugins.onAssembly(new ListSelectionEventModelObservable(component));
     }
 
+    /**
+     * Emits an immutable snapshot of the selection upon subscription and whenever
+     * the selection changes, skipping the changes while the selection is adjusting.
+     * <p>
+     * See {@link #selectionSnapshots(ListSelectionModel, boolean)} for details.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The snapshots are emitted on the EDT; subscribe on the EDT.</dd>
+     * </dl>
+     * @param component the selection model to observe
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<SelectionSnapshot> selectionSnapshots(@NonNull ListSelectionModel component) {
+        return selectionSnapshots(component, false);
+    }
+
+    /**
+     * Emits an immutable snapshot of the selection upon subscription and whenever
+     * the selection changes.
+     * <p>
+     * The selection is kept in a bit set which is updated incrementally: only the
+     * index range reported by each {@link ListSelectionEvent} is re-read from the
+     * model, and the bits are copied only when they change after a snapshot has been
+     * emitted, instead of allocating an array of all selected indexes per change.
+     * When the adjusting changes are skipped, their ranges are re-read along with
+     * the first non-adjusting change.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The snapshots are emitted on the EDT; subscribe on the EDT.</dd>
+     * </dl>
+     * @param component the selection model to observe
+     * @param includeAdjusting if true, a snapshot is also emitted for changes
+     *                         while the selection is adjusting, such as during a drag
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<SelectionSnapshot> selectionSnapshots(@NonNull ListSelectionModel component, boolean includeAdjusting) {
+        Objects.requireNonNull(component, "component is null");
+        return RxSwingPlugins.onAssembly(new SelectionSnapshotObservable(component, includeAdjusting));
+    }
+
     @CheckReturnValue
     @NonNull
     @SchedulerSupport(SchedulerSupport.NONE)
@@ -300,6 +596,21 @@ public final class SwingObservable {
         return RxSwingPlugins.onAssembly(new ListDataEventObservable(component));
     }
 
+    /**
+     * Observes the events of the model while referencing the subscription only weakly
+     * from the model; see {@link #tableModelWeak(TableModel)} for details.
+     * @param component the model to observe
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<ListDataEvent> listChangeWeak(@NonNull ListModel<?> component) {
+        Objects.requireNonNull(component, "component is null");
+        return RxSwingPlugins.onAssembly(new ListDataEventObservable(component, true));
+    }
+
     @CheckReturnValue
     @NonNull
     @SchedulerSupport(SchedulerSupport.NONE)
@@ -379,6 +690,56 @@ public final class SwingObservable {
         return RxSwingPlugins.onAssembly(new TableModelEventObservable(component));
     }
 
+    /**
+     * Observes the events of the model while referencing the subscription only weakly
+     * from the model.
+     * <p>
+     * Unlike {@link #tableModel(TableModel)}, the {@link TableModelListener} registered with the model
+     * holds onto the subscription via a {@link java.lang.ref.WeakReference}, thus a long-lived,
+     * shared model doesn't keep the subscriber, and the views referenced by it, alive.
+     * Once the subscription becomes unreachable, the registered listener is removed from
+     * the model on the EDT by a shared reaper thread.
+     * <p>
+     * Note that the subscription stays active only as long as its {@code Disposable} or
+     * {@code Observer} is strongly reachable elsewhere, for example, from a field of the view.
+     * @param component the model to observe
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<TableModelEvent> tableModelWeak(@NonNull TableModel component) {
+        Objects.requireNonNull(component, "component is null");
+        return RxSwingPlugins.onAssembly(new TableModelEventObservable(component, true));
+    }
+
+    /**
+     * Emits the changes of the table model coalesced into a compact {@link TableChangeSet}
+     * once per EDT task, instead of one {@link TableModelEvent} per change.
+     * <p>
+     * The events fired by the model during the same EDT task, such as per-row
+     * {@code fireTableRowsUpdated} calls of a refresh, are merged into minimal row
+     * ranges: overlapping or adjacent updates of the same column, and contiguous
+     * insertions or deletions. A structure change or a change of all rows supersedes
+     * the other changes. The set is emitted in a task posted to the EventQueue
+     * after the first change.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The change sets are emitted on the EDT.</dd>
+     * </dl>
+     * @param component the model to observe, modified on the EDT
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<TableChangeSet> tableChanges(@NonNull TableModel component) {
+        Objects.requireNonNull(component, "component is null");
+        return RxSwingPlugins.onAssembly(new TableChangeSetObservable(component));
+    }
+
     @CheckReturnValue
     @NonNull
     @SchedulerSupport(SchedulerSupport.NONE)
@@ -433,6 +794,75 @@ public final class SwingObservable {
         return RxSwingPlugins.onAssembly(new TreeModelEventObservable(component));
     }
 
+    /**
+     * Observes the events of the model while referencing the subscription only weakly
+     * from the model; see {@link #tableModelWeak(TableModel)} for details.
+     * @param component the model to observe
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<TreeModelEvent> treeModelWeak(@NonNull TreeModel component) {
+        Objects.requireNonNull(component, "component is null");
+        return RxSwingPlugins.onAssembly(new TreeModelEventObservable(component, true));
+    }
+
+    /**
+     * Emits the changes of the tree model in coalesced batches, at most one
+     * {@link TreeChangeSet} per EDT task in which the model changed.
+     * <p>
+     * Changes of the children of the same parent are merged by parent path into
+     * one change with the union of the child indexes; a parent whose merged change
+     * would contain more than 128 child indexes gets a single structure change instead.
+     * See {@link #treeChanges(TreeModel, int)} for details.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The change sets are emitted on the EDT.</dd>
+     * </dl>
+     * @param component the model to observe, modified on the EDT
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<TreeChangeSet> treeChanges(@NonNull TreeModel component) {
+        return treeChanges(component, TreeChangeSetObservable.DEFAULT_STRUCTURE_THRESHOLD);
+    }
+
+    /**
+     * Emits the changes of the tree model in coalesced batches, at most one
+     * {@link TreeChangeSet} per EDT task in which the model changed.
+     * <p>
+     * Changes of the children of the same parent are merged by parent path into
+     * one change with the union of the child indexes, and so are consecutive insertions
+     * or removals under the same parent. A parent whose merged change would contain more
+     * than {@code structureThreshold} child indexes gets a single structure change
+     * instead, and a structure change supersedes all changes within its subtree.
+     * The set is emitted in a task posted to the EventQueue after the first change.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The change sets are emitted on the EDT.</dd>
+     * </dl>
+     * @param component the model to observe, modified on the EDT
+     * @param structureThreshold the number of merged child indexes of a parent above
+     *                           which it gets a structure change, positive
+     * @return the new Observable instance
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<TreeChangeSet> treeChanges(@NonNull TreeModel component, int structureThreshold) {
+        Objects.requireNonNull(component, "component is null");
+        if (structureThreshold < 1) {
+            throw new IllegalArgumentException("structureThreshold > 0 required but it was " + structureThreshold);
+        }
+        return RxSwingPlugins.onAssembly(new TreeChangeSetObservable(component, structureThreshold));
+    }
+
     @CheckReturnValue
     @NonNull
     @SchedulerSupport(SchedulerSupport.NONE)
@@ -464,13 +894,18 @@ public final class SwingObservable {
     }
 
     /**
-     * Sends the observed upstream event directly to the Event Dispatch thread individually
+     * Sends the observed upstream event directly to the Event Dispatch thread in small batches
      * (unlike observeOn which may occupy the EDT longer with a fast emitting source).
      * <p>
      * To be used with {@link Observable#compose(ObservableTransformer)}.
      * <p>
      * This custom observeOn should allow more interleaving with other EDT-submitted
-     * tasks and not occupy the EDT for too long.
+     * tasks and not occupy the EDT for too long: at most {@link Flowable#bufferSize()}
+     * items are emitted per EDT visit before the drain yields back to the {@code EventQueue}.
+     * <p>
+     * Fuseable upstreams (such as {@code fromIterable} or {@code UnicastSubject}) are polled
+     * directly from the EDT drain loop and the operator itself supports async-fusion
+     * with the downstream.
      * <p>
      * Example:<pre><code>
      * Observable.range(1, 5)
@@ -492,6 +927,190 @@ public final class SwingObservable {
         return new SwingObserveOn<>(null);
     }
 
+    /**
+     * Delivers the success value or error of the upstream {@link Single} on the
+     * Event Dispatch Thread.
+     * <p>
+     * To be used with {@link Single#compose(SingleTransformer)}.
+     * <p>
+     * Unlike {@code observeOn(SwingSchedulers.edt())}, this doesn't create a
+     * {@code Worker} but a single observer that is itself the task posted to the EDT.
+     * If the upstream signals on the EDT already, the signal is relayed
+     * directly without posting.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The operator doesn't run on any scheduler as it directly submits work to the EDT
+     *  via {@code EventQueue.invokeLater()}.</dd>
+     * </dl>
+     * @param <T> the value type
+     * @return the new SingleTransformer.
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    public static <T> SingleTransformer<T, T> observeOnEdtSingle() {
+        return new SwingObserveOnSingle<>(null);
+    }
+
+    /**
+     * Delivers the success value, completion or error of the upstream {@link Maybe} on the
+     * Event Dispatch Thread.
+     * <p>
+     * To be used with {@link Maybe#compose(MaybeTransformer)}.
+     * <p>
+     * Unlike {@code observeOn(SwingSchedulers.edt())}, this doesn't create a
+     * {@code Worker} but a single observer that is itself the task posted to the EDT.
+     * If the upstream signals on the EDT already, the signal is relayed
+     * directly without posting.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The operator doesn't run on any scheduler as it directly submits work to the EDT
+     *  via {@code EventQueue.invokeLater()}.</dd>
+     * </dl>
+     * @param <T> the value type
+     * @return the new MaybeTransformer.
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    public static <T> MaybeTransformer<T, T> observeOnEdtMaybe() {
+        return new SwingObserveOnMaybe<>(null);
+    }
+
+    /**
+     * Delivers the completion or error of the upstream {@link Completable} on the
+     * Event Dispatch Thread.
+     * <p>
+     * To be used with {@link Completable#compose(CompletableTransformer)}.
+     * <p>
+     * Unlike {@code observeOn(SwingSchedulers.edt())}, this doesn't create a
+     * {@code Worker} but a single observer that is itself the task posted to the EDT.
+     * If the upstream signals on the EDT already, the signal is relayed
+     * directly without posting.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The operator doesn't run on any scheduler as it directly submits work to the EDT
+     *  via {@code EventQueue.invokeLater()}.</dd>
+     * </dl>
+     * @return the new CompletableTransformer.
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    public static CompletableTransformer observeOnEdtCompletable() {
+        return new SwingObserveOnCompletable(null);
+    }
+
+    /**
+     * Emits the latest upstream item, if any, once per paint frame on the
+     * Event Dispatch Thread.
+     * <p>
+     * To be used with {@link Observable#compose(ObservableTransformer)}.
+     * <p>
+     * All active subscriptions share one Swing {@code Timer} ticking about 60 times a second,
+     * thus no per-subscription timers or background schedulers are involved. This is
+     * useful for high-rate sources such as {@code mouse(component, MOUSE_MOVE)}
+     * where only the latest state is relevant for the next repaint.
+     * The terminal event is delivered on the next frame after the last pending item.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The operator emits on the EDT via a shared {@code javax.swing.Timer}.</dd>
+     * </dl>
+     * @param <T> the value type
+     * @return the new ObservableTransformer.
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    public static <T> ObservableTransformer<T, T> throttleToFrame() {
+        return new SwingThrottleToFrame<>(null);
+    }
+
+    /**
+     * Merges the rails of a {@link ParallelFlowable} directly on the Event Dispatch Thread.
+     * <p>
+     * To be used with {@link ParallelFlowable#to(ParallelFlowableConverter)}.
+     * <p>
+     * Each rail prefetches into its own single-producer single-consumer queue which
+     * are then polled in a round-robin fashion from the EDT, replenishing the rails
+     * as their items get consumed. This avoids the separate {@code sequential()}
+     * merge and {@code observeOn} stage. Like {@link #observeOnEdt()}, at most
+     * {@link Flowable#bufferSize()} items are emitted per EDT visit.
+     * <p>
+     * Example:<pre><code>
+     * Flowable.range(1, 1000)
+     * .parallel()
+     * .runOn(Schedulers.computation())
+     * .map(v -&gt; format(v))
+     * .to(SwingObservable.sequentialOnEdt())
+     * .subscribe(label::setText);
+     * </code></pre>
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The operator doesn't run on any scheduler as it directly submits work to the EDT
+     *  via {@code EventQueue.invokeLater()}.</dd>
+     * </dl>
+     * @param <T> the value type
+     * @return the new ParallelFlowableConverter
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    public static <T> ParallelFlowableConverter<T, Observable<T>> sequentialOnEdt() {
+        return new SwingParallelSequential<>(null, Flowable.bufferSize());
+    }
+
+    /**
+     * Subscribes to the upstream only while the given component is showing.
+     * <p>
+     * The upstream is disposed when the component stops showing, for example,
+     * when its tab gets deselected or its window is hidden, and is subscribed to
+     * again when the component becomes showing, based on the
+     * {@link HierarchyEvent#SHOWING_CHANGED} notifications of the component.
+     * This way, hidden parts of the UI don't keep consuming resources
+     * for producing data nobody can see.
+     * <p>
+     * Errors and completion of the upstream are relayed to the downstream.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The operator should be subscribed to on the EDT; the upstream is
+     *  subscribed to and disposed on the EDT.</dd>
+     * </dl>
+     * @param <T> the value type
+     * @param component the component whose showing state controls the subscription
+     * @return the new ObservableTransformer
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    public static <T> ObservableTransformer<T, T> whileShowing(@NonNull Component component) {
+        Objects.requireNonNull(component, "component is null");
+        return new SwingWhileShowing<>(component);
+    }
+
+    /**
+     * Disposes the upstream when the given component is removed from a displayable hierarchy.
+     * <p>
+     * The subscription is bound to the component via {@link ComponentBindings},
+     * which also lists the live bindings per component. The binding is removed
+     * when the sequence terminates or is disposed. Upon the removal of the component,
+     * the sequence is disposed without signaling any terminal event.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The operator doesn't run on any particular scheduler.</dd>
+     * </dl>
+     * @param <T> the value type
+     * @param component the component whose removal disposes the sequence
+     * @return the new ObservableTransformer
+     * @since 3.2.0
+     */
+    @CheckReturnValue
+    @NonNull
+    public static <T> ObservableTransformer<T, T> takeUntilRemoved(@NonNull JComponent component) {
+        Objects.requireNonNull(component, "component is null");
+        return new SwingTakeUntilRemoved<>(null, component);
+    }
+
     @CheckReturnValue
     @NonNull
     @SchedulerSupport(SchedulerSupport.NONE)
@@ -556,6 +1175,52 @@ public final class SwingObservable {
         return RxSwingPlugins.onAssembly(new ChangeEventViewportObservable(component));
     }
 
+    /**
+     * Emits the range of the visible rows of the table upon subscription and
+     * whenever the range changes due to scrolling, resizing or rows added or removed.
+     * <p>
+     * The table is observed for moves and resizes, along with its enclosing
+     * {@link JViewport} if it is in one at subscription time.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The ranges are emitted on the EDT; subscribe on the EDT.</dd>
+     * </dl>
+     * @param component the table to observe
+     * @return the new Observable instance
+     * @since 3.2.0
+     * @see PagingLoader
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<IndexRange> visibleRows(@NonNull JTable component) {
+        Objects.requireNonNull(component, "component is null");
+        return RxSwingPlugins.onAssembly(new VisibleRangeObservable(component));
+    }
+
+    /**
+     * Emits the range of the visible items of the list upon subscription and
+     * whenever the range changes due to scrolling, resizing or items added or removed.
+     * <p>
+     * The list is observed for moves and resizes, along with its enclosing
+     * {@link JViewport} if it is in one at subscription time.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>The ranges are emitted on the EDT; subscribe on the EDT.</dd>
+     * </dl>
+     * @param component the list to observe
+     * @return the new Observable instance
+     * @since 3.2.0
+     * @see PagingLoader
+     */
+    @CheckReturnValue
+    @NonNull
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public static Observable<IndexRange> visibleRange(@NonNull JList<?> component) {
+        Objects.requireNonNull(component, "component is null");
+        return RxSwingPlugins.onAssembly(new VisibleRangeObservable(component));
+    }
+
     @CheckReturnValue
     @NonNull
     @SchedulerSupport(SchedulerSupport.NONE)
@@ -20,11 +20,21 @@ import java.awt.EventQueue;
 
 import io.reactivex.rxjava3.core.*;
 import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.Exceptions;
 import io.reactivex.rxjava3.internal.disposables.DisposableHelper;
+import io.reactivex.rxjava3.internal.observers.BasicIntQueueDisposable;
+import io.reactivex.rxjava3.operators.*;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
 
 final class SwingObserveOn<T> extends Observable<T>
 implements ObservableTransformer<T, T> {
 
+    /**
+     * The maximum number of items emitted in one EDT visit before the
+     * drain loop yields back to the EventQueue.
+     */
+    static final int DRAIN_LIMIT = Flowable.bufferSize();
+
     final Observable<T> source;
 
     SwingObserveOn(Observable<T> source) {
@@ -41,99 +51,276 @@ implements ObservableTransformer<T, T> {
         return new SwingObserveOn<>(upstream);
     }
 
-    static final class ObserveOnObserver<T> implements Observer<T>, Disposable, Runnable {
+    static final class ObserveOnObserver<T> extends BasicIntQueueDisposable<T>
+    implements Observer<T>, Runnable {
+
+        private static final long serialVersionUID = -6909010929286717149L;
 
         final Observer<? super T> actual;
 
         Disposable upstream;
 
+        /**
+         * The queue holding the items to be emitted on the EDT; set to null
+         * when disposed while the EDT might be polling it, releasing the
+         * items without waiting for the pending drain to run.
+         */
+        volatile SimpleQueue<T> queue;
+
+        Throwable error;
+        volatile boolean done;
+
         volatile boolean disposed;
 
-        ObserveOnObserver(Observer<? super T> actual) {
-            this.actual = actual;
-        }
+        int sourceMode;
 
-        @Override
-        public void dispose() {
-            disposed = true;
-            upstream.dispose();
-        }
+        boolean outputFused;
 
-        @Override
-        public boolean isDisposed() {
-            return disposed;
+        /** Set while the drain loop runs; accessed only from the EDT. */
+        boolean draining;
+
+        ObserveOnObserver(Observer<? super T> actual) {
+            this.actual = actual;
         }
 
         @Override
         public void onSubscribe(Disposable d) {
             if (DisposableHelper.validate(this.upstream, d)) {
                 this.upstream = d;
+                if (d instanceof QueueDisposable) {
+                    @SuppressWarnings("unchecked")
+                    QueueDisposable<T> qd = (QueueDisposable<T>) d;
+
+                    int m = qd.requestFusion(QueueDisposable.ANY | QueueDisposable.BOUNDARY);
+
+                    if (m == QueueDisposable.SYNC) {
+                        sourceMode = m;
+                        queue = qd;
+                        done = true;
+                        actual.onSubscribe(this);
+                        schedule();
+                        return;
+                    }
+                    if (m == QueueDisposable.ASYNC) {
+                        sourceMode = m;
+                        queue = qd;
+                        actual.onSubscribe(this);
+                        return;
+                    }
+                }
+
+                queue = new SpscLinkedArrayQueue<>(Flowable.bufferSize());
+
                 actual.onSubscribe(this);
             }
         }
 
         @Override
         public void onNext(T t) {
-            EventQueue.invokeLater(new OnNextEvent<>(actual, t, this));
+            if (done) {
+                return;
+            }
+            if (sourceMode != QueueDisposable.ASYNC) {
+                SimpleQueue<T> q = queue;
+                if (q == null) {
+                    return;
+                }
+                q.offer(t);
+            }
+            schedule();
         }
 
         @Override
         public void onError(Throwable e) {
-            EventQueue.invokeLater(new OnErrorEvent<T>(actual, e, this));
+            if (done) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            error = e;
+            done = true;
+            schedule();
         }
 
         @Override
         public void onComplete() {
-            EventQueue.invokeLater(this);
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
         }
 
         @Override
-        public void run() {
+        public void dispose() {
             if (!disposed) {
-                actual.onComplete();
+                disposed = true;
+                upstream.dispose();
+                if (!outputFused) {
+                    if (getAndIncrement() == 0
+                            || (EventQueue.isDispatchThread() && !draining)) {
+                        // nobody polls the queue right now: the pending drain,
+                        // if any, can only run after this EDT task
+                        queue.clear();
+                    } else if (sourceMode == QueueDisposable.NONE) {
+                        // the EDT may be polling our own queue concurrently,
+                        // forget it so the items become garbage right away
+                        queue = null;
+                    }
+                }
             }
         }
 
-        static final class OnNextEvent<T> implements Runnable {
-            final Observer<? super T> actual;
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        void schedule() {
+            if (getAndIncrement() == 0) {
+                EventQueue.invokeLater(this);
+            }
+        }
 
-            final T event;
+        @Override
+        public void run() {
+            draining = true;
+            try {
+                if (outputFused) {
+                    drainFused();
+                } else {
+                    drainNormal();
+                }
+            } finally {
+                draining = false;
+            }
+        }
 
-            final Disposable d;
+        void drainNormal() {
+            int missed = 1;
+            int emitted = 0;
 
-            OnNextEvent(Observer<? super T> actual, T event, Disposable d) {
-                this.actual = actual;
-                this.event = event;
-                this.d = d;
+            SimpleQueue<T> q = queue;
+            if (q == null) {
+                return;
             }
+            Observer<? super T> a = actual;
+
+            for (;;) {
+                if (checkTerminated(done, q.isEmpty(), a, q)) {
+                    return;
+                }
+
+                for (;;) {
+                    boolean d = done;
+                    T v;
 
-            @Override
-            public void run() {
-                if (!d.isDisposed()) {
-                    actual.onNext(event);
+                    try {
+                        v = q.poll();
+                    } catch (Throwable ex) {
+                        Exceptions.throwIfFatal(ex);
+                        disposed = true;
+                        upstream.dispose();
+                        q.clear();
+                        a.onError(ex);
+                        return;
+                    }
+                    boolean empty = v == null;
+
+                    if (checkTerminated(d, empty, a, q)) {
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    a.onNext(v);
+
+                    if (++emitted == DRAIN_LIMIT) {
+                        // let other EDT tasks run, the work-in-progress count keeps
+                        // the ownership of the drain so only we may resume it
+                        EventQueue.invokeLater(this);
+                        return;
+                    }
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
                 }
             }
         }
 
-        static final class OnErrorEvent<T> implements Runnable {
-            final Observer<? super T> actual;
+        void drainFused() {
+            int missed = 1;
+
+            for (;;) {
+                if (disposed) {
+                    return;
+                }
 
-            final Throwable event;
+                boolean d = done;
 
-            final Disposable d;
+                actual.onNext(null);
 
-            OnErrorEvent(Observer<? super T> actual, Throwable event, Disposable d) {
-                this.actual = actual;
-                this.event = event;
-                this.d = d;
+                if (d) {
+                    disposed = true;
+                    Throwable ex = error;
+                    if (ex != null) {
+                        actual.onError(ex);
+                    } else {
+                        actual.onComplete();
+                    }
+                    return;
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
             }
+        }
 
-            @Override
-            public void run() {
-                if (!d.isDisposed()) {
-                    actual.onError(event);
+        boolean checkTerminated(boolean d, boolean empty, Observer<? super T> a, SimpleQueue<T> q) {
+            if (disposed) {
+                q.clear();
+                return true;
+            }
+            if (d && empty) {
+                disposed = true;
+                Throwable e = error;
+                if (e != null) {
+                    a.onError(e);
+                } else {
+                    a.onComplete();
                 }
+                return true;
             }
+            return false;
+        }
+
+        @Override
+        public int requestFusion(int mode) {
+            if ((mode & ASYNC) != 0) {
+                outputFused = true;
+                return ASYNC;
+            }
+            return NONE;
+        }
+
+        @Override
+        public T poll() throws Throwable {
+            return queue.poll();
+        }
+
+        @Override
+        public void clear() {
+            queue.clear();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return queue.isEmpty();
         }
     }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.EventQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.rxjava3.core.*;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.internal.disposables.DisposableHelper;
+
+final class SwingObserveOnSingle<T> extends Single<T>
+implements SingleTransformer<T, T> {
+
+    final Single<T> source;
+
+    SwingObserveOnSingle(Single<T> source) {
+        this.source = source;
+    }
+
+    @Override
+    protected void subscribeActual(SingleObserver<? super T> observer) {
+        source.subscribe(new ObserveOnSingleObserver<T>(observer));
+    }
+
+    @Override
+    public SingleSource<T> apply(Single<T> upstream) {
+        return new SwingObserveOnSingle<>(upstream);
+    }
+
+    static final class ObserveOnSingleObserver<T> extends AtomicReference<Disposable>
+    implements SingleObserver<T>, Disposable, Runnable {
+
+        private static final long serialVersionUID = -3186225209476128463L;
+
+        final SingleObserver<? super T> actual;
+
+        T value;
+
+        Throwable error;
+
+        ObserveOnSingleObserver(SingleObserver<? super T> actual) {
+            this.actual = actual;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            if (DisposableHelper.setOnce(this, d)) {
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onSuccess(T t) {
+            value = t;
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            error = e;
+            schedule();
+        }
+
+        void schedule() {
+            if (EventQueue.isDispatchThread()) {
+                run();
+            } else {
+                EventQueue.invokeLater(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (!isDisposed()) {
+                Throwable ex = error;
+                if (ex != null) {
+                    error = null;
+                    actual.onError(ex);
+                } else {
+                    T v = value;
+                    value = null;
+                    actual.onSuccess(v);
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.EventQueue;
+import java.util.concurrent.atomic.*;
+
+import org.reactivestreams.*;
+
+import io.reactivex.rxjava3.core.*;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.MissingBackpressureException;
+import io.reactivex.rxjava3.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.rxjava3.internal.util.AtomicThrowable;
+import io.reactivex.rxjava3.operators.SpscArrayQueue;
+import io.reactivex.rxjava3.parallel.*;
+
+/**
+ * Merges the rails of a {@link ParallelFlowable} directly on the EDT by
+ * round-robin polling the per-rail prefetch queues, without an intermediate
+ * sequential stage.
+ *
+ * @param <T> the value type
+ */
+final class SwingParallelSequential<T> extends Observable<T>
+implements ParallelFlowableConverter<T, Observable<T>> {
+
+    final ParallelFlowable<T> source;
+
+    final int prefetch;
+
+    SwingParallelSequential(ParallelFlowable<T> source, int prefetch) {
+        this.source = source;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super T> observer) {
+        SequentialCoordinator<T> parent = new SequentialCoordinator<>(observer, source.parallelism(), prefetch);
+        observer.onSubscribe(parent);
+        source.subscribe(parent.rails);
+    }
+
+    @Override
+    public Observable<T> apply(ParallelFlowable<T> upstream) {
+        return new SwingParallelSequential<>(upstream, prefetch);
+    }
+
+    static final class SequentialCoordinator<T> extends AtomicInteger
+    implements Disposable, Runnable {
+
+        private static final long serialVersionUID = 3100232009247827843L;
+
+        final Observer<? super T> actual;
+
+        final RailSubscriber<T>[] rails;
+
+        final AtomicThrowable errors;
+
+        final AtomicInteger done;
+
+        volatile boolean disposed;
+
+        /** Set while the drain loop runs; accessed only from the EDT. */
+        boolean draining;
+
+        /** The rail to poll first in the next round; accessed only from the EDT. */
+        int index;
+
+        SequentialCoordinator(Observer<? super T> actual, int n, int prefetch) {
+            this.actual = actual;
+            @SuppressWarnings({ "rawtypes", "unchecked" })
+            RailSubscriber<T>[] a = new RailSubscriber[n];
+            for (int i = 0; i < n; i++) {
+                a[i] = new RailSubscriber<>(this, prefetch);
+            }
+            this.rails = a;
+            this.errors = new AtomicThrowable();
+            this.done = new AtomicInteger(n);
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                cancelAll();
+                if (getAndIncrement() == 0
+                        || (EventQueue.isDispatchThread() && !draining)) {
+                    clearAll();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        void cancelAll() {
+            for (RailSubscriber<T> rail : rails) {
+                rail.cancel();
+            }
+        }
+
+        void clearAll() {
+            for (RailSubscriber<T> rail : rails) {
+                rail.queue.clear();
+            }
+        }
+
+        void onError(Throwable e) {
+            if (errors.tryAddThrowableOrReport(e)) {
+                cancelAll();
+                drain();
+            }
+        }
+
+        void onComplete() {
+            done.decrementAndGet();
+            drain();
+        }
+
+        void drain() {
+            if (getAndIncrement() == 0) {
+                EventQueue.invokeLater(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            draining = true;
+            try {
+                drainLoop();
+            } finally {
+                draining = false;
+            }
+        }
+
+        void drainLoop() {
+            int missed = 1;
+            int emitted = 0;
+
+            RailSubscriber<T>[] a = rails;
+            int n = a.length;
+            Observer<? super T> o = actual;
+            int idx = index;
+
+            for (;;) {
+                for (;;) {
+                    if (disposed) {
+                        clearAll();
+                        return;
+                    }
+
+                    if (errors.get() != null) {
+                        disposed = true;
+                        clearAll();
+                        errors.tryTerminateConsumer(o);
+                        return;
+                    }
+
+                    boolean d = done.get() == 0;
+
+                    boolean empty = true;
+
+                    for (int i = 0; i < n; i++) {
+                        RailSubscriber<T> rail = a[idx];
+
+                        T v = rail.queue.poll();
+
+                        if (++idx == n) {
+                            idx = 0;
+                        }
+
+                        if (v != null) {
+                            empty = false;
+
+                            o.onNext(v);
+
+                            rail.requestOne();
+
+                            if (++emitted == SwingObserveOn.DRAIN_LIMIT) {
+                                // let other EDT tasks run, the work-in-progress count keeps
+                                // the ownership of the drain so only we may resume it
+                                index = idx;
+                                EventQueue.invokeLater(this);
+                                return;
+                            }
+
+                            if (disposed) {
+                                break;
+                            }
+                        }
+                    }
+
+                    if (d && empty) {
+                        disposed = true;
+                        o.onComplete();
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+                }
+
+                index = idx;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    static final class RailSubscriber<T> extends AtomicReference<Subscription>
+    implements FlowableSubscriber<T> {
+
+        private static final long serialVersionUID = -2512525706290236283L;
+
+        final SequentialCoordinator<T> parent;
+
+        final SpscArrayQueue<T> queue;
+
+        final int prefetch;
+
+        final int limit;
+
+        /** The number of items consumed since the last replenishment; accessed only from the EDT. */
+        int consumed;
+
+        RailSubscriber(SequentialCoordinator<T> parent, int prefetch) {
+            this.parent = parent;
+            this.queue = new SpscArrayQueue<>(prefetch);
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            SubscriptionHelper.setOnce(this, s, prefetch);
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (!queue.offer(t)) {
+                cancel();
+                parent.onError(new MissingBackpressureException("Queue full?!"));
+                return;
+            }
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            parent.onComplete();
+        }
+
+        void requestOne() {
+            int c = consumed + 1;
+            if (c == limit) {
+                consumed = 0;
+                get().request(c);
+            } else {
+                consumed = c;
+            }
+        }
+
+        void cancel() {
+            SubscriptionHelper.cancel(this);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import javax.swing.JComponent;
+
+import io.reactivex.rxjava3.core.*;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.internal.disposables.DisposableHelper;
+
+final class SwingTakeUntilRemoved<T> extends Observable<T>
+implements ObservableTransformer<T, T> {
+
+    final Observable<T> source;
+
+    final JComponent component;
+
+    SwingTakeUntilRemoved(Observable<T> source, JComponent component) {
+        this.source = source;
+        this.component = component;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super T> observer) {
+        source.subscribe(new TakeUntilRemovedObserver<T>(observer, component));
+    }
+
+    @Override
+    public ObservableSource<T> apply(Observable<T> upstream) {
+        return new SwingTakeUntilRemoved<>(upstream, component);
+    }
+
+    static final class TakeUntilRemovedObserver<T> implements Observer<T>, Disposable {
+
+        final Observer<? super T> actual;
+
+        final JComponent component;
+
+        Disposable upstream;
+
+        volatile boolean disposed;
+
+        TakeUntilRemovedObserver(Observer<? super T> actual, JComponent component) {
+            this.actual = actual;
+            this.component = component;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            if (DisposableHelper.validate(this.upstream, d)) {
+                this.upstream = d;
+                ComponentBindings.add(component, this);
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (!disposed) {
+                actual.onNext(t);
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (!disposed) {
+                disposed = true;
+                ComponentBindings.remove(component, this);
+                actual.onError(e);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!disposed) {
+                disposed = true;
+                ComponentBindings.remove(component, this);
+                actual.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                upstream.dispose();
+                ComponentBindings.remove(component, this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
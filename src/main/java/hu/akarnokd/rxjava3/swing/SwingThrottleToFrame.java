@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.rxjava3.core.*;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.internal.disposables.DisposableHelper;
+
+final class SwingThrottleToFrame<T> extends Observable<T>
+implements ObservableTransformer<T, T> {
+
+    final Observable<T> source;
+
+    SwingThrottleToFrame(Observable<T> source) {
+        this.source = source;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super T> observer) {
+        source.subscribe(new ThrottleToFrameObserver<T>(observer));
+    }
+
+    @Override
+    public ObservableSource<T> apply(Observable<T> upstream) {
+        return new SwingThrottleToFrame<>(upstream);
+    }
+
+    static final class ThrottleToFrameObserver<T> extends AtomicReference<T>
+    implements Observer<T>, Disposable, Runnable {
+
+        private static final long serialVersionUID = -5731411591960813736L;
+
+        final Observer<? super T> actual;
+
+        Disposable upstream;
+
+        Throwable error;
+        volatile boolean done;
+
+        volatile boolean disposed;
+
+        ThrottleToFrameObserver(Observer<? super T> actual) {
+            this.actual = actual;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            if (DisposableHelper.validate(this.upstream, d)) {
+                this.upstream = d;
+                actual.onSubscribe(this);
+                SwingFrameTicker.INSTANCE.add(this);
+                // a synchronous dispose in onSubscribe found nothing to remove
+                if (disposed) {
+                    SwingFrameTicker.INSTANCE.remove(this);
+                }
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            lazySet(t);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            error = e;
+            done = true;
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                upstream.dispose();
+                SwingFrameTicker.INSTANCE.remove(this);
+                lazySet(null);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        @Override
+        public void run() {
+            if (disposed) {
+                return;
+            }
+            boolean d = done;
+            T v = getAndSet(null);
+            if (v != null) {
+                actual.onNext(v);
+            }
+            if (d && !disposed) {
+                disposed = true;
+                SwingFrameTicker.INSTANCE.remove(this);
+                Throwable ex = error;
+                if (ex != null) {
+                    actual.onError(ex);
+                } else {
+                    actual.onComplete();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.Component;
+import java.awt.event.HierarchyEvent;
+import java.util.concurrent.Callable;
+
+import io.reactivex.rxjava3.core.*;
+import io.reactivex.rxjava3.functions.*;
+import io.reactivex.rxjava3.internal.functions.Functions;
+
+/**
+ * Subscribes to the upstream only while the component is showing, disposing it
+ * when the component gets hidden and resubscribing when it is shown again.
+ * @param <T> the value type
+ */
+final class SwingWhileShowing<T> implements ObservableTransformer<T, T>,
+Predicate<HierarchyEvent>, Function<Object, Boolean>, Callable<Boolean> {
+
+    final Component component;
+
+    SwingWhileShowing(Component component) {
+        this.component = component;
+    }
+
+    @Override
+    public ObservableSource<T> apply(final Observable<T> upstream) {
+        return SwingObservable.hierarchy(component)
+                .filter(this)
+                .map(this)
+                .startWith(Single.fromCallable(this))
+                .distinctUntilChanged()
+                .switchMap(new Function<Boolean, ObservableSource<Notification<T>>>() {
+                    @Override
+                    public ObservableSource<Notification<T>> apply(Boolean showing) {
+                        // materialize so that a completing upstream completes the whole sequence
+                        return showing ? upstream.materialize() : Observable.<Notification<T>>never();
+                    }
+                })
+                .dematerialize(Functions.<Notification<T>>identity());
+    }
+
+    @Override
+    public boolean test(HierarchyEvent e) {
+        return (e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0;
+    }
+
+    @Override
+    public Boolean apply(Object e) {
+        return component.isShowing();
+    }
+
+    @Override
+    public Boolean call() {
+        return component.isShowing();
+    }
+}
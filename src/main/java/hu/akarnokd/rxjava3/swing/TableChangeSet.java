@@ -0,0 +1,262 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.Arrays;
+
+import javax.swing.event.TableModelEvent;
+
+/**
+ * An immutable, ordered list of table changes, each described by its
+ * type, column and inclusive row range, as with {@link TableModelEvent}.
+ * <p>
+ * The changes are coalesced: overlapping or adjacent updates of the same column
+ * are merged into one range, and so are contiguous insertions or deletions.
+ * A structure change or a change of all rows supersedes all other changes,
+ * in which case the set consists of this single change only.
+ *
+ * @see SwingObservable#tableChanges(javax.swing.table.TableModel)
+ * @since 3.2.0
+ */
+public final class TableChangeSet {
+
+    final int[] types;
+
+    final int[] columns;
+
+    final int[] firstRows;
+
+    final int[] lastRows;
+
+    TableChangeSet(int[] types, int[] columns, int[] firstRows, int[] lastRows) {
+        this.types = types;
+        this.columns = columns;
+        this.firstRows = firstRows;
+        this.lastRows = lastRows;
+    }
+
+    /**
+     * Returns the number of changes.
+     * @return the number of changes
+     */
+    public int size() {
+        return types.length;
+    }
+
+    /**
+     * Returns the type of the change at the index.
+     * @param index the index of the change
+     * @return one of {@link TableModelEvent#INSERT}, {@link TableModelEvent#UPDATE}
+     * or {@link TableModelEvent#DELETE}
+     */
+    public int type(int index) {
+        return types[index];
+    }
+
+    /**
+     * Returns the column of the change at the index.
+     * @param index the index of the change
+     * @return the column index or {@link TableModelEvent#ALL_COLUMNS}
+     */
+    public int column(int index) {
+        return columns[index];
+    }
+
+    /**
+     * Returns the first row of the change at the index.
+     * @param index the index of the change
+     * @return the first row or {@link TableModelEvent#HEADER_ROW} for structure changes
+     */
+    public int firstRow(int index) {
+        return firstRows[index];
+    }
+
+    /**
+     * Returns the last row, inclusive, of the change at the index.
+     * @param index the index of the change
+     * @return the last row, {@code Integer.MAX_VALUE} if all rows may have changed
+     */
+    public int lastRow(int index) {
+        return lastRows[index];
+    }
+
+    /**
+     * Returns true if the structure of the table may have changed,
+     * requiring the columns to be re-read.
+     * @return true if the structure of the table may have changed
+     */
+    public boolean isStructureChanged() {
+        return types.length == 1 && firstRows[0] == TableModelEvent.HEADER_ROW;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("TableChangeSet[");
+        for (int i = 0; i < types.length; i++) {
+            if (i != 0) {
+                sb.append(", ");
+            }
+            sb.append(types[i] == TableModelEvent.INSERT ? "INSERT" : types[i] == TableModelEvent.DELETE ? "DELETE" : "UPDATE")
+            .append('(').append(columns[i]).append(", ").append(firstRows[i]).append("..").append(lastRows[i]).append(')');
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Accumulates changes in their order of occurrence, merging them with
+     * the previous changes where possible. Not thread-safe.
+     */
+    static final class Builder {
+
+        int[] types = new int[8];
+
+        int[] columns = new int[8];
+
+        int[] firstRows = new int[8];
+
+        int[] lastRows = new int[8];
+
+        int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(TableModelEvent e) {
+            add(e.getType(), e.getColumn(), e.getFirstRow(), e.getLastRow());
+        }
+
+        void add(int type, int column, int first, int last) {
+            int n = size;
+            if (supersedes(type, column, first, last)) {
+                // a structure change supersedes even a change of all rows
+                if (n != 1 || firstRows[0] != TableModelEvent.HEADER_ROW) {
+                    size = 0;
+                    append(type, column, first, last);
+                }
+                return;
+            }
+            if (n == 1 && supersedes(types[0], columns[0], firstRows[0], lastRows[0])) {
+                // everything gets re-read anyway
+                return;
+            }
+            if (n != 0) {
+                if (type == TableModelEvent.UPDATE) {
+                    // updates can be merged with any previous update of the same column
+                    // up to the latest insertion or deletion, which shifts the row indexes
+                    for (int i = n - 1; i >= 0; i--) {
+                        int t = types[i];
+                        if (t != TableModelEvent.UPDATE) {
+                            break;
+                        }
+                        if (columns[i] == column && first - 1 <= lastRows[i] && last >= firstRows[i] - 1) {
+                            first = Math.min(first, firstRows[i]);
+                            last = Math.max(last, lastRows[i]);
+                            firstRows[i] = first;
+                            lastRows[i] = last;
+                            // the widened range may now touch earlier updates as well
+                            for (int j = i - 1; j >= 0 && types[j] == TableModelEvent.UPDATE; j--) {
+                                if (columns[j] == column && first - 1 <= lastRows[j] && last >= firstRows[j] - 1) {
+                                    first = Math.min(first, firstRows[j]);
+                                    last = Math.max(last, lastRows[j]);
+                                    firstRows[j] = first;
+                                    lastRows[j] = last;
+                                    remove(i);
+                                    i = j;
+                                }
+                            }
+                            return;
+                        }
+                    }
+                } else if (mergesWithLast(type, column, first, last)) {
+                    int i = n - 1;
+                    int c = firstRows[i];
+                    int d = lastRows[i];
+                    if (type == TableModelEvent.INSERT) {
+                        lastRows[i] = d + (last - first + 1);
+                    } else {
+                        firstRows[i] = first;
+                        lastRows[i] = last + (d - c + 1);
+                    }
+                    return;
+                }
+            }
+            append(type, column, first, last);
+        }
+
+        /**
+         * Returns true if the insertion or deletion would be merged into the last change:
+         * inserting into or right after the previously inserted block, or deleting
+         * a block that touches the previously deleted one.
+         */
+        boolean mergesWithLast(int type, int column, int first, int last) {
+            int i = size - 1;
+            if (i < 0 || types[i] != type || columns[i] != column) {
+                return false;
+            }
+            int c = firstRows[i];
+            int d = lastRows[i];
+            if (type == TableModelEvent.INSERT) {
+                return c <= first && first - 1 <= d;
+            }
+            return type == TableModelEvent.DELETE && first <= c && c - 1 <= last;
+        }
+
+        void remove(int index) {
+            int n = size - 1;
+            System.arraycopy(types, index + 1, types, index, n - index);
+            System.arraycopy(columns, index + 1, columns, index, n - index);
+            System.arraycopy(firstRows, index + 1, firstRows, index, n - index);
+            System.arraycopy(lastRows, index + 1, lastRows, index, n - index);
+            size = n;
+        }
+
+        /** Returns true for a structure change or a change of all rows and columns. */
+        static boolean supersedes(int type, int column, int first, int last) {
+            return first == TableModelEvent.HEADER_ROW
+                    || (type == TableModelEvent.UPDATE && column == TableModelEvent.ALL_COLUMNS
+                        && first == 0 && last == Integer.MAX_VALUE);
+        }
+
+        void append(int type, int column, int first, int last) {
+            int n = size;
+            if (n == types.length) {
+                int m = n * 2;
+                types = Arrays.copyOf(types, m);
+                columns = Arrays.copyOf(columns, m);
+                firstRows = Arrays.copyOf(firstRows, m);
+                lastRows = Arrays.copyOf(lastRows, m);
+            }
+            types[n] = type;
+            columns[n] = column;
+            firstRows[n] = first;
+            lastRows[n] = last;
+            size = n + 1;
+        }
+
+        /**
+         * Returns the accumulated changes and resets this builder.
+         * @return the accumulated changes
+         */
+        TableChangeSet build() {
+            int n = size;
+            size = 0;
+            return new TableChangeSet(Arrays.copyOf(types, n), Arrays.copyOf(columns, n),
+                    Arrays.copyOf(firstRows, n), Arrays.copyOf(lastRows, n));
+        }
+    }
+}
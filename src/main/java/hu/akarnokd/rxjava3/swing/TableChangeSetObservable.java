@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.EventQueue;
+
+import javax.swing.event.*;
+import javax.swing.table.TableModel;
+
+import io.reactivex.rxjava3.core.*;
+
+final class TableChangeSetObservable extends Observable<TableChangeSet> {
+
+    final TableModel widget;
+
+    TableChangeSetObservable(TableModel widget) {
+        this.widget = widget;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super TableChangeSet> observer) {
+        TableModel w = widget;
+
+        TableChangeSetConsumer aec = new TableChangeSetConsumer(observer, w);
+        observer.onSubscribe(aec);
+
+        w.addTableModelListener(aec);
+        if (aec.get() == null) {
+            aec.onDispose(w);
+        }
+    }
+
+    static final class TableChangeSetConsumer extends AbstractEventConsumer<TableChangeSet, TableModel>
+    implements TableModelListener, Runnable {
+
+        private static final long serialVersionUID = -3605206827474016488L;
+
+        /** Accumulates the changes until the flush; accessed only from the EDT. */
+        final TableChangeSet.Builder builder;
+
+        /** Indicates a flush task has been posted to the EventQueue; accessed only from the EDT. */
+        boolean flushPending;
+
+        TableChangeSetConsumer(Observer<? super TableChangeSet> actual, TableModel widget) {
+            super(actual, widget);
+            this.builder = new TableChangeSet.Builder();
+        }
+
+        @Override
+        protected void onDispose(TableModel w) {
+            w.removeTableModelListener(this);
+        }
+
+        @Override
+        public void tableChanged(TableModelEvent e) {
+            builder.add(e);
+            if (!flushPending) {
+                flushPending = true;
+                EventQueue.invokeLater(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            flushPending = false;
+            if (!builder.isEmpty()) {
+                TableChangeSet set = builder.build();
+                if (!isDisposed()) {
+                    actual.onNext(set);
+                }
+            }
+        }
+    }
+}
@@ -25,8 +25,15 @@ final class TableModelEventObservable extends Observable<TableModelEvent> {
 
     final TableModel widget;
 
+    final boolean weak;
+
     TableModelEventObservable(TableModel widget) {
+        this(widget, false);
+    }
+
+    TableModelEventObservable(TableModel widget, boolean weak) {
         this.widget = widget;
+        this.weak = weak;
     }
 
     @Override
@@ -36,7 +43,10 @@ final class TableModelEventObservable extends Observable<TableModelEvent> {
         TableModelEventConsumer aec = new TableModelEventConsumer(observer, w);
         observer.onSubscribe(aec);
 
-        w.addTableModelListener(aec);
+        if (weak) {
+            aec.listener = new WeakTableModelListener(aec, w);
+        }
+        w.addTableModelListener(aec.listener);
         if (aec.get() == null) {
             aec.onDispose(w);
         }
@@ -47,13 +57,21 @@ final class TableModelEventObservable extends Observable<TableModelEvent> {
 
         private static final long serialVersionUID = -3605206827474016488L;
 
+        /** The listener registered with the model: this or its weak wrapper. */
+        TableModelListener listener;
+
         TableModelEventConsumer(Observer<? super TableModelEvent> actual, TableModel widget) {
             super(actual, widget);
+            this.listener = this;
         }
 
         @Override
         protected void onDispose(TableModel w) {
-            w.removeTableModelListener(this);
+            TableModelListener l = listener;
+            w.removeTableModelListener(l);
+            if (l != this) {
+                ((WeakTableModelListener)l).clear();
+            }
         }
 
         @Override
@@ -61,4 +79,25 @@ final class TableModelEventObservable extends Observable<TableModelEvent> {
             actual.onNext(e);
         }
     }
+
+    static final class WeakTableModelListener extends WeakEventListener<TableModelListener, TableModel>
+    implements TableModelListener {
+
+        WeakTableModelListener(TableModelListener listener, TableModel widget) {
+            super(listener, widget);
+        }
+
+        @Override
+        protected void unregister(TableModel w) {
+            w.removeTableModelListener(this);
+        }
+
+        @Override
+        public void tableChanged(TableModelEvent e) {
+            TableModelListener l = get();
+            if (l != null) {
+                l.tableChanged(e);
+            }
+        }
+    }
 }
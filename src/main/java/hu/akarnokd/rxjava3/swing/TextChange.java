@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+/**
+ * An immutable record of a single edit of a {@link javax.swing.text.Document}:
+ * the removal of some characters or the insertion of some text at an offset.
+ *
+ * @see SwingObservable#textChanges(javax.swing.text.Document)
+ * @since 3.2.0
+ */
+public final class TextChange {
+
+    final int offset;
+
+    final int removedLength;
+
+    final CharSequence inserted;
+
+    public TextChange(int offset, int removedLength, CharSequence inserted) {
+        this.offset = offset;
+        this.removedLength = removedLength;
+        this.inserted = inserted;
+    }
+
+    /**
+     * Returns the offset of the edit in the document.
+     * @return the offset of the edit
+     */
+    public int offset() {
+        return offset;
+    }
+
+    /**
+     * Returns the number of characters removed at the offset.
+     * @return the number of characters removed, zero for insertions
+     */
+    public int removedLength() {
+        return removedLength;
+    }
+
+    /**
+     * Returns the text inserted at the offset.
+     * @return the inserted text, empty for removals
+     */
+    public CharSequence inserted() {
+        return inserted;
+    }
+
+    @Override
+    public String toString() {
+        return "TextChange[offset=" + offset + ", removedLength=" + removedLength
+                + ", inserted=" + inserted.length() + " chars]";
+    }
+}
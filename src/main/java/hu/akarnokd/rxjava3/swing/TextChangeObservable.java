@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import javax.swing.event.*;
+import javax.swing.text.*;
+
+import io.reactivex.rxjava3.core.*;
+import io.reactivex.rxjava3.functions.*;
+
+final class TextChangeObservable extends Observable<TextChange> {
+
+    final Document widget;
+
+    TextChangeObservable(Document widget) {
+        this.widget = widget;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super TextChange> observer) {
+        Document w = widget;
+
+        TextChangeConsumer aec = new TextChangeConsumer(observer, w);
+        observer.onSubscribe(aec);
+
+        w.addDocumentListener(aec);
+        if (aec.get() == null) {
+            aec.onDispose(w);
+        }
+    }
+
+    /**
+     * Returns an Observable that emits the current text of the document as a
+     * {@link TextRope} upon subscription, then the updated texts after each edit.
+     * @param document the document to observe
+     * @return the new Observable instance
+     */
+    static Observable<TextRope> snapshots(final Document document) {
+        return new TextChangeObservable(document)
+                .scanWith(new Supplier<TextRope>() {
+                    @Override
+                    public TextRope get() throws Throwable {
+                        return TextRope.of(document.getText(0, document.getLength()));
+                    }
+                }, new BiFunction<TextRope, TextChange, TextRope>() {
+                    @Override
+                    public TextRope apply(TextRope text, TextChange change) {
+                        return text.apply(change);
+                    }
+                });
+    }
+
+    static final class TextChangeConsumer extends AbstractEventConsumer<TextChange, Document>
+    implements DocumentListener {
+
+        private static final long serialVersionUID = -3605206827474016488L;
+
+        TextChangeConsumer(Observer<? super TextChange> actual, Document widget) {
+            super(actual, widget);
+        }
+
+        @Override
+        protected void onDispose(Document w) {
+            w.removeDocumentListener(this);
+        }
+
+        @Override
+        public void insertUpdate(DocumentEvent e) {
+            String text;
+            try {
+                // only the inserted part is copied, never the whole document
+                text = e.getDocument().getText(e.getOffset(), e.getLength());
+            } catch (BadLocationException ex) {
+                dispose();
+                actual.onError(ex);
+                return;
+            }
+            actual.onNext(new TextChange(e.getOffset(), 0, text));
+        }
+
+        @Override
+        public void removeUpdate(DocumentEvent e) {
+            actual.onNext(new TextChange(e.getOffset(), e.getLength(), ""));
+        }
+
+        @Override
+        public void changedUpdate(DocumentEvent e) {
+            // attribute changes don't affect the text
+        }
+    }
+}
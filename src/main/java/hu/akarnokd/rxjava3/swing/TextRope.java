@@ -0,0 +1,340 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.*;
+
+/**
+ * An immutable text represented as a balanced tree of string chunks.
+ * <p>
+ * Inserting or deleting text creates a new instance sharing all the unaffected
+ * chunks with the original, thus each edit costs O(log n) plus the size of the
+ * inserted text instead of copying the whole text. Random access via
+ * {@link #charAt(int)} is O(log n). The instances are thread-safe and can be
+ * handed over to background threads freely.
+ *
+ * @see SwingObservable#textSnapshots(javax.swing.text.Document)
+ * @since 3.2.0
+ */
+public final class TextRope implements CharSequence {
+
+    /** The maximum length of a single chunk. */
+    static final int LEAF_SIZE = 512;
+
+    /**
+     * The Fibonacci numbers; a tree of depth d is considered balanced if its
+     * length is at least {@code FIBONACCI[d + 2]}.
+     */
+    static final long[] FIBONACCI;
+
+    static {
+        long[] fib = new long[92];
+        fib[0] = 0;
+        fib[1] = 1;
+        for (int i = 2; i < fib.length; i++) {
+            fib[i] = fib[i - 1] + fib[i - 2];
+        }
+        FIBONACCI = fib;
+    }
+
+    /** Trees up to this depth are never rebalanced. */
+    static final int MIN_REBALANCE_DEPTH = 8;
+
+    static final Leaf EMPTY_LEAF = new Leaf("");
+
+    static final TextRope EMPTY = new TextRope(EMPTY_LEAF);
+
+    final Node root;
+
+    TextRope(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the empty text.
+     * @return the empty text
+     */
+    public static TextRope empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a text with the contents of the given character sequence.
+     * @param text the text to copy
+     * @return the new TextRope instance
+     */
+    public static TextRope of(CharSequence text) {
+        Objects.requireNonNull(text, "text is null");
+        if (text.length() == 0) {
+            return EMPTY;
+        }
+        return new TextRope(build(text, 0, text.length()));
+    }
+
+    @Override
+    public int length() {
+        return root.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= root.length) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + root.length);
+        }
+        Node n = root;
+        while (n instanceof Concat) {
+            Concat c = (Concat)n;
+            if (index < c.left.length) {
+                n = c.left;
+            } else {
+                index -= c.left.length;
+                n = c.right;
+            }
+        }
+        return ((Leaf)n).text.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        checkRange(start, end);
+        StringBuilder sb = new StringBuilder(end - start);
+        root.append(sb, start, end);
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(root.length);
+        root.append(sb, 0, root.length);
+        return sb.toString();
+    }
+
+    /**
+     * Returns a new text with the given text inserted at the offset.
+     * @param offset the insertion offset, 0 to {@link #length()}
+     * @param text the text to insert
+     * @return the new TextRope instance
+     */
+    public TextRope insert(int offset, CharSequence text) {
+        Objects.requireNonNull(text, "text is null");
+        checkRange(offset, offset);
+        if (text.length() == 0) {
+            return this;
+        }
+        Node[] parts = split(root, offset);
+        return balance(concat(concat(parts[0], build(text, 0, text.length())), parts[1]));
+    }
+
+    /**
+     * Returns a new text with the given number of characters removed at the offset.
+     * @param offset the offset of the first character to remove
+     * @param count the number of characters to remove
+     * @return the new TextRope instance
+     */
+    public TextRope delete(int offset, int count) {
+        checkRange(offset, offset + count);
+        if (count == 0) {
+            return this;
+        }
+        Node[] head = split(root, offset);
+        Node[] tail = split(head[1], count);
+        return balance(concat(head[0], tail[1]));
+    }
+
+    /**
+     * Returns a new text with the given edit applied.
+     * @param change the edit to apply
+     * @return the new TextRope instance
+     */
+    public TextRope apply(TextChange change) {
+        return delete(change.offset(), change.removedLength())
+                .insert(change.offset(), change.inserted());
+    }
+
+    /**
+     * Returns the depth of the underlying tree.
+     * @return the depth of the underlying tree
+     */
+    int depth() {
+        return root.depth;
+    }
+
+    void checkRange(int start, int end) {
+        if (start < 0 || end > root.length || start > end) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + root.length);
+        }
+    }
+
+    static TextRope balance(Node n) {
+        int d = n.depth;
+        if (d > MIN_REBALANCE_DEPTH && (d + 2 >= FIBONACCI.length || n.length < FIBONACCI[d + 2])) {
+            List<Leaf> leaves = new ArrayList<>();
+            collect(n, leaves);
+            n = build(leaves, 0, leaves.size());
+        }
+        return new TextRope(n);
+    }
+
+    /** Collects the leaves in order, merging adjacent short ones. */
+    static void collect(Node n, List<Leaf> leaves) {
+        if (n instanceof Concat) {
+            Concat c = (Concat)n;
+            collect(c.left, leaves);
+            collect(c.right, leaves);
+        } else {
+            Leaf leaf = (Leaf)n;
+            int last = leaves.size() - 1;
+            if (last >= 0 && leaves.get(last).length + leaf.length <= LEAF_SIZE) {
+                leaves.set(last, new Leaf(leaves.get(last).text + leaf.text));
+            } else if (leaf.length != 0) {
+                leaves.add(leaf);
+            }
+        }
+    }
+
+    static Node build(List<Leaf> leaves, int from, int to) {
+        int count = to - from;
+        if (count == 0) {
+            return EMPTY_LEAF;
+        }
+        if (count == 1) {
+            return leaves.get(from);
+        }
+        int mid = from + count / 2;
+        return new Concat(build(leaves, from, mid), build(leaves, mid, to));
+    }
+
+    static Node build(CharSequence text, int start, int end) {
+        int len = end - start;
+        if (len <= LEAF_SIZE) {
+            return new Leaf(text.subSequence(start, end).toString());
+        }
+        int leaves = (len + LEAF_SIZE - 1) / LEAF_SIZE;
+        int mid = start + (leaves / 2) * LEAF_SIZE;
+        return new Concat(build(text, start, mid), build(text, mid, end));
+    }
+
+    static Node[] split(Node n, int index) {
+        if (index == 0) {
+            return new Node[] { EMPTY_LEAF, n };
+        }
+        if (index == n.length) {
+            return new Node[] { n, EMPTY_LEAF };
+        }
+        if (n instanceof Leaf) {
+            String text = ((Leaf)n).text;
+            return new Node[] { new Leaf(text.substring(0, index)), new Leaf(text.substring(index)) };
+        }
+        Concat c = (Concat)n;
+        int leftLength = c.left.length;
+        if (index == leftLength) {
+            return new Node[] { c.left, c.right };
+        }
+        if (index < leftLength) {
+            Node[] parts = split(c.left, index);
+            parts[1] = concat(parts[1], c.right);
+            return parts;
+        }
+        Node[] parts = split(c.right, index - leftLength);
+        parts[0] = concat(c.left, parts[0]);
+        return parts;
+    }
+
+    /** Concatenates two trees, merging short chunks at the seam. */
+    static Node concat(Node a, Node b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        if (b instanceof Leaf) {
+            if (a instanceof Leaf) {
+                if (a.length + b.length <= LEAF_SIZE) {
+                    return new Leaf(((Leaf)a).text + ((Leaf)b).text);
+                }
+            } else {
+                Concat c = (Concat)a;
+                if (c.right instanceof Leaf && c.right.length + b.length <= LEAF_SIZE) {
+                    return new Concat(c.left, new Leaf(((Leaf)c.right).text + ((Leaf)b).text));
+                }
+            }
+        } else if (a instanceof Leaf) {
+            Concat c = (Concat)b;
+            if (c.left instanceof Leaf && a.length + c.left.length <= LEAF_SIZE) {
+                return new Concat(new Leaf(((Leaf)a).text + ((Leaf)c.left).text), c.right);
+            }
+        }
+        return new Concat(a, b);
+    }
+
+    abstract static class Node {
+        final int length;
+
+        final int depth;
+
+        Node(int length, int depth) {
+            this.length = length;
+            this.depth = depth;
+        }
+
+        /**
+         * Appends the characters between start (inclusive) and end (exclusive).
+         * @param sb the target builder
+         * @param start the start index relative to this node
+         * @param end the end index relative to this node
+         */
+        abstract void append(StringBuilder sb, int start, int end);
+    }
+
+    static final class Leaf extends Node {
+        final String text;
+
+        Leaf(String text) {
+            super(text.length(), 0);
+            this.text = text;
+        }
+
+        @Override
+        void append(StringBuilder sb, int start, int end) {
+            sb.append(text, start, end);
+        }
+    }
+
+    static final class Concat extends Node {
+        final Node left;
+
+        final Node right;
+
+        Concat(Node left, Node right) {
+            super(left.length + right.length, Math.max(left.depth, right.depth) + 1);
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        void append(StringBuilder sb, int start, int end) {
+            int leftLength = left.length;
+            if (start < leftLength) {
+                left.append(sb, start, Math.min(end, leftLength));
+            }
+            if (end > leftLength) {
+                right.append(sb, Math.max(start - leftLength, 0), end - leftLength);
+            }
+        }
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.util.*;
+
+import javax.swing.event.*;
+import javax.swing.tree.TreePath;
+
+/**
+ * An immutable, ordered list of tree changes, each described by its
+ * type, parent path and the affected child indexes and children, as with
+ * {@link TreeModelEvent}.
+ * <p>
+ * The changes are coalesced per parent path: changes of children of the same
+ * parent are merged into one change with the union of their indexes, and so are
+ * consecutive insertions or removals under the same parent. A parent whose merged
+ * change would exceed the structure threshold gets a single structure change instead,
+ * and a structure change supersedes all changes within its subtree.
+ *
+ * @see SwingObservable#treeChanges(javax.swing.tree.TreeModel)
+ * @since 3.2.0
+ */
+public final class TreeChangeSet {
+
+    /** The children at the indexes have changed, see {@link TreeModelListener#treeNodesChanged(TreeModelEvent)}. */
+    public static final int CHANGED = 0;
+
+    /** The children at the indexes have been inserted, see {@link TreeModelListener#treeNodesInserted(TreeModelEvent)}. */
+    public static final int INSERTED = 1;
+
+    /** The children at the indexes have been removed, see {@link TreeModelListener#treeNodesRemoved(TreeModelEvent)}. */
+    public static final int REMOVED = 2;
+
+    /** The subtree at the path has changed, see {@link TreeModelListener#treeStructureChanged(TreeModelEvent)}. */
+    public static final int STRUCTURE_CHANGED = 3;
+
+    final int[] types;
+
+    final TreePath[] paths;
+
+    final int[][] childIndices;
+
+    final Object[][] children;
+
+    TreeChangeSet(int[] types, TreePath[] paths, int[][] childIndices, Object[][] children) {
+        this.types = types;
+        this.paths = paths;
+        this.childIndices = childIndices;
+        this.children = children;
+    }
+
+    /**
+     * Returns the number of changes.
+     * @return the number of changes
+     */
+    public int size() {
+        return types.length;
+    }
+
+    /**
+     * Returns the type of the change at the index.
+     * @param index the index of the change
+     * @return one of {@link #CHANGED}, {@link #INSERTED}, {@link #REMOVED} or {@link #STRUCTURE_CHANGED}
+     */
+    public int type(int index) {
+        return types[index];
+    }
+
+    /**
+     * Returns the path of the parent of the changed children, or the root of the
+     * changed subtree for structure changes.
+     * @param index the index of the change
+     * @return the path, null if the root of the tree has been removed
+     */
+    public TreePath path(int index) {
+        return paths[index];
+    }
+
+    /**
+     * Returns the ascending indexes of the changed children.
+     * @param index the index of the change
+     * @return a copy of the child indexes, null for structure changes or a change of the node at the path itself
+     */
+    public int[] childIndices(int index) {
+        int[] a = childIndices[index];
+        return a != null ? a.clone() : null;
+    }
+
+    /**
+     * Returns the changed children, in the order of {@link #childIndices(int)}.
+     * @param index the index of the change
+     * @return a copy of the children, null if not known
+     */
+    public Object[] children(int index) {
+        Object[] a = children[index];
+        return a != null ? a.clone() : null;
+    }
+
+    /**
+     * Delivers the changes, in order, to the listener as TreeModelEvents.
+     * @param source the source of the events, typically the model
+     * @param listener the listener to call
+     */
+    public void dispatch(Object source, TreeModelListener listener) {
+        for (int i = 0; i < types.length; i++) {
+            TreeModelEvent e = new TreeModelEvent(source, paths[i], childIndices(i), children(i));
+            switch (types[i]) {
+            case INSERTED:
+                listener.treeNodesInserted(e);
+                break;
+            case REMOVED:
+                listener.treeNodesRemoved(e);
+                break;
+            case STRUCTURE_CHANGED:
+                listener.treeStructureChanged(e);
+                break;
+            default:
+                listener.treeNodesChanged(e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("TreeChangeSet[");
+        for (int i = 0; i < types.length; i++) {
+            if (i != 0) {
+                sb.append(", ");
+            }
+            int t = types[i];
+            sb.append(t == INSERTED ? "INSERTED" : t == REMOVED ? "REMOVED" : t == STRUCTURE_CHANGED ? "STRUCTURE_CHANGED" : "CHANGED")
+            .append('(').append(paths[i]);
+            if (childIndices[i] != null) {
+                sb.append(", ").append(Arrays.toString(childIndices[i]));
+            }
+            sb.append(')');
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Accumulates changes in their order of occurrence, merging them with
+     * the previous changes of the same parent where possible. Not thread-safe.
+     */
+    static final class Builder {
+
+        final int threshold;
+
+        final ArrayList<Change> changes;
+
+        /** The index of the latest CHANGED change per path not followed by an insertion or removal. */
+        final HashMap<TreePath, Integer> changedIndex;
+
+        /** The paths of the structure changes. */
+        final HashSet<TreePath> structurePaths;
+
+        /** Set if the whole tree changed, superseding everything. */
+        boolean rootChanged;
+
+        Builder(int threshold) {
+            this.threshold = threshold;
+            this.changes = new ArrayList<>();
+            this.changedIndex = new HashMap<>();
+            this.structurePaths = new HashSet<>();
+        }
+
+        boolean isEmpty() {
+            return changes.isEmpty();
+        }
+
+        void add(int type, TreeModelEvent e) {
+            add(type, e.getTreePath(), e.getChildIndices(), e.getChildren());
+        }
+
+        void add(int type, TreePath path, int[] indices, Object[] nodes) {
+            if (isCovered(path)) {
+                return;
+            }
+            if (path == null || type == STRUCTURE_CHANGED || (indices == null && type != CHANGED)) {
+                addStructure(path);
+                return;
+            }
+            if (indices != null) {
+                indices = indices.clone();
+                nodes = nodes != null && nodes.length == indices.length ? nodes.clone() : null;
+                if (!isAscending(indices)) {
+                    sort(indices, nodes);
+                }
+            }
+            if (type == CHANGED) {
+                Integer index = changedIndex.get(path);
+                if (index != null) {
+                    Change c = changes.get(index);
+                    if (indices == null && c.indices == null) {
+                        return;
+                    }
+                    if (indices != null && c.indices != null) {
+                        union(c, c.indices, c.nodes, indices, nodes);
+                        return;
+                    }
+                }
+                changedIndex.put(path, changes.size());
+                changes.add(new Change(type, path, indices, nodes));
+                return;
+            }
+
+            // insertions and removals shift the indexes of the earlier changes of the parent
+            changedIndex.remove(path);
+            int last = changes.size() - 1;
+            if (last >= 0) {
+                Change c = changes.get(last);
+                if (c.type == type && path.equals(c.path)) {
+                    if (type == INSERTED) {
+                        // the earlier insertions move up by the later ones before them
+                        union(c, shift(c.indices, indices), c.nodes, indices, nodes);
+                    } else {
+                        // the later removals refer to the children without the earlier ones
+                        union(c, c.indices, c.nodes, shift(indices, c.indices), nodes);
+                    }
+                    return;
+                }
+            }
+            changes.add(new Change(type, path, indices, nodes));
+        }
+
+        boolean isCovered(TreePath path) {
+            if (rootChanged) {
+                return true;
+            }
+            if (!structurePaths.isEmpty()) {
+                for (TreePath p = path; p != null; p = p.getParentPath()) {
+                    if (structurePaths.contains(p)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        void addStructure(TreePath path) {
+            Iterator<Change> it = changes.iterator();
+            while (it.hasNext()) {
+                Change c = it.next();
+                if (path == null || path.isDescendant(c.path)) {
+                    it.remove();
+                    if (c.type == STRUCTURE_CHANGED) {
+                        structurePaths.remove(c.path);
+                    }
+                }
+            }
+            changes.add(new Change(STRUCTURE_CHANGED, path, null, null));
+            if (path == null) {
+                rootChanged = true;
+            } else {
+                structurePaths.add(path);
+            }
+            changedIndex.clear();
+            for (int i = 0; i < changes.size(); i++) {
+                Change c = changes.get(i);
+                if (c.type == CHANGED) {
+                    changedIndex.put(c.path, i);
+                } else if (c.type != STRUCTURE_CHANGED) {
+                    changedIndex.remove(c.path);
+                }
+            }
+        }
+
+        /**
+         * Merges two ascending index arrays and their children into the change,
+         * the second winning on duplicates, and turns the change into a structure
+         * change of the parent if it grows above the threshold.
+         */
+        void union(Change c, int[] a, Object[] an, int[] b, Object[] bn) {
+            int[] r = new int[a.length + b.length];
+            Object[] rn = an != null && bn != null ? new Object[r.length] : null;
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < a.length || j < b.length) {
+                if (j == b.length || (i < a.length && a[i] < b[j])) {
+                    if (rn != null) {
+                        rn[k] = an[i];
+                    }
+                    r[k++] = a[i++];
+                } else {
+                    if (i < a.length && a[i] == b[j]) {
+                        i++;
+                    }
+                    if (rn != null) {
+                        rn[k] = bn[j];
+                    }
+                    r[k++] = b[j++];
+                }
+            }
+            if (k > threshold) {
+                addStructure(c.path);
+                return;
+            }
+            c.indices = k == r.length ? r : Arrays.copyOf(r, k);
+            c.nodes = rn == null || k == rn.length ? rn : Arrays.copyOf(rn, k);
+        }
+
+        /**
+         * Returns the ascending indexes shifted past the ascending {@code by} indexes
+         * which refer to the same list: each index is incremented by the number of
+         * {@code by} indexes at or before its shifted position.
+         */
+        static int[] shift(int[] indices, int[] by) {
+            int[] result = new int[indices.length];
+            int j = 0;
+            for (int i = 0; i < indices.length; i++) {
+                int v = indices[i] + j;
+                while (j < by.length && by[j] <= v) {
+                    j++;
+                    v++;
+                }
+                result[i] = v;
+            }
+            return result;
+        }
+
+        static boolean isAscending(int[] indices) {
+            for (int i = 1; i < indices.length; i++) {
+                if (indices[i - 1] >= indices[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        static void sort(int[] indices, Object[] nodes) {
+            // insertion sort, the arrays of a single event are short
+            for (int i = 1; i < indices.length; i++) {
+                int v = indices[i];
+                Object n = nodes != null ? nodes[i] : null;
+                int j = i - 1;
+                while (j >= 0 && indices[j] > v) {
+                    indices[j + 1] = indices[j];
+                    if (nodes != null) {
+                        nodes[j + 1] = nodes[j];
+                    }
+                    j--;
+                }
+                indices[j + 1] = v;
+                if (nodes != null) {
+                    nodes[j + 1] = n;
+                }
+            }
+        }
+
+        /**
+         * Returns the accumulated changes and resets this builder.
+         * @return the accumulated changes
+         */
+        TreeChangeSet build() {
+            int n = changes.size();
+            int[] types = new int[n];
+            TreePath[] paths = new TreePath[n];
+            int[][] indices = new int[n][];
+            Object[][] nodes = new Object[n][];
+            for (int i = 0; i < n; i++) {
+                Change c = changes.get(i);
+                types[i] = c.type;
+                paths[i] = c.path;
+                indices[i] = c.indices;
+                nodes[i] = c.nodes;
+            }
+            changes.clear();
+            changedIndex.clear();
+            structurePaths.clear();
+            rootChanged = false;
+            return new TreeChangeSet(types, paths, indices, nodes);
+        }
+    }
+
+    static final class Change {
+        final int type;
+
+        final TreePath path;
+
+        int[] indices;
+
+        Object[] nodes;
+
+        Change(int type, TreePath path, int[] indices, Object[] nodes) {
+            this.type = type;
+            this.path = path;
+            this.indices = indices;
+            this.nodes = nodes;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.EventQueue;
+
+import javax.swing.event.*;
+import javax.swing.tree.TreeModel;
+
+import io.reactivex.rxjava3.core.*;
+
+final class TreeChangeSetObservable extends Observable<TreeChangeSet> {
+
+    /** The default number of merged child indexes above which a parent gets a structure change. */
+    static final int DEFAULT_STRUCTURE_THRESHOLD = 128;
+
+    final TreeModel widget;
+
+    final int threshold;
+
+    TreeChangeSetObservable(TreeModel widget, int threshold) {
+        this.widget = widget;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super TreeChangeSet> observer) {
+        TreeModel w = widget;
+
+        TreeChangeSetConsumer aec = new TreeChangeSetConsumer(observer, w, threshold);
+        observer.onSubscribe(aec);
+
+        w.addTreeModelListener(aec);
+        if (aec.get() == null) {
+            aec.onDispose(w);
+        }
+    }
+
+    static final class TreeChangeSetConsumer extends AbstractEventConsumer<TreeChangeSet, TreeModel>
+    implements TreeModelListener, Runnable {
+
+        private static final long serialVersionUID = -3605206827474016488L;
+
+        /** Accumulates the changes until the flush; accessed only from the EDT. */
+        final TreeChangeSet.Builder builder;
+
+        /** Indicates a flush task has been posted to the EventQueue; accessed only from the EDT. */
+        boolean flushPending;
+
+        TreeChangeSetConsumer(Observer<? super TreeChangeSet> actual, TreeModel widget, int threshold) {
+            super(actual, widget);
+            this.builder = new TreeChangeSet.Builder(threshold);
+        }
+
+        @Override
+        protected void onDispose(TreeModel w) {
+            w.removeTreeModelListener(this);
+        }
+
+        @Override
+        public void treeNodesChanged(TreeModelEvent e) {
+            add(TreeChangeSet.CHANGED, e);
+        }
+
+        @Override
+        public void treeNodesInserted(TreeModelEvent e) {
+            add(TreeChangeSet.INSERTED, e);
+        }
+
+        @Override
+        public void treeNodesRemoved(TreeModelEvent e) {
+            add(TreeChangeSet.REMOVED, e);
+        }
+
+        @Override
+        public void treeStructureChanged(TreeModelEvent e) {
+            add(TreeChangeSet.STRUCTURE_CHANGED, e);
+        }
+
+        void add(int type, TreeModelEvent e) {
+            builder.add(type, e);
+            if (!flushPending) {
+                flushPending = true;
+                EventQueue.invokeLater(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            flushPending = false;
+            if (!builder.isEmpty()) {
+                TreeChangeSet set = builder.build();
+                if (!isDisposed()) {
+                    actual.onNext(set);
+                }
+            }
+        }
+    }
+}
@@ -25,8 +25,15 @@ final class TreeModelEventObservable extends Observable<TreeModelEvent> {
 
     final TreeModel widget;
 
+    final boolean weak;
+
     TreeModelEventObservable(TreeModel widget) {
+        this(widget, false);
+    }
+
+    TreeModelEventObservable(TreeModel widget, boolean weak) {
         this.widget = widget;
+        this.weak = weak;
     }
 
     @Override
@@ -36,7 +43,10 @@ final class TreeModelEventObservable extends Observable<TreeModelEvent> {
         TreeModelEventConsumer aec = new TreeModelEventConsumer(observer, w);
         observer.onSubscribe(aec);
 
-        w.addTreeModelListener(aec);
+        if (weak) {
+            aec.listener = new WeakTreeModelListener(aec, w);
+        }
+        w.addTreeModelListener(aec.listener);
         if (aec.get() == null) {
             aec.onDispose(w);
         }
@@ -47,13 +57,21 @@ final class TreeModelEventObservable extends Observable<TreeModelEvent> {
 
         private static final long serialVersionUID = -3605206827474016488L;
 
+        /** The listener registered with the model: this or its weak wrapper. */
+        TreeModelListener listener;
+
         TreeModelEventConsumer(Observer<? super TreeModelEvent> actual, TreeModel widget) {
             super(actual, widget);
+            this.listener = this;
         }
 
         @Override
         protected void onDispose(TreeModel w) {
-            w.removeTreeModelListener(this);
+            TreeModelListener l = listener;
+            w.removeTreeModelListener(l);
+            if (l != this) {
+                ((WeakTreeModelListener)l).clear();
+            }
         }
 
         @Override
@@ -77,4 +95,49 @@ final class TreeModelEventObservable extends Observable<TreeModelEvent> {
         }
 
     }
+
+    static final class WeakTreeModelListener extends WeakEventListener<TreeModelListener, TreeModel>
+    implements TreeModelListener {
+
+        WeakTreeModelListener(TreeModelListener listener, TreeModel widget) {
+            super(listener, widget);
+        }
+
+        @Override
+        protected void unregister(TreeModel w) {
+            w.removeTreeModelListener(this);
+        }
+
+        @Override
+        public void treeNodesChanged(TreeModelEvent e) {
+            TreeModelListener l = get();
+            if (l != null) {
+                l.treeNodesChanged(e);
+            }
+        }
+
+        @Override
+        public void treeNodesInserted(TreeModelEvent e) {
+            TreeModelListener l = get();
+            if (l != null) {
+                l.treeNodesInserted(e);
+            }
+        }
+
+        @Override
+        public void treeNodesRemoved(TreeModelEvent e) {
+            TreeModelListener l = get();
+            if (l != null) {
+                l.treeNodesRemoved(e);
+            }
+        }
+
+        @Override
+        public void treeStructureChanged(TreeModelEvent e) {
+            TreeModelListener l = get();
+            if (l != null) {
+                l.treeStructureChanged(e);
+            }
+        }
+    }
 }
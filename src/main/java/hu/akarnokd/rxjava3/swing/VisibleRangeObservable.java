@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.*;
+import java.awt.event.*;
+
+import javax.swing.*;
+import javax.swing.event.*;
+
+import io.reactivex.rxjava3.core.*;
+
+/**
+ * Emits the range of the visible rows of a JTable or items of a JList
+ * whenever the component or its enclosing viewport moves or resizes and the
+ * range differs from the previously emitted one.
+ * <p>
+ * The enclosing viewport is tracked via the parent changes of the component,
+ * so the component may be put into a scroll pane after the subscription.
+ */
+final class VisibleRangeObservable extends Observable<IndexRange> {
+
+    final JComponent widget;
+
+    VisibleRangeObservable(JComponent widget) {
+        this.widget = widget;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super IndexRange> observer) {
+        JComponent w = widget;
+
+        VisibleRangeConsumer aec = new VisibleRangeConsumer(observer, w);
+        observer.onSubscribe(aec);
+
+        w.addComponentListener(aec);
+        w.addHierarchyListener(aec);
+        aec.attach(w.getParent());
+        if (aec.get() == null) {
+            aec.onDispose(w);
+        } else {
+            aec.update();
+        }
+    }
+
+    static IndexRange visibleRange(JComponent w) {
+        if (w instanceof JList) {
+            JList<?> list = (JList<?>) w;
+            int first = list.getFirstVisibleIndex();
+            return first < 0 ? IndexRange.EMPTY : IndexRange.of(first, Math.max(first, list.getLastVisibleIndex()));
+        }
+        JTable table = (JTable) w;
+        Rectangle r = table.getVisibleRect();
+        int n = table.getRowCount();
+        if (r.isEmpty() || n == 0) {
+            return IndexRange.EMPTY;
+        }
+        int first = table.rowAtPoint(new Point(r.x, r.y));
+        if (first < 0) {
+            return IndexRange.EMPTY;
+        }
+        int last = table.rowAtPoint(new Point(r.x, r.y + r.height - 1));
+        if (last < 0) {
+            last = n - 1;
+        }
+        return IndexRange.of(first, last);
+    }
+
+    static final class VisibleRangeConsumer extends AbstractEventConsumer<IndexRange, JComponent>
+    implements ComponentListener, ChangeListener, HierarchyListener {
+
+        private static final long serialVersionUID = -1498725364919224574L;
+
+        /** The viewport the component is currently in, accessed from the EDT only. */
+        JViewport viewport;
+
+        /** The last emitted range, accessed from the EDT only. */
+        IndexRange last;
+
+        VisibleRangeConsumer(Observer<? super IndexRange> actual, JComponent widget) {
+            super(actual, widget);
+        }
+
+        @Override
+        protected void onDispose(JComponent w) {
+            w.removeComponentListener(this);
+            w.removeHierarchyListener(this);
+            attach(null);
+        }
+
+        /**
+         * Moves the change listener to the viewport of the given parent, if any.
+         * @param parent the new parent of the component
+         */
+        void attach(Container parent) {
+            JViewport vp = parent instanceof JViewport ? (JViewport) parent : null;
+            JViewport old = viewport;
+            if (old != vp) {
+                if (old != null) {
+                    old.removeChangeListener(this);
+                }
+                viewport = vp;
+                if (vp != null) {
+                    vp.addChangeListener(this);
+                }
+            }
+        }
+
+        @Override
+        public void hierarchyChanged(HierarchyEvent e) {
+            JComponent w = get();
+            // on removal, the changed parent is the old one
+            if (w != null && (e.getChangeFlags() & HierarchyEvent.PARENT_CHANGED) != 0 && e.getChanged() == w) {
+                attach(w.getParent());
+                update();
+            }
+        }
+
+        void update() {
+            JComponent w = get();
+            if (w != null) {
+                IndexRange r = visibleRange(w);
+                if (!r.equals(last)) {
+                    last = r;
+                    actual.onNext(r);
+                }
+            }
+        }
+
+        @Override
+        public void stateChanged(ChangeEvent e) {
+            update();
+        }
+
+        @Override
+        public void componentResized(ComponentEvent e) {
+            update();
+        }
+
+        @Override
+        public void componentMoved(ComponentEvent e) {
+            update();
+        }
+
+        @Override
+        public void componentShown(ComponentEvent e) {
+            update();
+        }
+
+        @Override
+        public void componentHidden(ComponentEvent e) {
+            update();
+        }
+    }
+}
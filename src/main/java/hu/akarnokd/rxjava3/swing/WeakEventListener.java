@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import java.awt.EventQueue;
+import java.lang.ref.*;
+
+/**
+ * Base class for listeners registered with a model on behalf of an event consumer
+ * which they reference only weakly.
+ * <p>
+ * Once the consumer becomes unreachable, a shared daemon thread polling the
+ * reference queue removes the wrapper listener from the model on the EDT,
+ * thus a long-lived model doesn't keep the consumer, its downstream and
+ * through them the views alive.
+ * @param <L> the listener type
+ * @param <W> the model type
+ */
+abstract class WeakEventListener<L, W> extends WeakReference<L> implements Runnable {
+
+    static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+
+    static {
+        Thread t = new Thread(new Reaper(), "RxSwingWeakListenerReaper");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    final W widget;
+
+    WeakEventListener(L listener, W widget) {
+        super(listener, QUEUE);
+        this.widget = widget;
+    }
+
+    @Override
+    public final void run() {
+        unregister(widget);
+    }
+
+    /**
+     * Removes this listener from the model, called on the EDT.
+     * @param w the model
+     */
+    protected abstract void unregister(W w);
+
+    static final class Reaper implements Runnable {
+        @Override
+        public void run() {
+            for (;;) {
+                Reference<?> ref;
+                try {
+                    ref = QUEUE.remove();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                EventQueue.invokeLater((Runnable)ref);
+            }
+        }
+    }
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import static org.junit.Assert.*;
+
+import java.awt.EventQueue;
+import java.util.*;
+
+import javax.swing.*;
+import javax.swing.event.*;
+import javax.swing.table.DefaultTableModel;
+
+import org.junit.Test;
+
+import io.reactivex.rxjava3.schedulers.*;
+
+public class AsyncRowSorterTest {
+
+    static DefaultTableModel model(int... values) {
+        DefaultTableModel m = new DefaultTableModel(new Object[] { "Value", "Text" }, 0) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Class<?> getColumnClass(int columnIndex) {
+                return columnIndex == 0 ? Integer.class : Object.class;
+            }
+        };
+        for (int v : values) {
+            m.addRow(new Object[] { v, "T" + v });
+        }
+        return m;
+    }
+
+    static void onEdt(Runnable r) throws Exception {
+        EventQueue.invokeAndWait(r);
+    }
+
+    static void assertView(final AsyncRowSorter<?> sorter, final int... modelRows) throws Exception {
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                int[] actual = new int[sorter.getViewRowCount()];
+                for (int i = 0; i < actual.length; i++) {
+                    actual[i] = sorter.convertRowIndexToModel(i);
+                    assertEquals(i, sorter.convertRowIndexToView(actual[i]));
+                }
+                assertArrayEquals(modelRows, actual);
+            }
+        });
+    }
+
+    static List<RowSorterEvent.Type> events(AsyncRowSorter<?> sorter) {
+        final List<RowSorterEvent.Type> list = new ArrayList<>();
+        sorter.addRowSorterListener(new RowSorterListener() {
+            @Override
+            public void sorterChanged(RowSorterEvent e) {
+                list.add(e.getType());
+            }
+        });
+        return list;
+    }
+
+    @Test
+    public void sortInBackground() throws Exception {
+        final TestScheduler scheduler = new TestScheduler();
+        final AsyncRowSorter<DefaultTableModel> sorter = new AsyncRowSorter<>(model(3, 1, 2), scheduler);
+        final List<RowSorterEvent.Type> events = events(sorter);
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                sorter.toggleSortOrder(0);
+                assertTrue(sorter.isSorting());
+            }
+        });
+
+        assertView(sorter, 0, 1, 2);
+
+        scheduler.triggerActions();
+
+        assertView(sorter, 1, 2, 0);
+        assertFalse(sorter.isSorting());
+        assertEquals(Arrays.asList(RowSorterEvent.Type.SORT_ORDER_CHANGED, RowSorterEvent.Type.SORTED), events);
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                sorter.toggleSortOrder(0);
+            }
+        });
+        scheduler.triggerActions();
+
+        assertView(sorter, 0, 2, 1);
+        assertEquals(SortOrder.DESCENDING, sorter.getSortKeys().get(0).getSortOrder());
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                sorter.setSortKeys(null);
+            }
+        });
+
+        assertView(sorter, 0, 1, 2);
+    }
+
+    @Test
+    public void supersededSortCancelled() throws Exception {
+        final TestScheduler scheduler = new TestScheduler();
+        final AsyncRowSorter<DefaultTableModel> sorter = new AsyncRowSorter<>(model(3, 1, 2), scheduler);
+        final List<RowSorterEvent.Type> events = events(sorter);
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                sorter.toggleSortOrder(0);
+                sorter.toggleSortOrder(0);
+            }
+        });
+
+        scheduler.triggerActions();
+
+        assertView(sorter, 0, 2, 1);
+        assertEquals(Arrays.asList(RowSorterEvent.Type.SORT_ORDER_CHANGED,
+                RowSorterEvent.Type.SORT_ORDER_CHANGED, RowSorterEvent.Type.SORTED), events);
+    }
+
+    @Test
+    public void filter() throws Exception {
+        final TestScheduler scheduler = new TestScheduler();
+        final AsyncRowSorter<DefaultTableModel> sorter = new AsyncRowSorter<>(model(5, 1, 4, 2, 3), scheduler);
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                sorter.setRowFilter(RowFilter.numberFilter(RowFilter.ComparisonType.AFTER, 2, 0));
+                sorter.toggleSortOrder(0);
+            }
+        });
+
+        scheduler.triggerActions();
+
+        assertView(sorter, 4, 2, 0);
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                assertEquals(-1, sorter.convertRowIndexToView(1));
+                sorter.setRowFilter(null);
+                sorter.setSortKeys(null);
+            }
+        });
+
+        assertView(sorter, 0, 1, 2, 3, 4);
+    }
+
+    @Test
+    public void insertDeleteFixup() throws Exception {
+        final TestScheduler scheduler = new TestScheduler();
+        final DefaultTableModel model = model(3, 1, 2);
+        final AsyncRowSorter<DefaultTableModel> sorter = new AsyncRowSorter<>(model, scheduler);
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                sorter.toggleSortOrder(0);
+            }
+        });
+        scheduler.triggerActions();
+
+        assertView(sorter, 1, 2, 0);
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                model.insertRow(0, new Object[] { 0, "T0" });
+                sorter.rowsInserted(0, 0);
+            }
+        });
+
+        assertView(sorter, 2, 3, 1, 0);
+
+        scheduler.triggerActions();
+
+        assertView(sorter, 0, 2, 3, 1);
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                model.removeRow(2);
+                sorter.rowsDeleted(2, 2);
+            }
+        });
+
+        assertView(sorter, 0, 2, 1);
+        assertFalse(sorter.isSorting());
+    }
+
+    @Test
+    public void modelChangesCoalesced() throws Exception {
+        final TestScheduler scheduler = new TestScheduler();
+        final DefaultTableModel model = model(3, 1, 2);
+        final AsyncRowSorter<DefaultTableModel> sorter = new AsyncRowSorter<>(model, scheduler);
+        final List<RowSorterEvent.Type> events = events(sorter);
+        final AsyncRowSorter.SortTask[] task = { null };
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                sorter.toggleSortOrder(0);
+                task[0] = sorter.pending;
+
+                model.setValueAt(5, 1, 0);
+                sorter.rowsUpdated(1, 1);
+                model.insertRow(0, new Object[] { 4, "T4" });
+                sorter.rowsInserted(0, 0);
+                model.setValueAt(0, 3, 0);
+                sorter.rowsUpdated(3, 3, 0);
+                model.removeRow(2);
+                sorter.rowsDeleted(2, 2);
+
+                // the running sort keeps running
+                assertSame(task[0], sorter.pending);
+                assertFalse(task[0].isDisposed());
+            }
+        });
+
+        // model: 4, 3, 0
+        assertView(sorter, 0, 1, 2);
+
+        scheduler.triggerActions();
+
+        // the outcome of the snapshot 3, 1, 2 fixed up with the missed changes
+        assertView(sorter, 2, 1, 0);
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                assertTrue(sorter.isSorting());
+                assertNotSame(task[0], sorter.pending);
+            }
+        });
+
+        scheduler.triggerActions();
+
+        assertView(sorter, 2, 1, 0);
+        assertFalse(sorter.isSorting());
+        assertEquals(Arrays.asList(RowSorterEvent.Type.SORT_ORDER_CHANGED,
+                RowSorterEvent.Type.SORTED, RowSorterEvent.Type.SORTED), events);
+    }
+
+    @Test
+    public void comparatorCrash() throws Exception {
+        List<Throwable> errors = TestHelper.trackPluginErrors();
+        try {
+            final TestScheduler scheduler = new TestScheduler();
+            final DefaultTableModel model = model(3, 1, 2);
+            final AsyncRowSorter<DefaultTableModel> sorter = new AsyncRowSorter<>(model, scheduler);
+            final boolean[] crash = { true };
+
+            onEdt(new Runnable() {
+                @Override
+                public void run() {
+                    sorter.setComparator(0, new Comparator<Integer>() {
+                        @Override
+                        public int compare(Integer o1, Integer o2) {
+                            if (crash[0]) {
+                                throw new IllegalStateException("Forced failure");
+                            }
+                            return o1.compareTo(o2);
+                        }
+                    });
+                    sorter.toggleSortOrder(0);
+                }
+            });
+
+            scheduler.triggerActions();
+
+            onEdt(new Runnable() {
+                @Override
+                public void run() {
+                    assertFalse(sorter.isSorting());
+                    assertTrue(sorter.missedChanges.isEmpty());
+
+                    crash[0] = false;
+                    model.setValueAt(0, 0, 0);
+                    sorter.rowsUpdated(0, 0);
+
+                    assertTrue(sorter.isSorting());
+                }
+            });
+
+            scheduler.triggerActions();
+
+            assertView(sorter, 0, 1, 2);
+
+            onEdt(new Runnable() {
+                @Override
+                public void run() {
+                    model.setValueAt(9, 0, 0);
+                    sorter.rowsUpdated(0, 0);
+                }
+            });
+
+            scheduler.triggerActions();
+
+            assertView(sorter, 1, 2, 0);
+
+            assertEquals(1, errors.size());
+            TestHelper.assertError(errors, 0, IllegalStateException.class, "Forced failure");
+        } finally {
+            io.reactivex.rxjava3.plugins.RxJavaPlugins.reset();
+        }
+    }
+
+    @Test
+    public void parallelSort() throws Exception {
+        final int n = AsyncRowSorter.PARALLEL_THRESHOLD * 4;
+        Random rnd = new Random(1);
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = rnd.nextInt(1000);
+        }
+        final DefaultTableModel model = model(values);
+        final AsyncRowSorter<DefaultTableModel> sorter = new AsyncRowSorter<>(model, Schedulers.computation());
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                sorter.toggleSortOrder(0);
+            }
+        });
+
+        for (int i = 0; i < 500; i++) {
+            final boolean[] sorting = { true };
+            onEdt(new Runnable() {
+                @Override
+                public void run() {
+                    sorting[0] = sorter.isSorting();
+                }
+            });
+            if (!sorting[0]) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                assertFalse(sorter.isSorting());
+                int last = -1;
+                int lastRow = -1;
+                for (int i = 0; i < n; i++) {
+                    int row = sorter.convertRowIndexToModel(i);
+                    int v = (Integer)model.getValueAt(row, 0);
+                    assertTrue(v >= last);
+                    if (v == last) {
+                        assertTrue(row > lastRow);
+                    }
+                    last = v;
+                    lastRow = row;
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import static org.junit.Assert.*;
+
+import java.awt.EventQueue;
+import java.util.*;
+
+import javax.swing.event.*;
+
+import org.junit.Test;
+
+import hu.akarnokd.rxjava3.swing.ColumnarTableModel.*;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+public class ColumnarTableModelTest {
+
+    static ColumnarTableModel create() {
+        return new ColumnarTableModel(new String[] { "Id", "Time", "Price", "Symbol" },
+                new ColumnType[] { ColumnType.INT, ColumnType.LONG, ColumnType.DOUBLE, ColumnType.STRING });
+    }
+
+    @Test
+    public void appendAndRead() {
+        ColumnarTableModel model = create();
+        final List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(new TableModelListener() {
+            @Override
+            public void tableChanged(TableModelEvent e) {
+                events.add(e);
+            }
+        });
+
+        Batch b = model.newBatch();
+        for (int i = 0; i < 1000; i++) {
+            b.newRow().setInt(0, i).setLong(1, i * 1000L).setDouble(2, i / 2.0);
+            if (i % 10 != 0) {
+                b.setString(3, "S" + (i % 3));
+            }
+        }
+        assertEquals(1000, b.size());
+
+        model.append(b);
+        model.append(b);
+
+        assertEquals(2000, model.getRowCount());
+        assertEquals(4, model.getColumnCount());
+        assertEquals("Price", model.getColumnName(2));
+        assertEquals(Double.class, model.getColumnClass(2));
+        assertEquals(ColumnType.STRING, model.getColumnType(3));
+
+        assertEquals(1500 - 1000, model.getInt(1500, 0));
+        assertEquals(500000L, model.getLong(1500, 1));
+        assertEquals(250.0, model.getDouble(1500, 2), 0.0);
+        assertEquals("S0", model.getString(1501, 3));
+        assertNull(model.getString(1510, 3));
+        assertEquals(5, model.getValueAt(5, 0));
+        assertEquals("S2", model.getValueAt(5, 3));
+
+        assertEquals(3, ((ColumnarTableModel.StringColumn)model.columns[3]).dictionarySize);
+
+        assertEquals(2, events.size());
+        assertEquals(1000, events.get(1).getFirstRow());
+        assertEquals(1999, events.get(1).getLastRow());
+
+        model.clear();
+
+        assertEquals(0, model.getRowCount());
+        assertEquals(3, events.size());
+    }
+
+    @Test
+    public void wrongType() {
+        ColumnarTableModel model = create();
+        Batch b = model.newBatch().newRow();
+        try {
+            b.setDouble(0, 1.0);
+            fail("Should have thrown");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+        try {
+            model.getInt(0, 0);
+            fail("Should have thrown");
+        } catch (IndexOutOfBoundsException expected) {
+            // expected
+        }
+        try {
+            model.newBatch().setInt(0, 1);
+            fail("Should have thrown");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void bind() throws Exception {
+        final ColumnarTableModel model = create();
+
+        model.bind(Flowable.range(0, 10)
+                .map(new Function<Integer, Batch>() {
+                    @Override
+                    public Batch apply(Integer v) {
+                        Batch b = model.newBatch();
+                        for (int i = 0; i < 100; i++) {
+                            b.newRow().setInt(0, v * 100 + i).setString(3, "S" + v);
+                        }
+                        return b;
+                    }
+                })
+                .subscribeOn(Schedulers.computation()));
+
+        for (int i = 0; i < 100; i++) {
+            final int[] count = { 0 };
+            EventQueue.invokeAndWait(new Runnable() {
+                @Override
+                public void run() {
+                    count[0] = model.getRowCount();
+                }
+            });
+            if (count[0] == 1000) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+
+        EventQueue.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                assertEquals(1000, model.getRowCount());
+                assertEquals(999, model.getInt(999, 0));
+                assertEquals("S9", model.getString(999, 3));
+            }
+        });
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import static org.junit.Assert.*;
+
+import java.awt.EventQueue;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Predicate;
+
+import javax.swing.JTree;
+import javax.swing.event.*;
+import javax.swing.tree.*;
+
+import org.junit.Test;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.UndeliverableException;
+import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+
+public class LazyTreeLoaderTest {
+
+    static void onEdt(Runnable r) throws Exception {
+        EventQueue.invokeAndWait(r);
+    }
+
+    static LazyTreeLoader<Integer> loader(DefaultTreeModel model, TestScheduler scheduler, int maxConcurrency) {
+        return new LazyTreeLoader<>(model, new LazyTreeLoader.ChildLoader<Integer>() {
+            @Override
+            public List<Integer> load(Integer parent) throws Throwable {
+                if (parent < 0) {
+                    throw new IOException();
+                }
+                return Arrays.asList(parent * 10 + 1, parent * 10 + 2, parent * 10 + 3);
+            }
+        }, new Predicate<Integer>() {
+            @Override
+            public boolean test(Integer v) {
+                return v < 100;
+            }
+        }, scheduler, maxConcurrency, "Loading...");
+    }
+
+    static DefaultTreeModel model() {
+        return new DefaultTreeModel(new DefaultMutableTreeNode(0));
+    }
+
+    static DefaultMutableTreeNode child(TreeNode node, int index) {
+        return (DefaultMutableTreeNode) node.getChildAt(index);
+    }
+
+    @Test
+    public void loadOnExpand() throws Exception {
+        final TestScheduler scheduler = new TestScheduler();
+        final DefaultTreeModel model = model();
+        final LazyTreeLoader<Integer> loader = loader(model, scheduler, 2);
+        final DefaultMutableTreeNode root = loader.createNode(1);
+        final List<String> events = new ArrayList<>();
+        final JTree tree = new JTree(model);
+        final Disposable[] install = { null };
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                model.setRoot(root);
+                tree.collapsePath(new TreePath(root));
+
+                assertEquals("Loading...", child(root, 0).getUserObject());
+
+                model.addTreeModelListener(new TreeModelListener() {
+                    @Override
+                    public void treeNodesChanged(TreeModelEvent e) {
+                        events.add("changed");
+                    }
+
+                    @Override
+                    public void treeNodesInserted(TreeModelEvent e) {
+                        events.add("inserted " + Arrays.toString(e.getChildIndices()));
+                    }
+
+                    @Override
+                    public void treeNodesRemoved(TreeModelEvent e) {
+                        events.add("removed " + Arrays.toString(e.getChildIndices()));
+                    }
+
+                    @Override
+                    public void treeStructureChanged(TreeModelEvent e) {
+                        events.add("structure");
+                    }
+                });
+
+                install[0] = loader.install(tree);
+                tree.expandPath(new TreePath(root));
+
+                assertTrue(loader.isLoading(root));
+                assertEquals(1, loader.activeCount());
+            }
+        });
+
+        scheduler.triggerActions();
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                assertFalse(loader.isLoading(root));
+                assertEquals(0, loader.activeCount());
+                assertEquals(3, root.getChildCount());
+                assertEquals(11, child(root, 0).getUserObject());
+                assertEquals("Loading...", child(child(root, 0), 0).getUserObject());
+                assertEquals(Arrays.asList("inserted [1, 2, 3]", "removed [0]"), events);
+                assertTrue(tree.isExpanded(new TreePath(root)));
+
+                install[0].dispose();
+                assertEquals(0, tree.getTreeWillExpandListeners().length);
+            }
+        });
+    }
+
+    @Test
+    public void nestedNodeStaysExpanded() throws Exception {
+        final TestScheduler scheduler = new TestScheduler();
+        final DefaultTreeModel model = model();
+        final LazyTreeLoader<Integer> loader = loader(model, scheduler, 2);
+        final DefaultMutableTreeNode root = new DefaultMutableTreeNode(0);
+        final DefaultMutableTreeNode node = loader.createNode(2);
+        final JTree tree = new JTree(model);
+        final TreePath path = new TreePath(new Object[] { root, node });
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                root.add(node);
+                model.setRoot(root);
+                loader.install(tree);
+
+                tree.expandPath(path);
+
+                assertTrue(tree.isExpanded(path));
+                assertTrue(loader.isLoading(node));
+            }
+        });
+
+        scheduler.triggerActions();
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                assertEquals(3, node.getChildCount());
+                assertEquals(21, child(node, 0).getUserObject());
+                assertTrue(tree.isExpanded(path));
+                assertEquals(5, tree.getRowCount());
+            }
+        });
+    }
+
+    @Test
+    public void boundedConcurrencyAndCollapse() throws Exception {
+        final TestScheduler scheduler = new TestScheduler();
+        final DefaultTreeModel model = model();
+        final LazyTreeLoader<Integer> loader = loader(model, scheduler, 2);
+        final DefaultMutableTreeNode root = new DefaultMutableTreeNode(0);
+        final List<DefaultMutableTreeNode> nodes = new ArrayList<>();
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 1; i <= 4; i++) {
+                    DefaultMutableTreeNode n = loader.createNode(i);
+                    root.add(n);
+                    nodes.add(n);
+                }
+                model.setRoot(root);
+
+                for (DefaultMutableTreeNode n : nodes) {
+                    loader.expand(n);
+                }
+
+                assertEquals(2, loader.activeCount());
+                assertEquals(2, loader.queuedCount());
+
+                loader.collapse(nodes.get(0));
+                loader.collapse(nodes.get(3));
+
+                assertFalse(loader.isLoading(nodes.get(0)));
+                assertEquals(2, loader.activeCount());
+                assertEquals(0, loader.queuedCount());
+            }
+        });
+
+        scheduler.triggerActions();
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                assertEquals(1, nodes.get(0).getChildCount());
+                assertEquals(3, nodes.get(1).getChildCount());
+                assertEquals(3, nodes.get(2).getChildCount());
+                assertEquals(1, nodes.get(3).getChildCount());
+                assertEquals(0, loader.activeCount());
+
+                loader.expand(nodes.get(0));
+                loader.expand(nodes.get(1));
+
+                assertEquals(1, loader.activeCount());
+            }
+        });
+    }
+
+    @Test
+    public void loadError() throws Exception {
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+        RxJavaPlugins.setErrorHandler(new Consumer<Throwable>() {
+            @Override
+            public void accept(Throwable e) {
+                errors.add(e);
+            }
+        });
+        try {
+            final TestScheduler scheduler = new TestScheduler();
+            final DefaultTreeModel model = model();
+            final LazyTreeLoader<Integer> loader = loader(model, scheduler, 1);
+            final DefaultMutableTreeNode node = loader.createNode(-1);
+
+            onEdt(new Runnable() {
+                @Override
+                public void run() {
+                    model.setRoot(node);
+                    loader.expand(node);
+                }
+            });
+
+            scheduler.triggerActions();
+
+            onEdt(new Runnable() {
+                @Override
+                public void run() {
+                    assertFalse(loader.isLoading(node));
+                    assertEquals(0, loader.activeCount());
+                    assertEquals(1, node.getChildCount());
+                }
+            });
+
+            assertEquals(1, errors.size());
+            assertTrue(errors.get(0).toString(), errors.get(0) instanceof UndeliverableException);
+            assertTrue(errors.get(0).getCause() instanceof IOException);
+        } finally {
+            RxJavaPlugins.reset();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import static org.junit.Assert.*;
+
+import java.awt.EventQueue;
+import java.util.*;
+
+import org.junit.Test;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.*;
+
+public class PagingLoaderTest {
+
+    static void onEdt(Runnable r) throws Exception {
+        EventQueue.invokeAndWait(r);
+    }
+
+    /** Serves pages of Integers which are completed manually. */
+    static final class Pages implements PagingLoader.PageSource<Integer> {
+        final Map<Integer, SingleSubject<List<Integer>>> requested = new LinkedHashMap<>();
+
+        final int total;
+
+        Pages(int total) {
+            this.total = total;
+        }
+
+        @Override
+        public Single<List<Integer>> fetch(int offset, int count) {
+            SingleSubject<List<Integer>> s = SingleSubject.create();
+            requested.put(offset, s);
+            return s;
+        }
+
+        void complete(int offset, int count) {
+            List<Integer> list = new ArrayList<>();
+            for (int i = offset; i < Math.min(total, offset + count); i++) {
+                list.add(i);
+            }
+            requested.get(offset).onSuccess(list);
+        }
+    }
+
+    @Test
+    public void loadVisibleAndPrefetch() throws Exception {
+        final Pages pages = new Pages(1000);
+        final PagingLoader<Integer> loader = new PagingLoader<>(pages, 10, 4, 1);
+        final PublishSubject<IndexRange> visible = PublishSubject.create();
+        final TestObserver<IndexRange> to = loader.pagesLoaded().test();
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                loader.bind(visible);
+                visible.onNext(IndexRange.of(5, 14));
+
+                assertEquals(new HashSet<>(Arrays.asList(0, 10, 20)), pages.requested.keySet());
+                assertEquals(3, loader.loadingCount());
+                assertNull(loader.get(5));
+
+                pages.complete(0, 10);
+                pages.complete(10, 10);
+            }
+        });
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                to.assertValuesOnly(IndexRange.of(0, 9), IndexRange.of(10, 19));
+                assertEquals(5, loader.get(5).intValue());
+                assertEquals(14, loader.get(14).intValue());
+                assertTrue(loader.isLoaded(19));
+                assertFalse(loader.isLoaded(20));
+
+                // scrolling up prefetches backwards and cancels the page below
+                visible.onNext(IndexRange.of(0, 4));
+
+                assertFalse(pages.requested.get(20).hasObservers());
+                assertEquals(0, loader.loadingCount());
+            }
+        });
+    }
+
+    @Test
+    public void lruEviction() throws Exception {
+        final Pages pages = new Pages(1000);
+        final PagingLoader<Integer> loader = new PagingLoader<>(pages, 10, 2, 0);
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                for (int p = 0; p < 3; p++) {
+                    loader.setVisible(IndexRange.of(p * 10, p * 10 + 9));
+                    pages.complete(p * 10, 10);
+                }
+            }
+        });
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                assertEquals(2, loader.cachedCount());
+                assertFalse(loader.isLoaded(0));
+                assertTrue(loader.isLoaded(10));
+                assertTrue(loader.isLoaded(20));
+
+                assertNull(loader.get(0));
+                assertEquals(1, loader.loadingCount());
+
+                loader.invalidate();
+
+                assertEquals(0, loader.cachedCount());
+                assertEquals(1, loader.loadingCount());
+            }
+        });
+    }
+
+    @Test
+    public void lastPartialPage() throws Exception {
+        final Pages pages = new Pages(15);
+        final PagingLoader<Integer> loader = new PagingLoader<>(pages, 10, 4, 0);
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                loader.setVisible(IndexRange.of(10, 14));
+                pages.complete(10, 10);
+            }
+        });
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                assertEquals(14, loader.get(14).intValue());
+                assertNull(loader.get(15));
+            }
+        });
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class PropertyNameSetTest {
+
+    @Test
+    public void lookup() {
+        String[] names = { "text", "icon", "enabled", "foreground", "background", "font", "border", "text" };
+        PropertyNameSet set = PropertyNameSet.of(names);
+
+        for (String name : names) {
+            assertTrue(name, set.contains(name));
+            assertTrue(name, set.contains(new String(name)));
+        }
+        assertFalse(set.contains("visible"));
+        assertFalse(set.contains(""));
+        assertFalse(set.contains(null));
+    }
+
+    @Test
+    public void sameHashCodes() {
+        // "Aa" and "BB" have the same hashCode, no multiplier can separate them
+        PropertyNameSet set = PropertyNameSet.of("Aa", "BB", "AaAa", "BBBB", "AaBB");
+
+        assertTrue(set.contains("Aa"));
+        assertTrue(set.contains("BB"));
+        assertTrue(set.contains("AaAa"));
+        assertTrue(set.contains("BBBB"));
+        assertTrue(set.contains("AaBB"));
+        assertFalse(set.contains("BBAa"));
+    }
+
+    @Test
+    public void manyNames() {
+        String[] names = new String[200];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "property" + i;
+        }
+        PropertyNameSet set = PropertyNameSet.of(names);
+
+        for (String name : names) {
+            assertTrue(name, set.contains(name));
+        }
+        assertFalse(set.contains("property200"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullName() {
+        PropertyNameSet.of("text", null);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import static org.junit.Assert.*;
+
+import java.awt.EventQueue;
+import java.util.*;
+
+import javax.swing.event.ListDataEvent;
+
+import org.junit.Test;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+public class RxListModelTest {
+
+    static void onEdt(Runnable r) throws Exception {
+        EventQueue.invokeAndWait(r);
+    }
+
+    static List<Integer> list(Integer... values) {
+        return Arrays.asList(values);
+    }
+
+    /** Applies the patch on the EDT and replays the fired events onto a copy of the previous content. */
+    static List<ListDataEvent> apply(final RxListModel<Integer> model, final List<Integer> next) throws Exception {
+        final List<ListDataEvent> events = new ArrayList<>();
+        final List<Throwable> errors = new ArrayList<>();
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                final List<Integer> mirror = new ArrayList<>(model.items);
+                Disposable d = SwingObservable.listChange(model).subscribe(new Consumer<ListDataEvent>() {
+                    @Override
+                    public void accept(ListDataEvent e) {
+                        events.add(e);
+                        int first = e.getIndex0();
+                        int last = e.getIndex1();
+                        switch (e.getType()) {
+                        case ListDataEvent.INTERVAL_ADDED:
+                            mirror.addAll(first, next.subList(first, last + 1));
+                            break;
+                        case ListDataEvent.INTERVAL_REMOVED:
+                            mirror.subList(first, last + 1).clear();
+                            break;
+                        default:
+                            for (int i = first; i <= last; i++) {
+                                mirror.set(i, next.get(i));
+                            }
+                        }
+                    }
+                }, new Consumer<Throwable>() {
+                    @Override
+                    public void accept(Throwable e) {
+                        errors.add(e);
+                    }
+                });
+                try {
+                    model.apply(new RxListModel.ListPatch<>(new ArrayList<>(next), ListDiff.diff(model.items, next)));
+                } finally {
+                    d.dispose();
+                }
+                assertTrue(errors.toString(), errors.isEmpty());
+                assertEquals(next, model.items);
+                assertEquals(next, mirror);
+            }
+        });
+        return events;
+    }
+
+    @Test
+    public void append() throws Exception {
+        RxListModel<Integer> model = new RxListModel<>();
+        apply(model, list(1, 2, 3));
+        List<ListDataEvent> events = apply(model, list(1, 2, 3, 4, 5));
+
+        assertEquals(1, events.size());
+        assertEquals(ListDataEvent.INTERVAL_ADDED, events.get(0).getType());
+        assertEquals(3, events.get(0).getIndex0());
+        assertEquals(4, events.get(0).getIndex1());
+    }
+
+    @Test
+    public void replaceAndRemove() throws Exception {
+        RxListModel<Integer> model = new RxListModel<>();
+        apply(model, list(1, 2, 3, 4, 5, 6, 7));
+        List<ListDataEvent> events = apply(model, list(1, 9, 3, 5, 6, 7));
+
+        assertEquals(2, events.size());
+        assertEquals(ListDataEvent.CONTENTS_CHANGED, events.get(0).getType());
+        assertEquals(1, events.get(0).getIndex0());
+        assertEquals(1, events.get(0).getIndex1());
+        assertEquals(ListDataEvent.INTERVAL_REMOVED, events.get(1).getType());
+        assertEquals(3, events.get(1).getIndex0());
+        assertEquals(3, events.get(1).getIndex1());
+
+        assertTrue(apply(model, list(1, 9, 3, 5, 6, 7)).isEmpty());
+    }
+
+    @Test
+    public void randomDiffs() throws Exception {
+        Random rnd = new Random(42);
+        RxListModel<Integer> model = new RxListModel<>();
+        for (int round = 0; round < 500; round++) {
+            List<Integer> next = new ArrayList<>(model.items);
+            int edits = rnd.nextInt(10);
+            for (int i = 0; i < edits; i++) {
+                int op = rnd.nextInt(3);
+                if (op == 0 || next.isEmpty()) {
+                    next.add(rnd.nextInt(next.size() + 1), rnd.nextInt(20));
+                } else if (op == 1) {
+                    next.remove(rnd.nextInt(next.size()));
+                } else {
+                    next.set(rnd.nextInt(next.size()), rnd.nextInt(20));
+                }
+            }
+            apply(model, next);
+        }
+    }
+
+    @Test
+    public void tooManyEdits() {
+        List<Integer> a = new ArrayList<>();
+        List<Integer> b = new ArrayList<>();
+        for (int i = 0; i < ListDiff.MAX_EDITS * 2; i++) {
+            a.add(i * 2);
+            b.add(i * 2 + 1);
+        }
+        b.set(b.size() - 1, a.get(a.size() - 1));
+
+        assertArrayEquals(new int[] { 0, a.size() - 1, 0, b.size() - 1 }, ListDiff.diff(a, b));
+    }
+
+    @Test
+    public void bind() throws Exception {
+        final RxListModel<Integer> model = new RxListModel<>();
+        final PublishProcessor<List<Integer>> pp = PublishProcessor.create();
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                model.bind(pp, Schedulers.single());
+            }
+        });
+
+        final List<Integer> last = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            last.add(i);
+            pp.onNext(new ArrayList<>(last));
+        }
+
+        for (int i = 0; i < 500; i++) {
+            final boolean[] done = { false };
+            onEdt(new Runnable() {
+                @Override
+                public void run() {
+                    done[0] = model.getSize() == 1000;
+                }
+            });
+            if (done[0]) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+
+        onEdt(new Runnable() {
+            @Override
+            public void run() {
+                assertEquals(last, model.items);
+                assertEquals(999, model.getElementAt(999).intValue());
+            }
+        });
+    }
+}
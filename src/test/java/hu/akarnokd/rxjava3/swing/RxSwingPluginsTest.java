@@ -16,8 +16,12 @@
 
 package hu.akarnokd.rxjava3.swing;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import javax.swing.JPanel;
+
 import org.junit.*;
 
 import io.reactivex.rxjava3.core.*;
@@ -146,6 +150,24 @@ public class RxSwingPluginsTest {
         Assert.assertSame(o, RxSwingPlugins.onAssembly(o));
     }
 
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void onAssemblyWhileShowing() {
+        final List<Observable> assembled = new ArrayList<>();
+        RxSwingPlugins.setOnAssembly(new Function<Observable, Observable>() {
+            @Override
+            public Observable apply(Observable r) throws Exception {
+                assembled.add(r);
+                return r;
+            }
+        });
+
+        Observable.just(1).compose(SwingObservable.<Integer>whileShowing(new JPanel()));
+
+        Assert.assertEquals(1, assembled.size());
+        Assert.assertTrue(assembled.get(0) instanceof HierarchyEventObservable);
+    }
+
     @Test
     public void onEdtSchedulerCrashes() {
         RxSwingPlugins.setOnEdtScheduler(new Function<Scheduler, Scheduler>() {
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import static org.junit.Assert.*;
+
+import java.awt.EventQueue;
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+import javax.swing.event.*;
+
+import org.junit.Test;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+
+public class RxTableModelTest {
+
+    static final RxTableModel.CellValueSelector<int[]> CELLS = new RxTableModel.CellValueSelector<int[]>() {
+        @Override
+        public Object apply(int[] row, int column) {
+            return row[column];
+        }
+    };
+
+    static final ToIntFunction<int[]> KEY = new ToIntFunction<int[]>() {
+        @Override
+        public int applyAsInt(int[] row) {
+            return row[0];
+        }
+    };
+
+    static void flushEdt() throws Exception {
+        EventQueue.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                // just wait for the previous tasks
+            }
+        });
+    }
+
+    /**
+     * Binds the synchronous source on the EDT so that all of its items
+     * are applied in the same EDT task.
+     */
+    static void bindOnEdt(final RxTableModel<int[]> model, final Flowable<RowChange<int[]>> source) throws Exception {
+        EventQueue.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                model.bind(source);
+            }
+        });
+        flushEdt();
+    }
+
+    static List<TableModelEvent> record(RxTableModel<?> model) {
+        final List<TableModelEvent> events = Collections.synchronizedList(new ArrayList<TableModelEvent>());
+        model.addTableModelListener(new TableModelListener() {
+            @Override
+            public void tableChanged(TableModelEvent e) {
+                events.add(e);
+            }
+        });
+        return events;
+    }
+
+    @Test
+    public void insertsCoalesced() throws Exception {
+        RxTableModel<int[]> model = new RxTableModel<>(KEY, CELLS, "Key", "Value");
+        List<TableModelEvent> events = record(model);
+
+        List<RowChange<int[]>> changes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            changes.add(RowChange.insert(i, new int[] { i, i * 10 }));
+        }
+
+        bindOnEdt(model, Flowable.fromIterable(changes));
+
+        assertEquals(100, model.getRowCount());
+        assertEquals(2, model.getColumnCount());
+        assertEquals("Value", model.getColumnName(1));
+        assertEquals(990, model.getValueAt(99, 1));
+
+        assertEquals(1, events.size());
+        assertEquals(TableModelEvent.INSERT, events.get(0).getType());
+        assertEquals(0, events.get(0).getFirstRow());
+        assertEquals(99, events.get(0).getLastRow());
+    }
+
+    @Test
+    public void keyedChanges() throws Exception {
+        final RxTableModel<int[]> model = new RxTableModel<>(KEY, CELLS, "Key", "Value");
+        final PublishProcessor<RowChange<int[]>> pp = PublishProcessor.create();
+        final List<TableModelEvent> events = record(model);
+
+        Disposable d = model.bind(pp);
+
+        EventQueue.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 10; i++) {
+                    pp.onNext(RowChange.upsert(new int[] { i * 2, i }));
+                }
+            }
+        });
+        flushEdt();
+
+        assertEquals(10, model.getRowCount());
+        assertEquals(1, events.size());
+        events.clear();
+
+        EventQueue.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                pp.onNext(RowChange.upsert(new int[] { 4, 100 }));
+                pp.onNext(RowChange.upsert(new int[] { 6, 100 }));
+                pp.onNext(RowChange.<int[]>deleteKey(0));
+                pp.onNext(RowChange.<int[]>deleteKey(1));
+                pp.onNext(RowChange.upsert(new int[] { 8, 100 }));
+            }
+        });
+        flushEdt();
+
+        assertEquals(9, model.getRowCount());
+        assertEquals(100, model.getValueAt(1, 1));
+        assertEquals(100, model.getValueAt(2, 1));
+        assertEquals(100, model.getValueAt(3, 1));
+        assertEquals(-1, model.indexOfKey(0));
+        assertEquals(3, model.indexOfKey(8));
+
+        // updates 2..3, then the delete at 0, then the update at 3 (key 8 after the shift)
+        assertEquals(3, events.size());
+        assertEquals(TableModelEvent.UPDATE, events.get(0).getType());
+        assertEquals(2, events.get(0).getFirstRow());
+        assertEquals(3, events.get(0).getLastRow());
+        assertEquals(TableModelEvent.DELETE, events.get(1).getType());
+        assertEquals(0, events.get(1).getFirstRow());
+        assertEquals(TableModelEvent.UPDATE, events.get(2).getType());
+        assertEquals(3, events.get(2).getFirstRow());
+
+        d.dispose();
+
+        assertFalse(pp.hasSubscribers());
+    }
+
+    @Test
+    public void keyIndexFollowsMiddleChanges() throws Exception {
+        RxTableModel<int[]> model = new RxTableModel<>(KEY, CELLS, "Key");
+        Random rnd = new Random(1);
+
+        List<RowChange<int[]>> changes = new ArrayList<>();
+        int size = 0;
+        // stay within one EDT batch
+        for (int i = 0; i < 120; i++) {
+            if (size != 0 && rnd.nextInt(3) == 0) {
+                changes.add(RowChange.<int[]>delete(rnd.nextInt(size)));
+                size--;
+            } else {
+                changes.add(RowChange.insert(rnd.nextInt(size + 1), new int[] { i }));
+                size++;
+            }
+        }
+
+        bindOnEdt(model, Flowable.fromIterable(changes));
+
+        assertEquals(size, model.getRowCount());
+        assertEquals(size, model.keyIndex.size);
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, model.indexOfKey(model.getRow(i)[0]));
+        }
+    }
+
+    @Test
+    public void clear() throws Exception {
+        RxTableModel<int[]> model = new RxTableModel<>(CELLS, "Key");
+        List<TableModelEvent> events = record(model);
+
+        bindOnEdt(model, Flowable.just(RowChange.insert(0, new int[] { 1 }), RowChange.update(0, new int[] { 2 }),
+                RowChange.<int[]>clear(), RowChange.insert(0, new int[] { 3 })));
+
+        assertEquals(1, model.getRowCount());
+        assertEquals(3, model.getValueAt(0, 0));
+        assertEquals(2, events.size());
+        assertEquals(Integer.MAX_VALUE, events.get(0).getLastRow());
+        assertEquals(TableModelEvent.INSERT, events.get(1).getType());
+    }
+
+    @Test
+    public void errors() throws Exception {
+        List<Throwable> errors = TestHelper.trackPluginErrors();
+        try {
+            RxTableModel<int[]> model = new RxTableModel<>(CELLS, "Key");
+
+            model.bind(Flowable.just(RowChange.<int[]>upsert(new int[] { 1 })));
+            model.bind(Flowable.just(RowChange.<int[]>delete(5)));
+            model.bind(Flowable.<RowChange<int[]>>error(new java.io.IOException()));
+
+            flushEdt();
+
+            assertEquals(3, errors.size());
+            TestHelper.assertError(errors, 0, IllegalStateException.class);
+            TestHelper.assertUndeliverable(errors, 1, IndexOutOfBoundsException.class);
+            TestHelper.assertUndeliverable(errors, 2, java.io.IOException.class);
+        } finally {
+            io.reactivex.rxjava3.plugins.RxJavaPlugins.reset();
+        }
+    }
+
+    @Test
+    public void intIndexMap() {
+        Random rnd = new Random(1);
+        IntIndexMap map = new IntIndexMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100000; i++) {
+            int key = rnd.nextInt(1000) - 500;
+            switch (rnd.nextInt(3)) {
+            case 0:
+                map.remove(key);
+                expected.remove(key);
+                break;
+            default:
+                map.put(key, i);
+                expected.put(key, i);
+            }
+            if (i % 1000 == 0) {
+                for (int k = -500; k < 500; k++) {
+                    Integer v = expected.get(k);
+                    assertEquals(v != null ? v.intValue() : -1, map.get(k));
+                }
+            }
+        }
+        assertEquals(expected.size(), map.size);
+    }
+
+    @Test
+    public void intIndexMapShift() {
+        IntIndexMap map = new IntIndexMap();
+        for (int i = 0; i < 100; i++) {
+            map.put(i * 7, i);
+        }
+
+        map.shift(50, 1);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i < 50 ? i : i + 1, map.get(i * 7));
+        }
+
+        map.shift(51, -1);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, map.get(i * 7));
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import static org.junit.Assert.*;
+
+import java.awt.EventQueue;
+import java.awt.event.ActionEvent;
+import java.io.IOException;
+import java.lang.reflect.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.JButton;
+
+import org.junit.Test;
+
+import io.reactivex.rxjava3.core.*;
+import io.reactivex.rxjava3.exceptions.MissingBackpressureException;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+
+public class SwingFlowableTest {
+
+    @Test
+    public void utilityClass() {
+        TestHelper.checkUtilityClass(SwingFlowable.class);
+    }
+
+    static void runEdt(final Runnable run) throws Exception {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        EventQueue.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    run.run();
+                } catch (Throwable ex) {
+                    error.set(ex);
+                }
+            }
+        });
+        Throwable ex = error.get();
+        if (ex instanceof Error) {
+            throw (Error)ex;
+        }
+        if (ex != null) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    @Test
+    public void nullChecks() throws Exception {
+        for (Method m : SwingFlowable.class.getMethods()) {
+            if ((m.getModifiers() & Modifier.STATIC) != 0 && !m.getName().equals("buffer")) {
+                Class<?>[] types = m.getParameterTypes();
+                assertEquals(m.toString(), BackpressureStrategy.class, types[types.length - 1]);
+                if (types[0].isPrimitive()) {
+                    continue;
+                }
+
+                Object[] args = new Object[types.length];
+                for (int i = 0; i < types.length - 1; i++) {
+                    if (types[i] == Integer.TYPE) {
+                        args[i] = 1;
+                    } else if (types[i] == Long.TYPE) {
+                        args[i] = 1L;
+                    } else if (types[i] == String.class) {
+                        args[i] = "Str";
+                    } else if (types[i] == Boolean.TYPE) {
+                        args[i] = false;
+                    }
+                }
+                args[types.length - 1] = BackpressureStrategy.BUFFER;
+                try {
+                    m.invoke(null, args);
+                    throw new RuntimeException(m.toString());
+                } catch (InvocationTargetException ex) {
+                    if (!(ex.getCause() instanceof NullPointerException)) {
+                        throw new RuntimeException(m.toString(), ex);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullMode() {
+        SwingFlowable.actions(new JButton(), null);
+    }
+
+    void clicks(final BackpressureStrategy mode, final long initial, final int clicks,
+            final TestSubscriber<ActionEvent> ts) throws Exception {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                JButton button = new JButton();
+
+                SwingFlowable.actions(button, mode).subscribe(ts);
+
+                if (initial != 0L) {
+                    ts.request(initial);
+                }
+
+                for (int i = 0; i < clicks; i++) {
+                    button.doClick(0);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void missing() throws Exception {
+        TestSubscriber<ActionEvent> ts = new TestSubscriber<>(0L);
+
+        clicks(BackpressureStrategy.MISSING, 0, 3, ts);
+
+        ts.assertValueCount(3).assertNoErrors().assertNotComplete();
+    }
+
+    @Test
+    public void error() throws Exception {
+        TestSubscriber<ActionEvent> ts = new TestSubscriber<>(0L);
+
+        clicks(BackpressureStrategy.ERROR, 2, 3, ts);
+
+        ts.assertValueCount(2).assertError(MissingBackpressureException.class);
+    }
+
+    @Test
+    public void drop() throws Exception {
+        TestSubscriber<ActionEvent> ts = new TestSubscriber<>(0L);
+
+        clicks(BackpressureStrategy.DROP, 2, 5, ts);
+
+        ts.assertValueCount(2).assertNoErrors();
+
+        ts.request(1);
+
+        ts.assertValueCount(2).assertNoErrors().assertNotComplete();
+    }
+
+    @Test
+    public void latest() throws Exception {
+        TestSubscriber<ActionEvent> ts = new TestSubscriber<>(0L);
+
+        clicks(BackpressureStrategy.LATEST, 1, 5, ts);
+
+        ts.assertValueCount(1).assertNoErrors();
+
+        ts.request(5);
+
+        ts.assertValueCount(2).assertNoErrors().assertNotComplete();
+    }
+
+    @Test
+    public void buffer() throws Exception {
+        TestSubscriber<ActionEvent> ts = new TestSubscriber<>(0L);
+
+        clicks(BackpressureStrategy.BUFFER, 1, 5, ts);
+
+        ts.assertValueCount(1).assertNoErrors();
+
+        ts.request(10);
+
+        ts.assertValueCount(5).assertNoErrors().assertNotComplete();
+    }
+
+    @Test
+    public void bufferOverflow() throws Exception {
+        TestSubscriber<ActionEvent> ts = new TestSubscriber<>(0L);
+
+        clicks(BackpressureStrategy.BUFFER, 0, Flowable.bufferSize() + 1, ts);
+
+        ts.assertEmpty();
+
+        ts.request(Long.MAX_VALUE);
+
+        ts.assertValueCount(Flowable.bufferSize())
+        .assertError(MissingBackpressureException.class);
+    }
+
+    @Test
+    public void bufferCapacityOverflowError() throws Exception {
+        final TestSubscriber<ActionEvent> ts = new TestSubscriber<>(0L);
+        final JButton button = new JButton();
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                SwingFlowable.buffer(SwingObservable.actions(button), 2, BackpressureOverflowStrategy.ERROR).subscribe(ts);
+
+                for (int i = 0; i < 3; i++) {
+                    button.doClick(0);
+                }
+
+                assertEquals(0, button.getActionListeners().length);
+            }
+        });
+
+        ts.assertEmpty();
+
+        ts.request(Long.MAX_VALUE);
+
+        ts.assertValueCount(2).assertError(MissingBackpressureException.class);
+    }
+
+    @Test
+    public void bufferCapacityDropOldest() {
+        PublishSubject<Integer> ps = PublishSubject.create();
+
+        TestSubscriber<Integer> ts = SwingFlowable.buffer(ps, 2, BackpressureOverflowStrategy.DROP_OLDEST)
+        .test(0L);
+
+        for (int i = 1; i <= 5; i++) {
+            ps.onNext(i);
+        }
+        ps.onComplete();
+
+        ts.assertEmpty();
+
+        ts.request(Long.MAX_VALUE);
+
+        ts.assertResult(4, 5);
+    }
+
+    @Test
+    public void bufferCapacityDropLatest() {
+        PublishSubject<Integer> ps = PublishSubject.create();
+
+        TestSubscriber<Integer> ts = SwingFlowable.buffer(ps, 2, BackpressureOverflowStrategy.DROP_LATEST)
+        .test(1L);
+
+        for (int i = 1; i <= 5; i++) {
+            ps.onNext(i);
+        }
+
+        ts.assertValuesOnly(1);
+
+        ts.request(1);
+
+        ts.assertValuesOnly(1, 2);
+
+        ps.onError(new IOException());
+
+        ts.request(5);
+
+        ts.assertFailure(IOException.class, 1, 2, 5);
+        assertFalse(ps.hasObservers());
+    }
+
+    @Test
+    public void bufferCapacityCancel() {
+        PublishSubject<Integer> ps = PublishSubject.create();
+
+        TestSubscriber<Integer> ts = SwingFlowable.buffer(ps, 2, BackpressureOverflowStrategy.DROP_OLDEST)
+        .test(0L);
+
+        ps.onNext(1);
+
+        ts.cancel();
+
+        assertFalse(ps.hasObservers());
+
+        ts.request(1);
+
+        ts.assertEmpty();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bufferCapacityInvalid() {
+        SwingFlowable.buffer(PublishSubject.<Integer>create(), 0, BackpressureOverflowStrategy.ERROR);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void bufferCapacityNullOverflow() {
+        SwingFlowable.buffer(PublishSubject.<Integer>create(), 1, null);
+    }
+
+    @Test
+    public void cancel() throws Exception {
+        final TestSubscriber<ActionEvent> ts = new TestSubscriber<>(0L);
+        final JButton button = new JButton();
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                SwingFlowable.actions(button, BackpressureStrategy.BUFFER).subscribe(ts);
+
+                button.doClick(0);
+
+                assertEquals(1, button.getActionListeners().length);
+
+                ts.cancel();
+
+                assertEquals(0, button.getActionListeners().length);
+            }
+        });
+
+        ts.request(1);
+
+        ts.assertEmpty();
+    }
+}
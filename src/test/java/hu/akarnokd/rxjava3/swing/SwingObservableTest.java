@@ -26,9 +26,10 @@ import java.beans.*;
 import java.io.IOException;
 import java.lang.reflect.*;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.*;
@@ -41,12 +42,14 @@ import javax.swing.tree.*;
 
 import org.junit.Test;
 
-import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.*;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.exceptions.ProtocolViolationException;
-import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.functions.*;
+import io.reactivex.rxjava3.operators.QueueFuseable;
 import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.*;
 
 public class SwingObservableTest {
 
@@ -94,7 +97,7 @@ public class SwingObservableTest {
     public void nullChecks() throws Exception {
         for (Method m : SwingObservable.class.getMethods()) {
             if ((m.getModifiers() & Modifier.STATIC) != 0) {
-                if (m.getParameterTypes().length == 1) {
+                if (m.getParameterTypes().length == 1 && !m.getParameterTypes()[0].isPrimitive()) {
                     try {
                         m.invoke(null, new Object[] { null });
                         throw new RuntimeException(m.toString());
@@ -112,9 +115,15 @@ public class SwingObservableTest {
                         if (m.getParameterTypes()[1] == Integer.TYPE) {
                             o = 1;
                         }
+                        if (m.getParameterTypes()[1] == Long.TYPE) {
+                            o = 1L;
+                        }
                         if (m.getParameterTypes()[1] == String.class) {
                             o = "Str";
                         }
+                        if (m.getParameterTypes()[1] == Boolean.TYPE) {
+                            o = false;
+                        }
 
                         m.invoke(null, new Object[] { null, o });
                         throw new RuntimeException(m.toString());
@@ -280,6 +289,164 @@ public class SwingObservableTest {
         });
     }
 
+    @Test
+    public void componentMouseShared() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                JLabel cb = new JLabel("abc");
+
+                TestObserverEx<MouseEvent> to1 = mouse(cb)
+                .subscribeWith(new TestObserverEx<MouseEvent>());
+
+                TestObserverEx<MouseEvent> to2 = mouse(cb, MOUSE_CLICK)
+                .subscribeWith(new TestObserverEx<MouseEvent>());
+
+                TestObserverEx<KeyEvent> to3 = keyboard(cb)
+                .subscribeWith(new TestObserverEx<KeyEvent>());
+
+                TestObserverEx<KeyEvent> to4 = keyboard(cb)
+                .subscribeWith(new TestObserverEx<KeyEvent>());
+
+                assertEquals(1, cb.getMouseListeners().length);
+                assertEquals(1, cb.getMouseMotionListeners().length);
+                assertEquals(1, cb.getMouseWheelListeners().length);
+                assertEquals(1, cb.getKeyListeners().length);
+                assertEquals(2, ((SharedEventListener<?>)cb.getMouseListeners()[0]).size());
+
+                MouseEvent evt = new MouseEvent(cb, 0, 0, 0, 100, 100, 1, false);
+                cb.getMouseListeners()[0].mouseClicked(evt);
+
+                to1.assertValuesOnly(evt);
+                to2.assertValuesOnly(evt);
+
+                to1.dispose();
+
+                assertEquals(1, cb.getMouseListeners().length);
+                assertEquals(0, cb.getMouseMotionListeners().length);
+                assertEquals(0, cb.getMouseWheelListeners().length);
+
+                cb.getMouseListeners()[0].mouseClicked(evt);
+
+                to1.assertValuesOnly(evt);
+                to2.assertValuesOnly(evt, evt);
+
+                to2.dispose();
+                to3.dispose();
+
+                assertEquals(0, cb.getMouseListeners().length);
+                assertEquals(1, cb.getKeyListeners().length);
+
+                to4.dispose();
+
+                assertEquals(0, cb.getKeyListeners().length);
+            }
+        });
+    }
+
+    @Test
+    public void globalEvents() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                JLabel cb = new JLabel("abc");
+                JLabel cb2 = new JLabel("def");
+
+                TestObserverEx<AWTEvent> to1 = global(AWTEvent.MOUSE_EVENT_MASK)
+                .subscribeWith(new TestObserverEx<AWTEvent>());
+
+                TestObserverEx<AWTEvent> to2 = global(cb, AWTEvent.MOUSE_EVENT_MASK | AWTEvent.COMPONENT_EVENT_MASK)
+                .subscribeWith(new TestObserverEx<AWTEvent>());
+
+                TestObserverEx<AWTEvent> to3 = global(cb2, AWTEvent.MOUSE_MOTION_EVENT_MASK)
+                .subscribeWith(new TestObserverEx<AWTEvent>());
+
+                assertEquals(0, cb.getMouseListeners().length);
+
+                MouseEvent click = new MouseEvent(cb, MouseEvent.MOUSE_CLICKED, 0, 0, 10, 10, 1, false);
+                MouseEvent click2 = new MouseEvent(cb2, MouseEvent.MOUSE_CLICKED, 0, 0, 10, 10, 1, false);
+                MouseEvent move2 = new MouseEvent(cb2, MouseEvent.MOUSE_MOVED, 0, 0, 10, 10, 0, false);
+                ComponentEvent resized = new ComponentEvent(cb, ComponentEvent.COMPONENT_RESIZED);
+
+                cb.dispatchEvent(click);
+                cb2.dispatchEvent(click2);
+                cb2.dispatchEvent(move2);
+                cb.dispatchEvent(resized);
+
+                to1.assertValuesOnly(click, click2);
+                to2.assertValuesOnly(click, resized);
+                to3.assertValuesOnly(move2);
+
+                to2.dispose();
+
+                cb.dispatchEvent(click);
+
+                to1.assertValuesOnly(click, click2, click);
+                to2.assertValuesOnly(click, resized);
+
+                to1.dispose();
+                to3.dispose();
+
+                assertEquals(0L, GlobalEventDispatcher.INSTANCE.registeredMask);
+                assertTrue(GlobalEventDispatcher.INSTANCE.components.isEmpty());
+
+                global(cb, AWTEvent.MOUSE_EVENT_MASK).test(true);
+
+                assertEquals(0L, GlobalEventDispatcher.INSTANCE.registeredMask);
+            }
+        });
+    }
+
+    @Test
+    public void globalEventsMaskCounts() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                GlobalEventDispatcher d = GlobalEventDispatcher.INSTANCE;
+                List<TestObserverEx<AWTEvent>> list = new ArrayList<TestObserverEx<AWTEvent>>();
+
+                for (int i = 0; i < 100; i++) {
+                    long mask = i % 2 == 0 ? AWTEvent.MOUSE_EVENT_MASK : AWTEvent.MOUSE_EVENT_MASK | AWTEvent.KEY_EVENT_MASK;
+                    list.add(global(new JLabel(), mask).subscribeWith(new TestObserverEx<AWTEvent>()));
+                }
+                TestObserverEx<AWTEvent> to = global(AWTEvent.FOCUS_EVENT_MASK).subscribeWith(new TestObserverEx<AWTEvent>());
+
+                assertEquals(100, d.components.size());
+                assertEquals(AWTEvent.MOUSE_EVENT_MASK | AWTEvent.KEY_EVENT_MASK, d.componentMask);
+                assertEquals(AWTEvent.MOUSE_EVENT_MASK | AWTEvent.KEY_EVENT_MASK | AWTEvent.FOCUS_EVENT_MASK, d.registeredMask);
+
+                for (int i = 1; i < 100; i += 2) {
+                    list.get(i).dispose();
+                }
+
+                assertEquals(50, d.components.size());
+                assertEquals(AWTEvent.MOUSE_EVENT_MASK, d.componentMask);
+                assertEquals(AWTEvent.MOUSE_EVENT_MASK | AWTEvent.FOCUS_EVENT_MASK, d.registeredMask);
+
+                to.dispose();
+                for (int i = 0; i < 100; i += 2) {
+                    list.get(i).dispose();
+                }
+
+                assertTrue(d.components.isEmpty());
+                assertEquals(0L, d.componentMask);
+                assertEquals(0L, d.registeredMask);
+            }
+        });
+    }
+
+    @Test
+    public void globalEventsMaskOf() {
+        assertEquals(AWTEvent.MOUSE_EVENT_MASK, GlobalEventDispatcher.maskOf(MouseEvent.MOUSE_PRESSED));
+        assertEquals(AWTEvent.MOUSE_MOTION_EVENT_MASK, GlobalEventDispatcher.maskOf(MouseEvent.MOUSE_DRAGGED));
+        assertEquals(AWTEvent.MOUSE_WHEEL_EVENT_MASK, GlobalEventDispatcher.maskOf(MouseEvent.MOUSE_WHEEL));
+        assertEquals(AWTEvent.WINDOW_FOCUS_EVENT_MASK, GlobalEventDispatcher.maskOf(WindowEvent.WINDOW_GAINED_FOCUS));
+        assertEquals(AWTEvent.HIERARCHY_EVENT_MASK, GlobalEventDispatcher.maskOf(HierarchyEvent.HIERARCHY_CHANGED));
+        assertEquals(AWTEvent.HIERARCHY_BOUNDS_EVENT_MASK, GlobalEventDispatcher.maskOf(HierarchyEvent.ANCESTOR_MOVED));
+        assertEquals(0L, GlobalEventDispatcher.maskOf(-1));
+        assertEquals(0L, GlobalEventDispatcher.maskOf(100000));
+    }
+
     @Test
     public void componentMouseMoved() {
         runEdt(new Runnable() {
@@ -325,6 +492,311 @@ public class SwingObservableTest {
         });
     }
 
+    @Test
+    public void componentMouseMove() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                JLabel cb = new JLabel("abc");
+
+                final StringBuilder sb = new StringBuilder();
+
+                Disposable d = mouseMove(cb, new MouseMoveConsumer() {
+                    @Override
+                    public void accept(int x, int y, int modifiers, long when) {
+                        sb.append(x).append(',').append(y).append(',')
+                        .append(modifiers).append(',').append(when).append(';');
+                    }
+                });
+
+                assertFalse(d.isDisposed());
+
+                MouseEvent evt = new MouseEvent(cb, MouseEvent.MOUSE_MOVED, 5, InputEvent.SHIFT_DOWN_MASK, 10, 20, 0, false);
+
+                for (MouseMotionListener ml : cb.getListeners(MouseMotionListener.class)) {
+                    ml.mouseMoved(evt);
+                    ml.mouseDragged(evt);
+                }
+
+                assertEquals("10,20," + InputEvent.SHIFT_DOWN_MASK + ",5;10,20," + InputEvent.SHIFT_DOWN_MASK + ",5;", sb.toString());
+
+                d.dispose();
+
+                assertTrue(d.isDisposed());
+                assertEquals(0, cb.getMouseMotionListeners().length);
+
+                d.dispose();
+            }
+        });
+    }
+
+    @Test
+    public void componentMouseMovePacked() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                JLabel cb = new JLabel("abc");
+
+                TestObserverEx<Long> to = mouseMovePacked(cb)
+                .subscribeWith(new TestObserverEx<Long>());
+
+                MouseEvent evt = new MouseEvent(cb, MouseEvent.MOUSE_MOVED, 0, 0, -10, 20, 0, false);
+
+                for (MouseMotionListener ml : cb.getListeners(MouseMotionListener.class)) {
+                    ml.mouseMoved(evt);
+                    ml.mouseDragged(evt);
+                }
+
+                to.assertValuesOnly(MouseMoveConsumer.pack(-10, 20), MouseMoveConsumer.pack(-10, 20));
+
+                assertEquals(-10, MouseMoveConsumer.unpackX(to.values().get(0)));
+                assertEquals(20, MouseMoveConsumer.unpackY(to.values().get(0)));
+
+                to.dispose();
+
+                assertEquals(0, cb.getMouseMotionListeners().length);
+
+                mouseMovePacked(cb).test(true);
+
+                assertEquals(0, cb.getMouseMotionListeners().length);
+            }
+        });
+    }
+
+    @Test
+    public void componentMouseCoalesce() {
+        final JLabel cb = new JLabel("abc");
+        final TestObserverEx<MouseEvent> to = new TestObserverEx<MouseEvent>();
+        final MouseEvent move1 = new MouseEvent(cb, MouseEvent.MOUSE_MOVED, 0, 0, 1, 1, 0, false);
+        final MouseEvent move2 = new MouseEvent(cb, MouseEvent.MOUSE_MOVED, 1, 0, 2, 2, 0, false);
+        final MouseEvent drag = new MouseEvent(cb, MouseEvent.MOUSE_DRAGGED, 2, InputEvent.BUTTON3_DOWN_MASK, 3, 3, 0, false);
+        final MouseEvent press = new MouseEvent(cb, MouseEvent.MOUSE_PRESSED, 3, 0, 3, 3, 1, false);
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                mouse(cb, MOUSE_ALL | MOUSE_COALESCE).subscribe(to);
+
+                MouseMotionListener mml = cb.getMouseMotionListeners()[0];
+                MouseListener ml = cb.getMouseListeners()[0];
+
+                mml.mouseMoved(move1);
+                mml.mouseMoved(move2);
+                ml.mousePressed(press);
+                mml.mouseDragged(drag);
+
+                assertEquals(2, to.values().size());
+                assertEquals(2, ((CoalescedMouseEvent)to.values().get(0)).getCoalescedCount());
+                assertEquals(2, to.values().get(0).getX());
+                assertSame(press, to.values().get(1));
+            }
+        });
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                assertEquals(3, to.values().size());
+                CoalescedMouseEvent ce = (CoalescedMouseEvent)to.values().get(2);
+                assertEquals(1, ce.getCoalescedCount());
+                assertEquals(MouseEvent.MOUSE_DRAGGED, ce.getID());
+                assertEquals(3, ce.getX());
+                assertEquals(InputEvent.BUTTON3_DOWN_MASK, ce.getModifiersEx());
+                assertEquals(drag.getModifiers(), ce.getModifiers());
+
+                MouseMotionListener mml = cb.getMouseMotionListeners()[0];
+                mml.mouseMoved(move1);
+
+                to.dispose();
+            }
+        });
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                to.assertValueCount(3);
+                assertEquals(0, cb.getMouseMotionListeners().length);
+            }
+        });
+    }
+
+    @Test
+    public void whileShowing() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                final boolean[] showing = { false };
+                JPanel panel = new JPanel() {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    public boolean isShowing() {
+                        return showing[0];
+                    }
+                };
+
+                PublishSubject<Integer> ps = PublishSubject.create();
+
+                TestObserverEx<Integer> to = ps.compose(SwingObservable.<Integer>whileShowing(panel))
+                        .subscribeWith(new TestObserverEx<Integer>());
+
+                assertFalse(ps.hasObservers());
+
+                HierarchyListener hl = panel.getHierarchyListeners()[0];
+
+                showing[0] = true;
+                hl.hierarchyChanged(new HierarchyEvent(panel, HierarchyEvent.HIERARCHY_CHANGED,
+                        panel, null, HierarchyEvent.SHOWING_CHANGED));
+
+                assertTrue(ps.hasObservers());
+
+                ps.onNext(1);
+
+                showing[0] = false;
+                hl.hierarchyChanged(new HierarchyEvent(panel, HierarchyEvent.HIERARCHY_CHANGED,
+                        panel, null, HierarchyEvent.SHOWING_CHANGED));
+
+                assertFalse(ps.hasObservers());
+
+                showing[0] = true;
+                hl.hierarchyChanged(new HierarchyEvent(panel, HierarchyEvent.HIERARCHY_CHANGED,
+                        panel, null, HierarchyEvent.PARENT_CHANGED));
+
+                assertFalse(ps.hasObservers());
+
+                hl.hierarchyChanged(new HierarchyEvent(panel, HierarchyEvent.HIERARCHY_CHANGED,
+                        panel, null, HierarchyEvent.SHOWING_CHANGED));
+
+                assertTrue(ps.hasObservers());
+
+                ps.onNext(2);
+                ps.onComplete();
+
+                to.assertResult(1, 2);
+
+                assertEquals(0, panel.getHierarchyListeners().length);
+            }
+        });
+    }
+
+    @Test
+    public void whileShowingInitiallyShowing() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                JPanel panel = new JPanel() {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    public boolean isShowing() {
+                        return true;
+                    }
+                };
+
+                Observable.just(1).compose(SwingObservable.<Integer>whileShowing(panel))
+                .test()
+                .assertResult(1);
+            }
+        });
+    }
+
+    @Test
+    public void takeUntilRemoved() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                JButton button = new JButton();
+
+                TestObserverEx<ActionEvent> to = actions(button)
+                        .compose(SwingObservable.<ActionEvent>takeUntilRemoved(button))
+                        .subscribeWith(new TestObserverEx<ActionEvent>());
+
+                PublishSubject<Integer> ps = PublishSubject.create();
+                Disposable d = ComponentBindings.bind(button, ps.subscribe());
+
+                assertEquals(2, ComponentBindings.bindingCount(button));
+                assertEquals((Integer)2, ComponentBindings.liveBindings().get(button));
+
+                button.doClick(0);
+
+                AncestorListener al = button.getAncestorListeners()[0];
+
+                al.ancestorRemoved(new AncestorEvent(button, AncestorEvent.ANCESTOR_REMOVED, null, null));
+
+                to.assertValueCount(1).assertNotTerminated();
+                assertTrue(d.isDisposed());
+                assertFalse(ps.hasObservers());
+
+                assertEquals(0, ComponentBindings.bindingCount(button));
+                assertNull(ComponentBindings.liveBindings().get(button));
+                assertEquals(0, button.getAncestorListeners().length);
+                assertEquals(0, button.getActionListeners().length);
+            }
+        });
+    }
+
+    @Test
+    public void componentBindingsDontLeak() throws Exception {
+        final java.lang.ref.WeakReference<?>[] ref = { null };
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                JButton button = new JButton();
+                ComponentBindings.bind(button, actions(button).subscribe());
+                actions(button).compose(SwingObservable.<ActionEvent>takeUntilRemoved(button)).subscribe();
+
+                assertEquals(2, ComponentBindings.bindingCount(button));
+
+                ref[0] = new java.lang.ref.WeakReference<JButton>(button);
+            }
+        });
+
+        for (int i = 0; i < 100 && ref[0].get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(ref[0].get());
+    }
+
+    @Test
+    public void takeUntilRemovedUnbind() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                JButton button = new JButton();
+
+                PublishSubject<Integer> ps = PublishSubject.create();
+
+                TestObserverEx<Integer> to = ps
+                        .compose(SwingObservable.<Integer>takeUntilRemoved(button))
+                        .subscribeWith(new TestObserverEx<Integer>());
+
+                Disposable res = Disposable.empty();
+                Disposable d = ComponentBindings.bind(button, res);
+
+                assertEquals(2, ComponentBindings.bindingCount(button));
+
+                ps.onNext(1);
+                ps.onComplete();
+
+                to.assertResult(1);
+
+                assertEquals(1, ComponentBindings.bindingCount(button));
+
+                assertTrue(ComponentBindings.unbind(button, res));
+                assertFalse(ComponentBindings.unbind(button, res));
+                assertFalse(res.isDisposed());
+
+                assertEquals(0, button.getAncestorListeners().length);
+
+                d.dispose();
+
+                assertTrue(res.isDisposed());
+            }
+        });
+    }
+
     @Test
     public void componentMouseWheel() {
         runEdt(new Runnable() {
@@ -768,12 +1240,110 @@ public class SwingObservableTest {
     }
 
     @Test
-    public void textDocument() {
+    public void componentPropertyChangeNames() {
         runEdt(new Runnable() {
             @Override
             public void run() {
-                JEditorPane cb = new JEditorPane();
-                cb.setText("abc");
+                JLabel cb = new JLabel("abc");
+                int listeners = cb.getPropertyChangeListeners().length;
+
+                TestObserverEx<PropertyChangeEvent> to = propertyChange(cb, "text", "icon", JComponent.TOOL_TIP_TEXT_KEY)
+                .subscribeWith(new TestObserverEx<PropertyChangeEvent>());
+
+                assertEquals(listeners + 1, cb.getPropertyChangeListeners().length);
+
+                cb.setText("def");
+                cb.setForeground(Color.RED);
+                cb.setToolTipText("tip");
+                cb.setIconTextGap(10);
+                cb.setText(new String("def"));
+                cb.firePropertyChange(null, 1, 2);
+
+                to.assertValueCount(3)
+                .assertNotTerminated();
+                assertEquals("text", to.values().get(0).getPropertyName());
+                assertEquals(JComponent.TOOL_TIP_TEXT_KEY, to.values().get(1).getPropertyName());
+                assertNull(to.values().get(2).getPropertyName());
+
+                to.dispose();
+
+                assertEquals(listeners, cb.getPropertyChangeListeners().length);
+            }
+        });
+    }
+
+    @Test
+    public void componentPropertyValues() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                JLabel cb = new JLabel("abc");
+
+                TestObserverEx<String> to = propertyValues(cb, "text", String.class)
+                .subscribeWith(new TestObserverEx<String>());
+
+                cb.setText("def");
+                cb.setText("ghi");
+                cb.setText(null);
+                cb.setText("ghi");
+                for (PropertyChangeListener l : cb.getPropertyChangeListeners("text")) {
+                    l.propertyChange(new PropertyChangeEvent(cb, "text", "x", new String("ghi")));
+                }
+                cb.setText("jkl");
+
+                to.assertValuesOnly("def", "ghi", "ghi", "jkl");
+
+                TestObserverEx<Integer> to2 = propertyValues(cb, "text", Integer.class)
+                .subscribeWith(new TestObserverEx<Integer>());
+
+                cb.setText("mno");
+
+                to2.assertFailure(ClassCastException.class);
+
+                cb.setText("pqr");
+
+                to.dispose();
+
+                for (PropertyChangeListener l : cb.getPropertyChangeListeners()) {
+                    assertFalse(l instanceof PropertyChangeListenerProxy
+                            && "text".equals(((PropertyChangeListenerProxy)l).getPropertyName()));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void componentPropertyValuesPrimitive() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                JLabel cb = new JLabel("abc");
+
+                TestObserverEx<Boolean> to = propertyValues(cb, "enabled", boolean.class)
+                .subscribeWith(new TestObserverEx<Boolean>());
+
+                cb.setEnabled(false);
+                cb.setEnabled(true);
+
+                to.assertValuesOnly(false, true);
+
+                TestObserverEx<Integer> to2 = propertyValues(cb, "enabled", int.class)
+                .subscribeWith(new TestObserverEx<Integer>());
+
+                cb.setEnabled(false);
+
+                to2.assertFailure(ClassCastException.class);
+            }
+        });
+    }
+
+    @Test
+    public void textDocument() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                JEditorPane cb = new JEditorPane();
+                cb.setText("abc");
                 AbstractDocument d = (AbstractDocument) cb.getDocument();
 
                 TestObserverEx<DocumentEvent> to = document(cb)
@@ -1667,90 +2237,598 @@ public class SwingObservableTest {
     }
 
     @Test
-    public void tableRowSorter() {
+    public void tableRowSorter() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                JTable cb = new JTable();
+                DefaultTableModel tm = new DefaultTableModel();
+                tm.addColumn("First");
+                tm.addRow(new Object[] { "cell" });
+                cb.setModel(tm);
+
+                TableRowSorter<TableModel> rs = new TableRowSorter<>();
+                rs.setModel(tm);
+                cb.setRowSorter(rs);
+                rs.setSortKeys(Collections.singletonList(new SortKey(0, SortOrder.ASCENDING)));
+
+                TestObserverEx<RowSorterEvent> to = rowSorter(cb)
+                .subscribeWith(new TestObserverEx<RowSorterEvent>());
+
+                rs.sort();
+
+                to
+                  .assertSubscribed()
+                  .assertValueCount(1)
+                  .assertNotTerminated();
+
+                rs.sort();
+
+                to.assertValueCount(2)
+                .assertNotTerminated();
+
+                to.dispose();
+
+                rs.sort();
+
+                to.assertValueCount(2)
+                .assertNotTerminated();
+
+                rowSorter(cb).test(true);
+            }
+        });
+    }
+
+    @Test
+    public void tableTableModel() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                JTable cb = new JTable();
+                DefaultTableModel tm = new DefaultTableModel();
+                tm.addColumn("First");
+                tm.addRow(new Object[] { "cell" });
+                cb.setModel(tm);
+
+                TestObserverEx<TableModelEvent> to = tableModel(cb)
+                .subscribeWith(new TestObserverEx<TableModelEvent>());
+
+                TableModelEvent evt = new TableModelEvent(tm, 0, 0, 1);
+
+                for (TableModelListener ml : tm.getListeners(TableModelListener.class)) {
+                    ml.tableChanged(evt);
+                }
+
+                to
+                  .assertSubscribed()
+                  .assertValueCount(1)
+                  .assertNotTerminated();
+
+                for (TableModelListener ml : tm.getListeners(TableModelListener.class)) {
+                    ml.tableChanged(evt);
+                }
+
+                to.assertValueCount(2)
+                .assertNotTerminated();
+
+                to.dispose();
+
+                for (TableModelListener ml : tm.getListeners(TableModelListener.class)) {
+                    ml.tableChanged(evt);
+                }
+
+                to.assertValueCount(2)
+                .assertNotTerminated();
+
+                tableModel(cb).test(true);
+            }
+        });
+    }
+
+    @Test
+    public void tableModelWeak() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                DefaultTableModel tm = new DefaultTableModel();
+
+                TestObserverEx<TableModelEvent> to = SwingObservable.tableModelWeak(tm)
+                .subscribeWith(new TestObserverEx<TableModelEvent>());
+
+                TableModelListener[] ls = tm.getListeners(TableModelListener.class);
+                assertEquals(1, ls.length);
+                assertTrue(ls[0] instanceof WeakEventListener);
+
+                tm.addColumn("First");
+
+                to.assertValueCount(1).assertNotTerminated();
+
+                to.dispose();
+
+                assertEquals(0, tm.getListeners(TableModelListener.class).length);
+
+                tm.addColumn("Second");
+
+                to.assertValueCount(1).assertNotTerminated();
+            }
+        });
+    }
+
+    @Test
+    public void tableModelWeakReaped() throws Exception {
+        final DefaultTableModel tm = new DefaultTableModel();
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                SwingObservable.tableModelWeak(tm).subscribe();
+            }
+        });
+
+        final int[] count = { 1 };
+        for (int i = 0; i < 100 && count[0] != 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+            runEdt(new Runnable() {
+                @Override
+                public void run() {
+                    count[0] = tm.getListeners(TableModelListener.class).length;
+                }
+            });
+        }
+
+        assertEquals(0, count[0]);
+    }
+
+    @Test
+    public void modelsWeak() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                DefaultListModel<Integer> lm = new DefaultListModel<>();
+                TestObserverEx<ListDataEvent> to1 = SwingObservable.listChangeWeak(lm)
+                        .subscribeWith(new TestObserverEx<ListDataEvent>());
+                lm.addElement(1);
+                lm.set(0, 2);
+                lm.remove(0);
+                to1.assertValueCount(3);
+                to1.dispose();
+                assertEquals(0, lm.getListDataListeners().length);
+
+                DefaultTreeModel tm = new DefaultTreeModel(new DefaultMutableTreeNode());
+                TestObserverEx<TreeModelEvent> to2 = SwingObservable.treeModelWeak(tm)
+                        .subscribeWith(new TestObserverEx<TreeModelEvent>());
+                tm.reload();
+                to2.assertValueCount(1);
+                to2.dispose();
+                assertEquals(0, tm.getTreeModelListeners().length);
+
+                PlainDocument doc = new PlainDocument();
+                TestObserverEx<DocumentEvent> to3 = SwingObservable.documentWeak(doc)
+                        .subscribeWith(new TestObserverEx<DocumentEvent>());
+                try {
+                    doc.insertString(0, "abc", null);
+                    doc.remove(0, 1);
+                } catch (BadLocationException ex) {
+                    throw new AssertionError(ex);
+                }
+                to3.assertValueCount(2);
+                to3.dispose();
+                assertEquals(0, doc.getDocumentListeners().length);
+            }
+        });
+    }
+
+    @Test
+    public void textChanges() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                PlainDocument doc = new PlainDocument();
+
+                TestObserverEx<TextChange> to = SwingObservable.textChanges(doc)
+                        .subscribeWith(new TestObserverEx<TextChange>());
+
+                TestObserverEx<TextRope> to2 = SwingObservable.textSnapshots(doc)
+                        .subscribeWith(new TestObserverEx<TextRope>());
+
+                try {
+                    doc.insertString(0, "Hello World", null);
+                    doc.remove(5, 6);
+                    doc.insertString(5, "!", null);
+                } catch (BadLocationException ex) {
+                    throw new AssertionError(ex);
+                }
+
+                to.assertValueCount(3);
+                assertEquals(0, to.values().get(0).offset());
+                assertEquals("Hello World", to.values().get(0).inserted().toString());
+                assertEquals(5, to.values().get(1).offset());
+                assertEquals(6, to.values().get(1).removedLength());
+                assertEquals(0, to.values().get(1).inserted().length());
+
+                to2.assertValueCount(4);
+                assertEquals("", to2.values().get(0).toString());
+                assertEquals("Hello World", to2.values().get(1).toString());
+                assertEquals("Hello", to2.values().get(2).toString());
+                assertEquals("Hello!", to2.values().get(3).toString());
+
+                to.dispose();
+                to2.dispose();
+
+                assertEquals(0, doc.getDocumentListeners().length);
+            }
+        });
+    }
+
+    @Test
+    public void textSnapshotsDebounced() throws Exception {
+        final PlainDocument doc = new PlainDocument();
+        final TestObserverEx<TextRope> to = new TestObserverEx<TextRope>();
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    doc.insertString(0, "abc", null);
+
+                    SwingObservable.textSnapshots(doc, 50, TimeUnit.MILLISECONDS).subscribe(to);
+
+                    doc.insertString(3, "def", null);
+                    doc.remove(0, 1);
+                    doc.insertString(0, "x", null);
+                } catch (BadLocationException ex) {
+                    throw new AssertionError(ex);
+                }
+            }
+        });
+
+        to.awaitCount(2);
+
+        to.assertValueCount(2);
+        assertEquals("abc", to.values().get(0).toString());
+        assertEquals("xbcdef", to.values().get(1).toString());
+
+        Thread.sleep(100);
+
+        to.assertValueCount(2);
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                to.dispose();
+                assertEquals(0, doc.getDocumentListeners().length);
+            }
+        });
+    }
+
+    @Test
+    public void textSnapshotsRegisteredWhileRendering() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                final boolean[] rendering = { false };
+                PlainDocument doc = new PlainDocument() {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    public void render(Runnable r) {
+                        rendering[0] = true;
+                        try {
+                            super.render(r);
+                        } finally {
+                            rendering[0] = false;
+                        }
+                    }
+
+                    @Override
+                    public void addDocumentListener(DocumentListener listener) {
+                        assertTrue(rendering[0]);
+                        super.addDocumentListener(listener);
+                    }
+                };
+
+                TestObserverEx<TextRope> to = SwingObservable.textSnapshots(doc, 50, TimeUnit.MILLISECONDS)
+                        .subscribeWith(new TestObserverEx<TextRope>());
+
+                to.assertValueCount(1).assertNoErrors();
+
+                to.dispose();
+            }
+        });
+    }
+
+    @Test
+    public void textSnapshotsOutOfSync() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                PlainDocument doc = new PlainDocument();
+
+                TestObserverEx<TextRope> to = SwingObservable.textSnapshots(doc, 50, TimeUnit.MILLISECONDS)
+                        .subscribeWith(new TestObserverEx<TextRope>());
+
+                DocumentEvent e = new DocumentEvent() {
+                    @Override
+                    public int getOffset() {
+                        return 100;
+                    }
+
+                    @Override
+                    public int getLength() {
+                        return 5;
+                    }
+
+                    @Override
+                    public Document getDocument() {
+                        return null;
+                    }
+
+                    @Override
+                    public EventType getType() {
+                        return EventType.REMOVE;
+                    }
+
+                    @Override
+                    public ElementChange getChange(Element elem) {
+                        return null;
+                    }
+                };
+
+                doc.getDocumentListeners()[0].removeUpdate(e);
+
+                to.assertError(IndexOutOfBoundsException.class);
+                assertEquals(0, doc.getDocumentListeners().length);
+            }
+        });
+    }
+
+    @Test
+    public void tableChanges() {
+        final DefaultTableModel tm = new DefaultTableModel(0, 2);
+        final TestObserverEx<TableChangeSet> to = new TestObserverEx<TableChangeSet>();
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                SwingObservable.tableChanges(tm).subscribe(to);
+
+                for (int i = 0; i < 100; i++) {
+                    tm.addRow(new Object[] { i, i });
+                }
+                for (int i = 0; i < 100; i++) {
+                    tm.setValueAt(i + 1, i, 1);
+                }
+
+                to.assertEmpty();
+            }
+        });
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                to.assertValueCount(1);
+                TableChangeSet set = to.values().get(0);
+                assertEquals(2, set.size());
+                assertEquals(TableModelEvent.INSERT, set.type(0));
+                assertEquals(0, set.firstRow(0));
+                assertEquals(99, set.lastRow(0));
+                assertEquals(TableModelEvent.UPDATE, set.type(1));
+                assertEquals(1, set.column(1));
+                assertEquals(0, set.firstRow(1));
+                assertEquals(99, set.lastRow(1));
+
+                tm.removeRow(0);
+                to.dispose();
+
+                assertEquals(0, tm.getTableModelListeners().length);
+            }
+        });
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                to.assertValueCount(1);
+            }
+        });
+    }
+
+    @Test
+    public void selectionSnapshots() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                DefaultListSelectionModel model = new DefaultListSelectionModel();
+                model.setSelectionInterval(2, 3);
+
+                TestObserverEx<SelectionSnapshot> to = SwingObservable.selectionSnapshots(model)
+                        .subscribeWith(new TestObserverEx<SelectionSnapshot>());
+                TestObserverEx<SelectionSnapshot> to2 = SwingObservable.selectionSnapshots(model, true)
+                        .subscribeWith(new TestObserverEx<SelectionSnapshot>());
+
+                to.assertValueCount(1);
+                assertArrayEquals(new int[] { 2, 3 }, to.values().get(0).toArray());
+
+                model.setSelectionInterval(0, 499999);
+
+                to.assertValueCount(2);
+                SelectionSnapshot big = to.values().get(1);
+                assertEquals(500000, big.getSelectedCount());
+                assertEquals(0, big.getMinSelectionIndex());
+                assertEquals(499999, big.getMaxSelectionIndex());
+
+                model.setValueIsAdjusting(true);
+                model.removeSelectionInterval(10, 19);
+                model.removeSelectionInterval(100, 499999);
+                model.setValueIsAdjusting(false);
+
+                to.assertValueCount(3);
+                to2.assertValueCount(4);
+
+                SelectionSnapshot small = to.values().get(2);
+                assertEquals(90, small.getSelectedCount());
+                assertFalse(small.isSelected(15));
+                assertTrue(small.isSelected(20));
+                assertEquals(20, small.nextSelectedIndex(10));
+                assertEquals(small, to2.values().get(3));
+
+                assertEquals(500000, big.getSelectedCount());
+                assertTrue(big.isSelected(15));
+
+                model.clearSelection();
+
+                to.assertValueCount(4);
+                assertSame(SelectionSnapshot.EMPTY, to.values().get(3));
+
+                to.dispose();
+                to2.dispose();
+
+                assertEquals(0, model.getListSelectionListeners().length);
+            }
+        });
+    }
+
+    @Test
+    public void treeChanges() {
+        final DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+        final DefaultTreeModel tm = new DefaultTreeModel(root);
+        final TestObserverEx<TreeChangeSet> to = new TestObserverEx<TreeChangeSet>();
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                SwingObservable.treeChanges(tm).subscribe(to);
+
+                for (int i = 0; i < 10; i++) {
+                    tm.insertNodeInto(new DefaultMutableTreeNode(i), root, i);
+                }
+                for (int i = 0; i < 10; i += 2) {
+                    tm.nodeChanged(root.getChildAt(i));
+                }
+
+                to.assertEmpty();
+            }
+        });
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                to.assertValueCount(1);
+                TreeChangeSet set = to.values().get(0);
+                assertEquals(2, set.size());
+                assertEquals(TreeChangeSet.INSERTED, set.type(0));
+                assertEquals(10, set.childIndices(0).length);
+                assertEquals(TreeChangeSet.CHANGED, set.type(1));
+                assertArrayEquals(new int[] { 0, 2, 4, 6, 8 }, set.childIndices(1));
+
+                to.dispose();
+
+                assertEquals(0, tm.getTreeModelListeners().length);
+            }
+        });
+    }
+
+    @Test
+    public void visibleRows() {
+        final DefaultTableModel tm = new DefaultTableModel(1000, 1);
+        final JTable table = new JTable(tm);
+        final JViewport vp = new JViewport();
+        final TestObserverEx<IndexRange> to = new TestObserverEx<IndexRange>();
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                table.setRowHeight(10);
+                vp.setView(table);
+                vp.setSize(100, 100);
+                table.setSize(table.getPreferredSize());
+                int componentListeners = table.getComponentListeners().length;
+                int changeListeners = vp.getChangeListeners().length;
+
+                SwingObservable.visibleRows(table).subscribe(to);
+
+                to.assertValuesOnly(IndexRange.of(0, 9));
+
+                vp.setViewPosition(new Point(0, 200));
+                vp.setViewPosition(new Point(0, 200));
+                vp.setViewPosition(new Point(0, 205));
+
+                to.assertValuesOnly(IndexRange.of(0, 9), IndexRange.of(20, 29), IndexRange.of(20, 30));
+
+                to.dispose();
+
+                assertEquals(componentListeners, table.getComponentListeners().length);
+                assertEquals(changeListeners, vp.getChangeListeners().length);
+            }
+        });
+    }
+
+    @Test
+    public void visibleRowsSubscribedBeforeScrollPane() {
+        final DefaultTableModel tm = new DefaultTableModel(1000, 1);
+        final JTable table = new JTable(tm);
+        final TestObserverEx<IndexRange> to = new TestObserverEx<IndexRange>();
+
         runEdt(new Runnable() {
             @Override
             public void run() {
-                JTable cb = new JTable();
-                DefaultTableModel tm = new DefaultTableModel();
-                tm.addColumn("First");
-                tm.addRow(new Object[] { "cell" });
-                cb.setModel(tm);
+                table.setRowHeight(10);
+                table.setSize(table.getPreferredSize());
 
-                TableRowSorter<TableModel> rs = new TableRowSorter<>();
-                rs.setModel(tm);
-                cb.setRowSorter(rs);
-                rs.setSortKeys(Collections.singletonList(new SortKey(0, SortOrder.ASCENDING)));
+                SwingObservable.visibleRows(table).subscribe(to);
 
-                TestObserverEx<RowSorterEvent> to = rowSorter(cb)
-                .subscribeWith(new TestObserverEx<RowSorterEvent>());
+                JViewport vp = new JViewport();
+                int changeListeners = vp.getChangeListeners().length;
+                vp.setView(table);
 
-                rs.sort();
+                assertEquals(changeListeners + 1, vp.getChangeListeners().length);
 
-                to
-                  .assertSubscribed()
-                  .assertValueCount(1)
-                  .assertNotTerminated();
+                vp.setSize(100, 100);
 
-                rs.sort();
+                // the viewport grows without moving or resizing the table
+                vp.setSize(100, 200);
 
-                to.assertValueCount(2)
-                .assertNotTerminated();
+                to.assertValuesOnly(IndexRange.of(0, 999), IndexRange.EMPTY, IndexRange.of(0, 9), IndexRange.of(0, 19));
 
-                to.dispose();
+                vp.remove(table);
 
-                rs.sort();
+                assertEquals(changeListeners, vp.getChangeListeners().length);
 
-                to.assertValueCount(2)
-                .assertNotTerminated();
+                to.dispose();
 
-                rowSorter(cb).test(true);
+                assertEquals(0, table.getHierarchyListeners().length);
             }
         });
     }
 
     @Test
-    public void tableTableModel() {
+    public void visibleRange() {
+        final DefaultListModel<Integer> lm = new DefaultListModel<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            lm.addElement(i);
+        }
+        final JList<Integer> list = new JList<Integer>(lm);
+        final JViewport vp = new JViewport();
+        final TestObserverEx<IndexRange> to = new TestObserverEx<IndexRange>();
+
         runEdt(new Runnable() {
             @Override
             public void run() {
-                JTable cb = new JTable();
-                DefaultTableModel tm = new DefaultTableModel();
-                tm.addColumn("First");
-                tm.addRow(new Object[] { "cell" });
-                cb.setModel(tm);
-
-                TestObserverEx<TableModelEvent> to = tableModel(cb)
-                .subscribeWith(new TestObserverEx<TableModelEvent>());
-
-                TableModelEvent evt = new TableModelEvent(tm, 0, 0, 1);
+                list.setFixedCellHeight(10);
+                vp.setView(list);
+                vp.setSize(100, 100);
+                list.setSize(list.getPreferredSize());
+                int changeListeners = vp.getChangeListeners().length;
 
-                for (TableModelListener ml : tm.getListeners(TableModelListener.class)) {
-                    ml.tableChanged(evt);
-                }
-
-                to
-                  .assertSubscribed()
-                  .assertValueCount(1)
-                  .assertNotTerminated();
+                SwingObservable.visibleRange(list).subscribe(to);
 
-                for (TableModelListener ml : tm.getListeners(TableModelListener.class)) {
-                    ml.tableChanged(evt);
-                }
+                vp.setViewPosition(new Point(0, 9990));
 
-                to.assertValueCount(2)
-                .assertNotTerminated();
+                to.assertValuesOnly(IndexRange.of(0, 9), IndexRange.of(999, 999));
 
                 to.dispose();
 
-                for (TableModelListener ml : tm.getListeners(TableModelListener.class)) {
-                    ml.tableChanged(evt);
-                }
-
-                to.assertValueCount(2)
-                .assertNotTerminated();
-
-                tableModel(cb).test(true);
+                assertEquals(changeListeners, vp.getChangeListeners().length);
             }
         });
     }
@@ -2729,6 +3807,427 @@ public class SwingObservableTest {
         .assertFailure(IOException.class);
     }
 
+    @Test
+    public void swingObserveOnSyncFused() {
+        Observable.range(1, 1000)
+        .compose(SwingObservable.<Integer>observeOnEdt())
+        .subscribeWith(new TestObserverEx<Integer>())
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertValueCount(1000)
+        .assertNoErrors()
+        .assertComplete();
+    }
+
+    @Test
+    public void swingObserveOnAsyncFused() {
+        UnicastSubject<Integer> us = UnicastSubject.create();
+
+        TestObserverEx<Integer> to = us
+        .compose(SwingObservable.<Integer>observeOnEdt())
+        .subscribeWith(new TestObserverEx<Integer>());
+
+        for (int i = 1; i <= 1000; i++) {
+            us.onNext(i);
+        }
+        us.onComplete();
+
+        to
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertValueCount(1000)
+        .assertNoErrors()
+        .assertComplete();
+    }
+
+    @Test
+    public void swingObserveOnOutputFused() {
+        Observable.range(1, 5)
+        .compose(SwingObservable.<Integer>observeOnEdt())
+        .subscribeWith(new TestObserverEx<Integer>(QueueFuseable.ANY))
+        .assertFusionMode(QueueFuseable.ASYNC)
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertResult(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void swingObserveOnOutputFusedError() {
+        Observable.range(1, 5).concatWith(Observable.<Integer>error(new IOException()))
+        .compose(SwingObservable.<Integer>observeOnEdt())
+        .subscribeWith(new TestObserverEx<Integer>(QueueFuseable.ANY))
+        .assertFusionMode(QueueFuseable.ASYNC)
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertFailure(IOException.class, 1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void swingObserveOnFusedCrash() {
+        Observable.range(1, 5)
+        .map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                if (v == 3) {
+                    throw new IOException();
+                }
+                return v;
+            }
+        })
+        .compose(SwingObservable.<Integer>observeOnEdt())
+        .subscribeWith(new TestObserverEx<Integer>())
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertFailure(IOException.class, 1, 2);
+    }
+
+    @Test
+    public void swingObserveOnDisposeOnEdtReleasesItems() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                TestObserverEx<Integer> to = new TestObserverEx<Integer>();
+                SwingObserveOn.ObserveOnObserver<Integer> oo = new SwingObserveOn.ObserveOnObserver<Integer>(to);
+                oo.onSubscribe(Disposable.empty());
+
+                oo.onNext(1);
+                oo.onNext(2);
+
+                assertFalse(oo.queue.isEmpty());
+
+                oo.dispose();
+
+                assertTrue(oo.queue.isEmpty());
+            }
+        });
+    }
+
+    @Test
+    public void swingObserveOnDisposeOffEdtReleasesItems() throws Exception {
+        final CountDownLatch cdl = new CountDownLatch(1);
+        EventQueue.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    cdl.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    // ignored
+                }
+            }
+        });
+
+        try {
+            TestObserverEx<Integer> to = new TestObserverEx<Integer>();
+            SwingObserveOn.ObserveOnObserver<Integer> oo = new SwingObserveOn.ObserveOnObserver<Integer>(to);
+            oo.onSubscribe(Disposable.empty());
+
+            oo.onNext(1);
+            oo.onNext(2);
+
+            oo.dispose();
+
+            assertNull(oo.queue);
+
+            oo.onNext(3);
+        } finally {
+            cdl.countDown();
+        }
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                // wait for the pending drain to find nothing
+            }
+        });
+    }
+
+    static final class EdtCheck implements Consumer<Object>, io.reactivex.rxjava3.functions.Action {
+        volatile boolean onEdt;
+
+        @Override
+        public void accept(Object t) throws Exception {
+            onEdt = EventQueue.isDispatchThread();
+        }
+
+        @Override
+        public void run() throws Exception {
+            onEdt = EventQueue.isDispatchThread();
+        }
+    }
+
+    @Test
+    public void swingObserveOnSingle() {
+        EdtCheck check = new EdtCheck();
+
+        Single.just(1)
+        .compose(SwingObservable.<Integer>observeOnEdtSingle())
+        .doOnSuccess(check)
+        .subscribeWith(new TestObserverEx<Integer>())
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertResult(1);
+
+        assertTrue(check.onEdt);
+    }
+
+    @Test
+    public void swingObserveOnSingleError() {
+        EdtCheck check = new EdtCheck();
+
+        Single.<Integer>error(new IOException())
+        .compose(SwingObservable.<Integer>observeOnEdtSingle())
+        .doOnError(check)
+        .subscribeWith(new TestObserverEx<Integer>())
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertFailure(IOException.class);
+
+        assertTrue(check.onEdt);
+    }
+
+    @Test
+    public void swingObserveOnSingleOnEdt() {
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                Single.just(1)
+                .compose(SwingObservable.<Integer>observeOnEdtSingle())
+                .subscribeWith(new TestObserverEx<Integer>())
+                .assertResult(1);
+            }
+        });
+    }
+
+    @Test
+    public void swingObserveOnSingleDisposed() throws Exception {
+        SingleSubject<Integer> ss = SingleSubject.create();
+
+        final TestObserverEx<Integer> to = ss
+        .compose(SwingObservable.<Integer>observeOnEdtSingle())
+        .subscribeWith(new TestObserverEx<Integer>());
+
+        final CountDownLatch cdl = new CountDownLatch(1);
+        EventQueue.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    cdl.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    // ignored
+                }
+                to.dispose();
+            }
+        });
+
+        ss.onSuccess(1);
+        cdl.countDown();
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                to.assertEmpty();
+            }
+        });
+    }
+
+    @Test
+    public void swingObserveOnMaybe() {
+        EdtCheck check = new EdtCheck();
+
+        Maybe.just(1)
+        .compose(SwingObservable.<Integer>observeOnEdtMaybe())
+        .doOnSuccess(check)
+        .subscribeWith(new TestObserverEx<Integer>())
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertResult(1);
+
+        assertTrue(check.onEdt);
+    }
+
+    @Test
+    public void swingObserveOnMaybeEmpty() {
+        EdtCheck check = new EdtCheck();
+
+        Maybe.<Integer>empty()
+        .compose(SwingObservable.<Integer>observeOnEdtMaybe())
+        .doOnComplete(check)
+        .subscribeWith(new TestObserverEx<Integer>())
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertResult();
+
+        assertTrue(check.onEdt);
+    }
+
+    @Test
+    public void swingObserveOnMaybeError() {
+        Maybe.<Integer>error(new IOException())
+        .compose(SwingObservable.<Integer>observeOnEdtMaybe())
+        .subscribeWith(new TestObserverEx<Integer>())
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertFailure(IOException.class);
+    }
+
+    @Test
+    public void swingObserveOnCompletable() {
+        EdtCheck check = new EdtCheck();
+
+        Completable.complete()
+        .compose(SwingObservable.observeOnEdtCompletable())
+        .doOnComplete(check)
+        .subscribeWith(new TestObserverEx<Void>())
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertResult();
+
+        assertTrue(check.onEdt);
+    }
+
+    @Test
+    public void swingObserveOnCompletableError() {
+        Completable.error(new IOException())
+        .compose(SwingObservable.observeOnEdtCompletable())
+        .subscribeWith(new TestObserverEx<Void>())
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertFailure(IOException.class);
+    }
+
+    @Test
+    public void sequentialOnEdt() {
+        EdtCheck check = new EdtCheck();
+
+        TestObserverEx<Integer> to = Flowable.range(1, 10000)
+        .parallel(4)
+        .runOn(Schedulers.computation())
+        .to(SwingObservable.<Integer>sequentialOnEdt())
+        .doOnNext(check)
+        .subscribeWith(new TestObserverEx<Integer>());
+
+        to
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertValueCount(10000)
+        .assertNoErrors()
+        .assertComplete();
+
+        assertTrue(check.onEdt);
+
+        long sum = 0;
+        for (Integer v : to.values()) {
+            sum += v;
+        }
+        assertEquals(10000L * 10001L / 2, sum);
+    }
+
+    @Test
+    public void sequentialOnEdtError() {
+        Flowable.range(1, 10)
+        .parallel(2)
+        .map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                if (v == 5) {
+                    throw new IOException();
+                }
+                return v;
+            }
+        })
+        .to(SwingObservable.<Integer>sequentialOnEdt())
+        .subscribeWith(new TestObserverEx<Integer>())
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertError(IOException.class)
+        .assertNotComplete();
+    }
+
+    @Test
+    public void sequentialOnEdtTake() {
+        Flowable.range(1, 10000)
+        .parallel(4)
+        .runOn(Schedulers.computation())
+        .to(SwingObservable.<Integer>sequentialOnEdt())
+        .take(10)
+        .subscribeWith(new TestObserverEx<Integer>())
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertValueCount(10)
+        .assertNoErrors()
+        .assertComplete();
+    }
+
+    @Test
+    public void throttleToFrame() {
+        final PublishSubject<Integer> ps = PublishSubject.create();
+
+        TestObserverEx<Integer> to = ps
+        .compose(SwingObservable.<Integer>throttleToFrame())
+        .subscribeWith(new TestObserverEx<Integer>());
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 1; i <= 100; i++) {
+                    ps.onNext(i);
+                }
+                ps.onComplete();
+            }
+        });
+
+        to
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertResult(100);
+
+        assertEquals(0, SwingFrameTicker.INSTANCE.tasks.length);
+        assertFalse(SwingFrameTicker.INSTANCE.timer.isRunning());
+    }
+
+    @Test
+    public void throttleToFrameError() {
+        final PublishSubject<Integer> ps = PublishSubject.create();
+
+        TestObserverEx<Integer> to = ps
+        .compose(SwingObservable.<Integer>throttleToFrame())
+        .subscribeWith(new TestObserverEx<Integer>());
+
+        runEdt(new Runnable() {
+            @Override
+            public void run() {
+                ps.onNext(1);
+                ps.onError(new IOException());
+            }
+        });
+
+        to
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertFailure(IOException.class, 1);
+    }
+
+    @Test
+    public void throttleToFrameShared() {
+        PublishSubject<Integer> ps = PublishSubject.create();
+
+        TestObserverEx<Integer> to1 = ps
+        .compose(SwingObservable.<Integer>throttleToFrame())
+        .subscribeWith(new TestObserverEx<Integer>());
+
+        TestObserverEx<Integer> to2 = ps
+        .compose(SwingObservable.<Integer>throttleToFrame())
+        .subscribeWith(new TestObserverEx<Integer>());
+
+        assertEquals(2, SwingFrameTicker.INSTANCE.tasks.length);
+        assertTrue(SwingFrameTicker.INSTANCE.timer.isRunning());
+
+        to1.dispose();
+
+        assertEquals(1, SwingFrameTicker.INSTANCE.tasks.length);
+        assertTrue(SwingFrameTicker.INSTANCE.timer.isRunning());
+
+        to2.dispose();
+
+        assertEquals(0, SwingFrameTicker.INSTANCE.tasks.length);
+        assertFalse(SwingFrameTicker.INSTANCE.timer.isRunning());
+        assertFalse(ps.hasObservers());
+    }
+
+    @Test
+    public void throttleToFrameDisposedInOnSubscribe() {
+        Observable.never()
+        .compose(SwingObservable.throttleToFrame())
+        .test(true)
+        .assertEmpty();
+
+        assertEquals(0, SwingFrameTicker.INSTANCE.tasks.length);
+        assertFalse(SwingFrameTicker.INSTANCE.timer.isRunning());
+    }
+
     @Test
     public void dispose() {
         List<Throwable> errors = TestHelper.trackPluginErrors();
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import static javax.swing.event.TableModelEvent.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class TableChangeSetTest {
+
+    static void assertChange(TableChangeSet set, int index, int type, int column, int first, int last) {
+        assertEquals(set.toString(), type, set.type(index));
+        assertEquals(set.toString(), column, set.column(index));
+        assertEquals(set.toString(), first, set.firstRow(index));
+        assertEquals(set.toString(), last, set.lastRow(index));
+    }
+
+    @Test
+    public void updatesMerged() {
+        TableChangeSet.Builder b = new TableChangeSet.Builder();
+        for (int i = 0; i < 1000; i++) {
+            b.add(UPDATE, ALL_COLUMNS, i, i);
+        }
+        b.add(UPDATE, ALL_COLUMNS, 2000, 2000);
+        b.add(UPDATE, 1, 5, 5);
+        b.add(UPDATE, ALL_COLUMNS, 500, 1999);
+
+        TableChangeSet set = b.build();
+
+        assertEquals(2, set.size());
+        assertChange(set, 0, UPDATE, ALL_COLUMNS, 0, 2000);
+        assertChange(set, 1, UPDATE, 1, 5, 5);
+        assertTrue(b.isEmpty());
+    }
+
+    @Test
+    public void updatesNotMergedAcrossInsert() {
+        TableChangeSet.Builder b = new TableChangeSet.Builder();
+        b.add(UPDATE, ALL_COLUMNS, 0, 0);
+        b.add(INSERT, ALL_COLUMNS, 1, 1);
+        b.add(UPDATE, ALL_COLUMNS, 0, 0);
+
+        TableChangeSet set = b.build();
+
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    public void insertsMerged() {
+        TableChangeSet.Builder b = new TableChangeSet.Builder();
+        b.add(INSERT, ALL_COLUMNS, 10, 10);
+        b.add(INSERT, ALL_COLUMNS, 11, 12);
+        b.add(INSERT, ALL_COLUMNS, 10, 10);
+        b.add(INSERT, ALL_COLUMNS, 20, 20);
+
+        TableChangeSet set = b.build();
+
+        assertEquals(2, set.size());
+        assertChange(set, 0, INSERT, ALL_COLUMNS, 10, 13);
+        assertChange(set, 1, INSERT, ALL_COLUMNS, 20, 20);
+    }
+
+    @Test
+    public void deletesMerged() {
+        TableChangeSet.Builder b = new TableChangeSet.Builder();
+        b.add(DELETE, ALL_COLUMNS, 5, 5);
+        b.add(DELETE, ALL_COLUMNS, 5, 5);
+        b.add(DELETE, ALL_COLUMNS, 4, 4);
+        b.add(DELETE, ALL_COLUMNS, 0, 0);
+
+        TableChangeSet set = b.build();
+
+        assertEquals(2, set.size());
+        assertChange(set, 0, DELETE, ALL_COLUMNS, 4, 6);
+        assertChange(set, 1, DELETE, ALL_COLUMNS, 0, 0);
+    }
+
+    @Test
+    public void structureSupersedes() {
+        TableChangeSet.Builder b = new TableChangeSet.Builder();
+        b.add(UPDATE, ALL_COLUMNS, 1, 1);
+        b.add(UPDATE, ALL_COLUMNS, 0, Integer.MAX_VALUE);
+        b.add(INSERT, ALL_COLUMNS, 3, 3);
+
+        TableChangeSet set = b.build();
+        assertEquals(1, set.size());
+        assertFalse(set.isStructureChanged());
+        assertChange(set, 0, UPDATE, ALL_COLUMNS, 0, Integer.MAX_VALUE);
+
+        b.add(UPDATE, ALL_COLUMNS, 0, Integer.MAX_VALUE);
+        b.add(UPDATE, ALL_COLUMNS, HEADER_ROW, HEADER_ROW);
+        b.add(UPDATE, ALL_COLUMNS, 0, Integer.MAX_VALUE);
+
+        set = b.build();
+        assertEquals(1, set.size());
+        assertTrue(set.isStructureChanged());
+    }
+
+    @Test
+    public void columnUpdateOfAllRows() {
+        TableChangeSet.Builder b = new TableChangeSet.Builder();
+        b.add(UPDATE, 2, 0, Integer.MAX_VALUE);
+        b.add(UPDATE, 2, 5, 5);
+        b.add(UPDATE, 1, 5, 5);
+
+        TableChangeSet set = b.build();
+        assertEquals(2, set.size());
+        assertChange(set, 0, UPDATE, 2, 0, Integer.MAX_VALUE);
+        assertChange(set, 1, UPDATE, 1, 5, 5);
+    }
+}
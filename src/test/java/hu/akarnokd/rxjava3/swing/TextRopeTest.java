@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TextRopeTest {
+
+    @Test
+    public void empty() {
+        TextRope r = TextRope.empty();
+        assertEquals(0, r.length());
+        assertEquals("", r.toString());
+        assertSame(r, TextRope.of(""));
+    }
+
+    @Test
+    public void ofLarge() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            sb.append((char)('a' + i % 26));
+        }
+        TextRope r = TextRope.of(sb);
+
+        assertEquals(sb.toString(), r.toString());
+        assertEquals(sb.length(), r.length());
+        for (int i = 0; i < sb.length(); i += 97) {
+            assertEquals(sb.charAt(i), r.charAt(i));
+        }
+        assertEquals(sb.substring(500, 1500), r.subSequence(500, 1500).toString());
+    }
+
+    @Test
+    public void insertDelete() {
+        TextRope r = TextRope.of("Hello World");
+
+        TextRope r2 = r.insert(5, ",").delete(7, 5).insert(7, "Rope");
+
+        assertEquals("Hello World", r.toString());
+        assertEquals("Hello, Rope", r2.toString());
+        assertEquals("Hello, Rope!", r2.apply(new TextChange(11, 0, "!")).toString());
+        assertEquals("Hi, Rope", r2.apply(new TextChange(1, 4, "i")).toString());
+    }
+
+    @Test
+    public void randomEdits() {
+        Random rnd = new Random(12345);
+        StringBuilder expected = new StringBuilder();
+        TextRope r = TextRope.empty();
+
+        for (int i = 0; i < 20000; i++) {
+            int n = expected.length();
+            if (n == 0 || rnd.nextInt(3) != 0) {
+                int offset = rnd.nextInt(n + 1);
+                String text = rnd.nextInt(50) == 0 ? repeat('x', 700) : Character.toString((char)('a' + rnd.nextInt(26)));
+                expected.insert(offset, text);
+                r = r.insert(offset, text);
+            } else {
+                int offset = rnd.nextInt(n);
+                int count = Math.min(n - offset, 1 + rnd.nextInt(20));
+                expected.delete(offset, offset + count);
+                r = r.delete(offset, count);
+            }
+        }
+
+        assertEquals(expected.length(), r.length());
+        assertEquals(expected.toString(), r.toString());
+        for (int i = 0; i < expected.length(); i += 13) {
+            assertEquals(expected.charAt(i), r.charAt(i));
+        }
+        assertTrue("depth: " + r.depth(), r.depth() < 40);
+    }
+
+    @Test
+    public void appendsStayShallow() {
+        TextRope r = TextRope.empty();
+        for (int i = 0; i < 100000; i++) {
+            r = r.insert(r.length(), "a");
+        }
+        assertEquals(100000, r.length());
+        assertTrue("depth: " + r.depth(), r.depth() < 30);
+    }
+
+    @Test
+    public void outOfBounds() {
+        TextRope r = TextRope.of("abc");
+        try {
+            r.charAt(3);
+            fail("Should have thrown");
+        } catch (IndexOutOfBoundsException expected) {
+            // expected
+        }
+        try {
+            r.insert(4, "d");
+            fail("Should have thrown");
+        } catch (IndexOutOfBoundsException expected) {
+            // expected
+        }
+        try {
+            r.delete(2, 2);
+            fail("Should have thrown");
+        } catch (IndexOutOfBoundsException expected) {
+            // expected
+        }
+    }
+
+    static String repeat(char c, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017-2018 David Karnok
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hu.akarnokd.rxjava3.swing;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import javax.swing.event.*;
+import javax.swing.tree.*;
+
+import org.junit.Test;
+
+public class TreeChangeSetTest {
+
+    static final TreePath ROOT = new TreePath("root");
+
+    static final TreePath A = ROOT.pathByAddingChild("a");
+
+    static final TreePath B = ROOT.pathByAddingChild("b");
+
+    static final TreePath AA = A.pathByAddingChild("aa");
+
+    static int[] ints(int... values) {
+        return values;
+    }
+
+    @Test
+    public void changesMergedByPath() {
+        TreeChangeSet.Builder b = new TreeChangeSet.Builder(100);
+        b.add(TreeChangeSet.CHANGED, A, ints(3), new Object[] { "3" });
+        b.add(TreeChangeSet.CHANGED, B, ints(0), new Object[] { "0" });
+        b.add(TreeChangeSet.CHANGED, A, ints(5, 1), new Object[] { "5", "1" });
+        b.add(TreeChangeSet.CHANGED, A, ints(3), new Object[] { "3'" });
+
+        TreeChangeSet set = b.build();
+
+        assertEquals(2, set.size());
+        assertEquals(TreeChangeSet.CHANGED, set.type(0));
+        assertEquals(A, set.path(0));
+        assertArrayEquals(ints(1, 3, 5), set.childIndices(0));
+        assertArrayEquals(new Object[] { "1", "3'", "5" }, set.children(0));
+        assertEquals(B, set.path(1));
+
+        assertTrue(b.isEmpty());
+    }
+
+    @Test
+    public void insertionIsBarrier() {
+        TreeChangeSet.Builder b = new TreeChangeSet.Builder(100);
+        b.add(TreeChangeSet.CHANGED, A, ints(3), null);
+        b.add(TreeChangeSet.INSERTED, A, ints(0), null);
+        b.add(TreeChangeSet.CHANGED, A, ints(4), null);
+
+        TreeChangeSet set = b.build();
+
+        assertEquals(3, set.size());
+        assertArrayEquals(ints(3), set.childIndices(0));
+        assertArrayEquals(ints(0), set.childIndices(1));
+        assertArrayEquals(ints(4), set.childIndices(2));
+    }
+
+    @Test
+    public void consecutiveInsertions() {
+        TreeChangeSet.Builder b = new TreeChangeSet.Builder(100);
+        // [x, y] -> [x, n0, y] -> [n1, x, n0, n2, y]
+        b.add(TreeChangeSet.INSERTED, A, ints(1), new Object[] { "n0" });
+        b.add(TreeChangeSet.INSERTED, A, ints(0, 3), new Object[] { "n1", "n2" });
+
+        TreeChangeSet set = b.build();
+
+        assertEquals(1, set.size());
+        assertArrayEquals(ints(0, 2, 3), set.childIndices(0));
+        assertArrayEquals(new Object[] { "n1", "n0", "n2" }, set.children(0));
+    }
+
+    @Test
+    public void consecutiveRemovals() {
+        TreeChangeSet.Builder b = new TreeChangeSet.Builder(100);
+        // [c0, c1, c2, c3, c4] -> [c0, c2, c3, c4] -> [c0, c3]
+        b.add(TreeChangeSet.REMOVED, A, ints(1), new Object[] { "c1" });
+        b.add(TreeChangeSet.REMOVED, A, ints(1, 3), new Object[] { "c2", "c4" });
+
+        TreeChangeSet set = b.build();
+
+        assertEquals(1, set.size());
+        assertArrayEquals(ints(1, 2, 4), set.childIndices(0));
+        assertArrayEquals(new Object[] { "c1", "c2", "c4" }, set.children(0));
+    }
+
+    @Test
+    public void structureSupersedesSubtree() {
+        TreeChangeSet.Builder b = new TreeChangeSet.Builder(100);
+        b.add(TreeChangeSet.CHANGED, AA, ints(0), null);
+        b.add(TreeChangeSet.CHANGED, B, ints(0), null);
+        b.add(TreeChangeSet.INSERTED, A, ints(0), null);
+        b.add(TreeChangeSet.STRUCTURE_CHANGED, A, null, null);
+        b.add(TreeChangeSet.CHANGED, AA, ints(1), null);
+        b.add(TreeChangeSet.CHANGED, B, ints(1), null);
+
+        TreeChangeSet set = b.build();
+
+        assertEquals(set.toString(), 2, set.size());
+        assertEquals(B, set.path(0));
+        assertArrayEquals(ints(0, 1), set.childIndices(0));
+        assertEquals(TreeChangeSet.STRUCTURE_CHANGED, set.type(1));
+        assertEquals(A, set.path(1));
+        assertNull(set.childIndices(1));
+
+        b.add(TreeChangeSet.CHANGED, A, ints(0), null);
+        b.add(TreeChangeSet.STRUCTURE_CHANGED, null, null, null);
+        b.add(TreeChangeSet.CHANGED, B, ints(0), null);
+
+        set = b.build();
+
+        assertEquals(1, set.size());
+        assertNull(set.path(0));
+    }
+
+    @Test
+    public void thresholdCollapsesToStructure() {
+        TreeChangeSet.Builder b = new TreeChangeSet.Builder(10);
+        for (int i = 0; i < 11; i++) {
+            b.add(TreeChangeSet.CHANGED, AA, ints(0), null);
+            b.add(TreeChangeSet.CHANGED, A, ints(i), null);
+        }
+        b.add(TreeChangeSet.CHANGED, AA, ints(1), null);
+
+        TreeChangeSet set = b.build();
+
+        assertEquals(1, set.size());
+        assertEquals(TreeChangeSet.STRUCTURE_CHANGED, set.type(0));
+        assertEquals(A, set.path(0));
+    }
+
+    @Test
+    public void dispatch() {
+        TreeChangeSet.Builder b = new TreeChangeSet.Builder(10);
+        b.add(TreeChangeSet.CHANGED, A, ints(0), null);
+        b.add(TreeChangeSet.INSERTED, B, ints(0), null);
+        b.add(TreeChangeSet.REMOVED, ROOT, ints(2), null);
+        b.add(TreeChangeSet.CHANGED, ROOT, null, null);
+        b.add(TreeChangeSet.STRUCTURE_CHANGED, AA, null, null);
+
+        final List<String> calls = new ArrayList<>();
+        b.build().dispatch(this, new TreeModelListener() {
+            @Override
+            public void treeNodesChanged(TreeModelEvent e) {
+                calls.add("changed " + e.getTreePath() + " " + Arrays.toString(e.getChildIndices()));
+            }
+
+            @Override
+            public void treeNodesInserted(TreeModelEvent e) {
+                calls.add("inserted " + e.getTreePath() + " " + Arrays.toString(e.getChildIndices()));
+            }
+
+            @Override
+            public void treeNodesRemoved(TreeModelEvent e) {
+                calls.add("removed " + e.getTreePath() + " " + Arrays.toString(e.getChildIndices()));
+            }
+
+            @Override
+            public void treeStructureChanged(TreeModelEvent e) {
+                calls.add("structure " + e.getTreePath());
+            }
+        });
+
+        assertEquals(Arrays.asList("changed [root, a] [0]", "inserted [root, b] [0]", "removed [root] [2]",
+                "changed [root] null", "structure [root, a, aa]"), calls);
+    }
+}